@@ -0,0 +1,21 @@
+package com.tellik.crookedcraft.brewing.core;
+
+/**
+ * Registry access the core needs: dense int ids for items and block states, and the way back to keys
+ * for persistence.
+ *
+ * K is whatever the host uses as a registry key (ResourceLocation in game, String headless).
+ * Ids must be stable for the lifetime of the compiled tables and vessel state that use them; -1 means unknown.
+ */
+public interface CoreRegistries<K> {
+
+    int itemId(K key);
+
+    int blockId(K key);
+
+    /** @return the key for id, or null if id is unknown */
+    K itemKey(int id);
+
+    /** @return the key for id, or null if id is unknown */
+    K blockKey(int id);
+}
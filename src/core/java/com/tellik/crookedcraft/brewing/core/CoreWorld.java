@@ -0,0 +1,14 @@
+package com.tellik.crookedcraft.brewing.core;
+
+/**
+ * World access the core needs. Positions are packed longs (same packing as BlockPos#asLong).
+ *
+ * The Forge side implements this over a ServerLevel; headless runs (CI load tests, benchmarks) use a synthetic world.
+ */
+public interface CoreWorld {
+
+    boolean isLoaded(long pos);
+
+    /** Ambient (biome) temperature at pos, in C. */
+    float ambientC(long pos);
+}
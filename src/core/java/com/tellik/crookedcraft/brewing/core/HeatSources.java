@@ -0,0 +1,8 @@
+package com.tellik.crookedcraft.brewing.core;
+
+/** Heat source lookup for a vessel position. */
+public interface HeatSources {
+
+    /** @return the heat reaching the vessel at pos, or null if it isn't heated */
+    ThermalProfile heatAt(long pos);
+}
@@ -0,0 +1,184 @@
+package com.tellik.crookedcraft.brewing.core;
+
+import java.util.Arrays;
+
+/**
+ * Recipe matching over dense item ids, free of any game classes.
+ *
+ * A recipe is int[][] slots: one sorted array of accepted item ids per ingredient slot (tags are expanded by
+ * the host when it compiles recipes). A vessel's ingredients are a unit list: one item id per unit added.
+ *
+ * Same rules as the in-game brewing matcher:
+ * - an item that no recipe accepts is refused (not consumed)
+ * - a unit that leaves no candidate recipe dooms the brew (and is consumed)
+ * - two exact matches at once is a data bug: the unit is refused
+ * - READY once exactly one candidate is left and it's an exact match
+ */
+public final class IngredientMatcher {
+
+    public enum Outcome {
+        NOT_IN_ANY_RECIPE,
+        ACCEPTED,
+        READY,
+        DOOMED,
+        AMBIGUOUS
+    }
+
+    /**
+     * accepted: units to consume (includes the unit that doomed the brew).
+     * before/after: candidate counts around the last unit considered. matched: recipe index when READY, else -1.
+     */
+    public record Result(Outcome outcome, int accepted, int candidatesBefore, int candidatesAfter, int matched) {}
+
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private IngredientMatcher() {}
+
+    public static boolean appearsInAny(int[][][] recipes, int item) {
+        for (int[][] slots : recipes) {
+            for (int[] slot : slots) {
+                if (Arrays.binarySearch(slot, item) >= 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /** Indices of the recipes the first n units can still grow into. */
+    public static int[] filterCandidates(int[][][] recipes, int[] units, int n) {
+        int[] out = new int[recipes.length];
+        int c = 0;
+        for (int r = 0; r < recipes.length; r++) {
+            if (canSatisfy(recipes[r], units, n)) out[c++] = r;
+        }
+        return c == 0 ? NO_CANDIDATES : Arrays.copyOf(out, c);
+    }
+
+    public static boolean isExactMatch(int[][] slots, int[] units, int n) {
+        return n == slots.length && canSatisfy(slots, units, n);
+    }
+
+    /**
+     * Feed up to maxCount units of item on top of the first n units in a single pass.
+     * Candidates only ever shrink as units are added, so each unit only re-checks the previous unit's survivors.
+     *
+     * Stops early (without consuming further units) on READY, DOOMED, AMBIGUOUS or NOT_IN_ANY_RECIPE.
+     * Does not modify units.
+     */
+    public static Result tryAdd(int[][][] recipes, int[] units, int n, int item, int maxCount) {
+        int[] candidates = filterCandidates(recipes, units, n);
+        int before = candidates.length;
+
+        if (maxCount <= 0 || item < 0 || !appearsInAny(recipes, item)) {
+            return new Result(Outcome.NOT_IN_ANY_RECIPE, 0, before, before, -1);
+        }
+
+        int[] next = Arrays.copyOf(units, n + maxCount);
+        int size = n;
+        int accepted = 0;
+        Result last = new Result(Outcome.ACCEPTED, 0, before, before, -1);
+
+        while (accepted < maxCount) {
+            next[size++] = item;
+
+            int[] after = new int[candidates.length];
+            int afterCount = 0;
+            for (int r : candidates) {
+                if (canSatisfy(recipes[r], next, size)) after[afterCount++] = r;
+            }
+
+            if (afterCount == 0) {
+                return new Result(Outcome.DOOMED, accepted + 1, candidates.length, 0, -1);
+            }
+
+            int exact = -1;
+            int exactCount = 0;
+            for (int k = 0; k < afterCount; k++) {
+                if (recipes[after[k]].length == size) {
+                    // Survivors can already hold every unit; with as many slots as units that's an exact match.
+                    exact = after[k];
+                    exactCount++;
+                }
+            }
+
+            if (exactCount > 1) {
+                return new Result(Outcome.AMBIGUOUS, accepted, candidates.length, afterCount, -1);
+            }
+
+            accepted++;
+
+            if (exactCount == 1 && afterCount == 1) {
+                return new Result(Outcome.READY, accepted, candidates.length, 1, exact);
+            }
+
+            last = new Result(Outcome.ACCEPTED, accepted, candidates.length, afterCount, -1);
+            candidates = Arrays.copyOf(after, afterCount);
+        }
+
+        return last;
+    }
+
+    // -------------------------------------------------------------------------
+    // Slot assignment
+    // -------------------------------------------------------------------------
+
+    /**
+     * True if the first n units can be assigned into distinct recipe slots.
+     * Supports tags and overlapping slots by doing a small backtracking match; recipe sizes are small
+     * (witchy brewing, not bulk crafting), so this is acceptable.
+     */
+    public static boolean canSatisfy(int[][] slots, int[] units, int n) {
+        if (slots.length == 0) return n == 0;
+        if (n > slots.length) return false;
+
+        // Hardest units first (fewest matching slots) for better pruning.
+        int[] order = new int[n];
+        int[] hardness = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = units[i];
+            hardness[i] = countMatchingSlots(units[i], slots);
+            if (hardness[i] == 0) return false;
+        }
+        insertionSortBy(order, hardness);
+
+        return backtrack(order, 0, slots, new boolean[slots.length]);
+    }
+
+    private static boolean backtrack(int[] items, int idx, int[][] slots, boolean[] usedSlot) {
+        if (idx >= items.length) return true;
+
+        int item = items[idx];
+        for (int i = 0; i < slots.length; i++) {
+            if (usedSlot[i]) continue;
+            if (Arrays.binarySearch(slots[i], item) < 0) continue;
+
+            usedSlot[i] = true;
+            if (backtrack(items, idx + 1, slots, usedSlot)) return true;
+            usedSlot[i] = false;
+        }
+        return false;
+    }
+
+    private static int countMatchingSlots(int item, int[][] slots) {
+        int c = 0;
+        for (int[] slot : slots) {
+            if (Arrays.binarySearch(slot, item) >= 0) c++;
+        }
+        return c;
+    }
+
+    /** Stable sort of items by key (n is a recipe's slot count, so insertion sort is the right tool). */
+    private static void insertionSortBy(int[] items, int[] keys) {
+        for (int i = 1; i < items.length; i++) {
+            int item = items[i];
+            int key = keys[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                items[j + 1] = items[j];
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            items[j + 1] = item;
+            keys[j + 1] = key;
+        }
+    }
+}
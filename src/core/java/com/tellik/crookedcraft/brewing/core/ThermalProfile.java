@@ -0,0 +1,12 @@
+package com.tellik.crookedcraft.brewing.core;
+
+/**
+ * A heat source as the thermal step sees it: the temperature it can reach and how fast it gets there.
+ * HeatSourceManager.HeatProfile implements this directly, so handing one to the core costs nothing.
+ */
+public interface ThermalProfile {
+
+    float maxTempC();
+
+    float heatPerTickC();
+}
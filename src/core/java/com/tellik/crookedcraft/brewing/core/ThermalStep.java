@@ -0,0 +1,240 @@
+package com.tellik.crookedcraft.brewing.core;
+
+/**
+ * The vessel thermal model, free of any game classes.
+ *
+ * Per tick a vessel moves toward a target temperature:
+ * - heated: toward maxTempC * strengthBonus, at heatPerTickC * speedBonus
+ * - unheated: toward ambient, at the fluid's passive drift rate (both directions)
+ * Shallow fills (level 1/2) get strength/speed bonuses; vats heat as one body and get none.
+ *
+ * BrewingForgeEvents ticks each VesselState (a ThermalVessel) with tick(), reading the world through
+ * BrewingCoreBindings; run() is the same step over VesselArrays, for headless load tests and benchmarks.
+ *
+ * Persistence: a temperature on its way to the target is not worth a save by itself (it would mark the data
+ * dirty on nearly every tick). Between thermal phase changes (first tick, boiling flipped, settled at the
+ * target) the approach is a fixed-rate ramp toward a target the world supplies, and step() is deterministic,
+ * so tick() keeps the ramp's start (see ThermalVessel) up to date and reports only changes to it. advance()
+ * replays a saved ramp on load.
+ */
+public final class ThermalStep {
+
+    public static final int KIND_EMPTY = 0; // empty brew cauldron still tracked for its inserted solid
+    public static final int KIND_WATER = 1;
+    public static final int KIND_SNOW = 2;
+    public static final int KIND_LAVA = 3;
+
+    public static final float WATER_BOIL_C = 100.0f;
+    public static final float LAVA_BOIL_C  = 1000.0f;
+
+    // Passive drift toward ambient (no heat source)
+    public static final float DRIFT_WATER_C_PER_TICK = 0.04f; // ~1.6C/sec
+    public static final float DRIFT_SNOW_C_PER_TICK  = 0.03f; // slightly faster so melting feels responsive
+    public static final float DRIFT_LAVA_C_PER_TICK  = 0.50f; // faster so lava->obsidian isn't "minutes"
+
+    // Replay budget per vessel (see advance): ~14.5 in-game hours of ticks.
+    public static final long MAX_REPLAY_STEPS = 1L << 20;
+
+    private ThermalStep() {}
+
+    // -------------------------------------------------------------------------
+    // Scalar model
+    // -------------------------------------------------------------------------
+
+    /** Temperature a vessel starts at the first time it's ticked. */
+    public static float startTempC(int kind, float ambientC) {
+        return switch (kind) {
+            // Powder snow starts cold, but drifts toward ambient (so it can melt in warm biomes).
+            case KIND_SNOW -> Math.min(0.0f, ambientC);
+            case KIND_LAVA -> LAVA_BOIL_C;
+            default -> ambientC;
+        };
+    }
+
+    public static float driftPerTick(int kind) {
+        return switch (kind) {
+            case KIND_SNOW -> DRIFT_SNOW_C_PER_TICK;
+            case KIND_LAVA -> DRIFT_LAVA_C_PER_TICK;
+            default -> DRIFT_WATER_C_PER_TICK;
+        };
+    }
+
+    /** Strength bonus affects max achievable temperature. */
+    public static float strengthBonus(int level, boolean vat) {
+        if (vat) return 1.0f;
+        if (level == 1) return 1.25f;
+        if (level == 2) return 1.10f;
+        return 1.0f;
+    }
+
+    /** Speed bonus affects heating rate only. */
+    public static float speedBonus(int level, boolean vat) {
+        if (vat) return 1.0f;
+        if (level == 1) return 1.66f;
+        if (level == 2) return 1.33f;
+        return 1.0f;
+    }
+
+    /** Where a vessel is heading: the heat source's reachable maximum, else ambient. */
+    public static float targetC(int level, boolean vat, ThermalProfile heat, float ambientC) {
+        return heat != null ? heat.maxTempC() * strengthBonus(level, vat) : ambientC;
+    }
+
+    /** How fast a vessel approaches its target: the heat source's rate, else the fluid's passive drift. */
+    public static float rateC(int kind, int level, boolean vat, ThermalProfile heat) {
+        return heat != null ? heat.heatPerTickC() * speedBonus(level, vat) : driftPerTick(kind);
+    }
+
+    /** One tick of approach toward the target temperature. */
+    public static float step(float tempC, int kind, int level, boolean vat, ThermalProfile heat, float ambientC) {
+        float target = targetC(level, vat, heat, ambientC);
+        float rate = rateC(kind, level, vat, heat);
+
+        if (tempC < target) return Math.min(tempC + rate, target);
+        if (tempC > target) return Math.max(tempC - rate, target);
+        return tempC;
+    }
+
+    /**
+     * ticks steps from tempC under unchanged conditions: exactly what the tick loop would reach (the same float
+     * operations in the same order, not a closed form that rounds differently). Stops early at the target, or
+     * where a step no longer moves tempC (a rate below half an ulp of it), since the tick loop sticks there too.
+     * A ramp still moving after MAX_REPLAY_STEPS is taken as arrived at its target.
+     */
+    public static float advance(float tempC, long ticks, int kind, int level, boolean vat, ThermalProfile heat, float ambientC) {
+        float target = targetC(level, vat, heat, ambientC);
+        long steps = Math.min(ticks, MAX_REPLAY_STEPS);
+        for (long i = 0; i < steps && tempC != target; i++) {
+            float next = step(tempC, kind, level, vat, heat, ambientC);
+            if (next == tempC) return tempC;
+            tempC = next;
+        }
+        return ticks > MAX_REPLAY_STEPS ? target : tempC;
+    }
+
+    /** Derived boiling flag. Water only boils if its heat source can actually reach boiling. */
+    public static boolean isBoiling(float tempC, int kind, int level, boolean vat, ThermalProfile heat) {
+        if (kind == KIND_WATER) {
+            boolean canBoil = heat != null && heat.maxTempC() * strengthBonus(level, vat) >= WATER_BOIL_C;
+            return canBoil && tempC >= WATER_BOIL_C - 0.001f;
+        }
+        if (kind == KIND_LAVA) return tempC >= LAVA_BOIL_C - 0.001f;
+        return false;
+    }
+
+    /** True on the tick a vessel reaches its target (step clamps onto it exactly, so == is safe). */
+    public static boolean settled(float beforeC, float afterC, float targetC) {
+        return afterC != beforeC && afterC == targetC;
+    }
+
+    /**
+     * One tick for a single vessel at gameTime: start it on its first tick, step it, and re-derive boiling.
+     *
+     * A ramp read from disk (replayUntil set) is first replayed to where it stopped. Whenever the vessel is off its
+     * ramp (first tick, a new target or rate, a pour, a gap while it was paused) a new one starts from here.
+     * Conducting vessels only step: their neighbours move them again, and the caller saves them.
+     * @return true if it needs saving (started, the saved ramp changed or settled, or boiling flipped)
+     */
+    public static boolean tick(ThermalVessel v, int kind, int level, boolean vat, ThermalProfile heat, float ambientC,
+                               long gameTime) {
+        boolean changed = false;
+        if (Float.isNaN(v.tempC)) {
+            v.tempC = startTempC(kind, ambientC);
+            v.onStart();
+            changed = true;
+        }
+
+        float target = targetC(level, vat, heat, ambientC);
+        float rate = rateC(kind, level, vat, heat);
+
+        if (v.replayUntil != ThermalVessel.NO_RAMP) {
+            long until = Math.min(v.replayUntil, gameTime - 1);
+            // Unless something (a pour) already set a new temperature since the load.
+            if (v.tempC == v.rampStartC) {
+                v.tempC = advance(v.rampStartC, Math.max(0L, until - v.rampStartTick), kind, level, vat, heat, ambientC);
+            }
+            v.replayUntil = ThermalVessel.NO_RAMP;
+            if (until == gameTime - 1 && v.tempC != target) {
+                // Picked up on the very next tick (a restart): the saved ramp simply carries on.
+                v.steppedC = v.tempC;
+                v.rampTargetC = target;
+                v.rampRateC = rate;
+            }
+        }
+
+        boolean wasBoiling = v.boiling;
+
+        if (v.conducting) {
+            v.tempC = step(v.tempC, kind, level, vat, heat, ambientC);
+            v.rampTargetC = Float.NaN;
+        } else {
+            if (v.tempC != v.steppedC || target != v.rampTargetC || rate != v.rampRateC) {
+                long start = v.tempC == target ? ThermalVessel.NO_RAMP : gameTime - 1;
+                if (v.tempC != v.rampStartC || start != v.rampStartTick) {
+                    v.rampStartC = v.tempC;
+                    v.rampStartTick = start;
+                    changed = true;
+                }
+                v.rampTargetC = target;
+                v.rampRateC = rate;
+            }
+
+            float before = v.tempC;
+            v.tempC = step(before, kind, level, vat, heat, ambientC);
+            v.steppedC = v.tempC;
+            if (settled(before, v.tempC, target)) {
+                v.rampStartC = v.tempC;
+                v.rampStartTick = ThermalVessel.NO_RAMP;
+                changed = true;
+            }
+        }
+
+        v.boiling = isBoiling(v.tempC, kind, level, vat, heat);
+        return changed || v.boiling != wasBoiling;
+    }
+
+    // -------------------------------------------------------------------------
+    // Bulk step
+    // -------------------------------------------------------------------------
+
+    /**
+     * One tick for every loaded vessel in a.
+     * @return how many vessels need saving (initialised, boiling flipped, or settled; see the class doc)
+     */
+    public static int run(VesselArrays a, CoreWorld world, HeatSources heat) {
+        int changed = 0;
+        int n = a.size();
+
+        long[] pos = a.pos;
+        float[] temp = a.tempC;
+        byte[] kind = a.kind;
+        byte[] level = a.level;
+
+        for (int i = 0; i < n; i++) {
+            long p = pos[i];
+            if (!world.isLoaded(p)) continue;
+
+            float ambientC = world.ambientC(p);
+            float before = temp[i];
+            if (Float.isNaN(before)) {
+                before = startTempC(kind[i], ambientC);
+                changed++;
+            }
+
+            boolean vat = a.isVat(i);
+            ThermalProfile h = heat.heatAt(p);
+            float after = step(before, kind[i], level[i], vat, h, ambientC);
+            temp[i] = after;
+
+            boolean wasBoiling = a.isBoiling(i);
+            boolean boiling = isBoiling(after, kind[i], level[i], vat, h);
+            if (boiling != wasBoiling) {
+                a.setBoiling(i, boiling);
+                changed++;
+            } else if (settled(before, after, targetC(level[i], vat, h, ambientC))) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,65 @@
+package com.tellik.crookedcraft.brewing.core;
+
+/**
+ * The thermal state ThermalStep#tick works on, one per vessel.
+ *
+ * The Forge VesselState extends it, so the tick loop steps its vessels in place; headless runs keep one per
+ * VesselArrays slot.
+ *
+ * tempC is live. What gets saved is the ramp it is on: rampStartC at game time rampStartTick, stepping toward an
+ * unchanged target since (NO_RAMP when resting at rampStartC). ThermalStep.advance replays a saved ramp with the
+ * same float steps the tick loop takes, so a reloaded vessel lands where the lost run would have been.
+ */
+public class ThermalVessel {
+
+    public static final long NO_RAMP = Long.MIN_VALUE;
+
+    // NaN until the vessel's first tick.
+    public float tempC = Float.NaN;
+    public boolean boiling;
+
+    // The saved ramp.
+    public float rampStartC = Float.NaN;
+    public long rampStartTick = NO_RAMP;
+
+    // Runtime-only ramp bookkeeping (see ThermalStep#tick).
+    // replayUntil: a ramp read from disk has yet to be replayed, up to this game time (when it stopped running).
+    public long replayUntil = NO_RAMP;
+    // What the last step left: a different tempC now means something outside the ramp moved it.
+    public float steppedC = Float.NaN;
+    public float rampTargetC = Float.NaN;
+    public float rampRateC = Float.NaN;
+    // Exchanging heat with a neighbour: off any ramp, and saved by whoever moves it (BrewConduction) instead.
+    public boolean conducting;
+
+    /** The first tick just gave tempC its start temperature; subclasses reset what goes with a fresh vessel. */
+    protected void onStart() {}
+
+    /**
+     * The vessel stopped ticking (its chunk is not loaded): a live ramp ends here.
+     * @return true if that changed the saved ramp
+     */
+    public boolean pause() {
+        if (rampStartTick == NO_RAMP || replayUntil != NO_RAMP) return false;
+        rampStartC = tempC;
+        rampStartTick = NO_RAMP;
+        steppedC = Float.NaN;
+        return true;
+    }
+
+    /** True if tempC is still what the saved ramp gives (or will give, once replayed). */
+    public boolean onRamp() {
+        if (rampStartTick == NO_RAMP) return false;
+        return replayUntil != NO_RAMP ? tempC == rampStartC : tempC == steppedC;
+    }
+
+    /** Back to unticked: the next tick starts the vessel over. */
+    public void clearThermals() {
+        tempC = Float.NaN;
+        boiling = false;
+        rampStartC = Float.NaN;
+        rampStartTick = NO_RAMP;
+        replayUntil = NO_RAMP;
+        steppedC = Float.NaN;
+    }
+}
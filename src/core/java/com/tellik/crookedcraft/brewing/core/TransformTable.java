@@ -0,0 +1,215 @@
+package com.tellik.crookedcraft.brewing.core;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compiled thermal transform lookup: (block state id, solid id, temperature) -> first matching rule.
+ *
+ * Rules are added per source state with their declaration order; level gates etc. are the host's business
+ * (it only adds the rules that apply to each state). Semantics match a linear first-match scan in
+ * declaration order, but a lookup is an array index, a binary search over the solids, and one binary
+ * search per direction over the thresholds.
+ *
+ * Immutable once built; safe to share across threads.
+ */
+public final class TransformTable<T> {
+
+    public static final int NO_SOLID = -1;
+
+    /**
+     * One transform rule.
+     * cooling: fires at or below thresholdC, otherwise at or above. requiredSolid: NO_SOLID for unconditional.
+     */
+    public record Rule<T>(int order, boolean cooling, float thresholdC, int requiredSolid, T payload) {}
+
+    private static final TransformTable<?> EMPTY = new TransformTable<>(newArray(StateTable.class, 0), 0);
+
+    private final StateTable<T>[] byState;
+    private final int stateCount;
+
+    private TransformTable(StateTable<T>[] byState, int stateCount) {
+        this.byState = byState;
+        this.stateCount = stateCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> TransformTable<T> empty() {
+        return (TransformTable<T>) EMPTY;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /** The one place a generic array is made: component is the erasure of E. */
+    @SuppressWarnings("unchecked")
+    private static <E> E[] newArray(Class<?> component, int length) {
+        return (E[]) Array.newInstance(component, length);
+    }
+
+    /** Number of source states with at least one rule. */
+    public int stateCount() {
+        return stateCount;
+    }
+
+    public boolean hasRules(int stateId) {
+        return stateId >= 0 && stateId < byState.length && byState[stateId] != null;
+    }
+
+    /** True if some rule for this state is solid-gated, i.e. the caller needs to look up the solid at all. */
+    public boolean needsSolid(int stateId) {
+        return hasRules(stateId) && byState[stateId].solids.length > 0;
+    }
+
+    /** @return payload of the first matching rule in declaration order, or null (also for a NaN temperature) */
+    public T find(int stateId, int solidId, float tempC) {
+        if (!hasRules(stateId) || Float.isNaN(tempC)) return null;
+
+        StateTable<T> table = byState[stateId];
+        Decision<T> d = table.noSolid;
+        if (solidId != NO_SOLID && table.solids.length > 0) {
+            int i = Arrays.binarySearch(table.solids, solidId);
+            if (i >= 0) d = table.bySolid[i];
+        }
+
+        Rule<T> r = d.find(tempC);
+        return r != null ? r.payload() : null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Build
+    // -------------------------------------------------------------------------
+
+    public static final class Builder<T> {
+        private final TreeMap<Integer, List<Rule<T>>> rules = new TreeMap<>();
+
+        private Builder() {}
+
+        public Builder<T> add(int stateId, Rule<T> rule) {
+            if (stateId < 0) throw new IllegalArgumentException("stateId < 0: " + stateId);
+            rules.computeIfAbsent(stateId, k -> new ArrayList<>()).add(rule);
+            return this;
+        }
+
+        public TransformTable<T> build() {
+            if (rules.isEmpty()) return empty();
+
+            int maxState = rules.lastKey();
+            StateTable<T>[] byState = newArray(StateTable.class, maxState + 1);
+
+            for (Map.Entry<Integer, List<Rule<T>>> e : rules.entrySet()) {
+                byState[e.getKey()] = compileState(e.getValue());
+            }
+            return new TransformTable<>(byState, rules.size());
+        }
+
+        private static <T> StateTable<T> compileState(List<Rule<T>> list) {
+            List<Rule<T>> unconditional = new ArrayList<>();
+            Map<Integer, List<Rule<T>>> gated = new TreeMap<>();
+
+            for (Rule<T> r : list) {
+                if (r.requiredSolid() == NO_SOLID) unconditional.add(r);
+                else gated.computeIfAbsent(r.requiredSolid(), k -> new ArrayList<>()).add(r);
+            }
+
+            int[] solids = new int[gated.size()];
+            Decision<T>[] bySolid = newArray(Decision.class, gated.size());
+            int n = 0;
+            for (Map.Entry<Integer, List<Rule<T>>> g : gated.entrySet()) {
+                // A vessel holding this solid can fire the unconditional rules as well as the gated ones.
+                List<Rule<T>> merged = new ArrayList<>(unconditional);
+                merged.addAll(g.getValue());
+                solids[n] = g.getKey();
+                bySolid[n] = new Decision<>(merged);
+                n++;
+            }
+
+            return new StateTable<>(new Decision<>(unconditional), solids, bySolid);
+        }
+    }
+
+    private record StateTable<T>(Decision<T> noSolid, int[] solids, Decision<T>[] bySolid) {}
+
+    /**
+     * Rules applicable to one (state, solid) pair.
+     *
+     * Cooling fires when temp <= threshold: sorted ascending, the matches are a suffix, so suffix-best holds the
+     * earliest-declared rule of each suffix. Heating fires when temp >= threshold: matches are a prefix,
+     * prefix-best likewise. One binary search per side, then the earlier of the two candidates wins.
+     */
+    private static final class Decision<T> {
+        final float[] coolThr;
+        final Rule<T>[] coolSuffixBest;
+        final float[] heatThr;
+        final Rule<T>[] heatPrefixBest;
+
+        Decision(List<Rule<T>> candidates) {
+            List<Rule<T>> cool = new ArrayList<>();
+            List<Rule<T>> heat = new ArrayList<>();
+            for (Rule<T> r : candidates) {
+                (r.cooling() ? cool : heat).add(r);
+            }
+            Comparator<Rule<T>> byThreshold = Comparator.comparingDouble(Rule::thresholdC);
+            cool.sort(byThreshold);
+            heat.sort(byThreshold);
+
+            coolThr = new float[cool.size()];
+            coolSuffixBest = newArray(Rule.class, cool.size());
+            for (int i = cool.size() - 1; i >= 0; i--) {
+                Rule<T> r = cool.get(i);
+                Rule<T> after = (i + 1 < cool.size()) ? coolSuffixBest[i + 1] : null;
+                coolThr[i] = r.thresholdC();
+                coolSuffixBest[i] = (after != null && after.order() < r.order()) ? after : r;
+            }
+
+            heatThr = new float[heat.size()];
+            heatPrefixBest = newArray(Rule.class, heat.size());
+            for (int i = 0; i < heat.size(); i++) {
+                Rule<T> r = heat.get(i);
+                Rule<T> before = (i > 0) ? heatPrefixBest[i - 1] : null;
+                heatThr[i] = r.thresholdC();
+                heatPrefixBest[i] = (before != null && before.order() < r.order()) ? before : r;
+            }
+        }
+
+        Rule<T> find(float tempC) {
+            Rule<T> cool = null;
+            int i = firstAtOrAbove(coolThr, tempC);
+            if (i < coolThr.length) cool = coolSuffixBest[i];
+
+            Rule<T> heat = null;
+            int j = lastAtOrBelow(heatThr, tempC);
+            if (j >= 0) heat = heatPrefixBest[j];
+
+            if (cool == null) return heat;
+            if (heat == null) return cool;
+            return cool.order() < heat.order() ? cool : heat;
+        }
+
+        private static int firstAtOrAbove(float[] a, float x) {
+            int lo = 0, hi = a.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (a[mid] < x) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private static int lastAtOrBelow(float[] a, float x) {
+            int lo = 0, hi = a.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (a[mid] <= x) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo - 1;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.tellik.crookedcraft.brewing.core;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays vessel storage for the headless core.
+ *
+ * One slot per vessel; the thermal step only ever streams pos/tempC/kind/level, so keeping them in flat
+ * primitive arrays (instead of one object per vessel) is what makes 100k vessels cheap to tick.
+ *
+ * Slots are dense: remove() moves the last vessel into the freed slot, so slot numbers are NOT stable
+ * across removals. Look vessels up by position with indexOf().
+ */
+public final class VesselArrays {
+
+    public static final byte FLAG_BOILING = 1;
+    public static final byte FLAG_VAT = 2;
+
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+
+    public long[] pos;
+    public float[] tempC;
+    public byte[] kind;
+    public byte[] level;
+    public byte[] flags;
+
+    private int size;
+
+    // Open-addressing pos -> slot index (linear probing, power-of-two capacity).
+    private long[] hashKeys;
+    private int[] hashSlots;
+    private int hashMask;
+
+    public VesselArrays() {
+        this(16);
+    }
+
+    public VesselArrays(int expected) {
+        int cap = Math.max(16, expected);
+        pos = new long[cap];
+        tempC = new float[cap];
+        kind = new byte[cap];
+        level = new byte[cap];
+        flags = new byte[cap];
+        allocHash(cap);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isBoiling(int i) {
+        return (flags[i] & FLAG_BOILING) != 0;
+    }
+
+    public boolean isVat(int i) {
+        return (flags[i] & FLAG_VAT) != 0;
+    }
+
+    public void setBoiling(int i, boolean boiling) {
+        flags[i] = (byte) (boiling ? flags[i] | FLAG_BOILING : flags[i] & ~FLAG_BOILING);
+    }
+
+    /** @return the slot of the vessel at p, or -1 */
+    public int indexOf(long p) {
+        int h = hash(p) & hashMask;
+        while (true) {
+            long k = hashKeys[h];
+            if (k == EMPTY_KEY) return -1;
+            if (k == p) return hashSlots[h];
+            h = (h + 1) & hashMask;
+        }
+    }
+
+    /**
+     * Track a vessel (temperature uninitialized, i.e. NaN, until the first step).
+     * @return its slot; an existing vessel's slot is returned unchanged
+     */
+    public int add(long p, int vesselKind, int vesselLevel) {
+        int existing = indexOf(p);
+        if (existing >= 0) return existing;
+
+        if (size == pos.length) grow();
+        if ((size + 1) * 2 > hashKeys.length) rehash(hashKeys.length * 2);
+
+        int i = size++;
+        pos[i] = p;
+        tempC[i] = Float.NaN;
+        kind[i] = (byte) vesselKind;
+        level[i] = (byte) vesselLevel;
+        flags[i] = 0;
+        put(p, i);
+        return i;
+    }
+
+    /** @return true if a vessel was removed */
+    public boolean remove(long p) {
+        int i = indexOf(p);
+        if (i < 0) return false;
+
+        int last = --size;
+        deleteKey(p);
+
+        if (i != last) {
+            pos[i] = pos[last];
+            tempC[i] = tempC[last];
+            kind[i] = kind[last];
+            level[i] = level[last];
+            flags[i] = flags[last];
+            put(pos[i], i);
+        }
+        return true;
+    }
+
+    public void clear() {
+        size = 0;
+        Arrays.fill(hashKeys, EMPTY_KEY);
+    }
+
+    // -------------------------------------------------------------------------
+    // Internals
+    // -------------------------------------------------------------------------
+
+    private void grow() {
+        int cap = pos.length * 2;
+        pos = Arrays.copyOf(pos, cap);
+        tempC = Arrays.copyOf(tempC, cap);
+        kind = Arrays.copyOf(kind, cap);
+        level = Arrays.copyOf(level, cap);
+        flags = Arrays.copyOf(flags, cap);
+    }
+
+    private void allocHash(int expected) {
+        int cap = Integer.highestOneBit(Math.max(32, expected * 2) - 1) << 1;
+        hashKeys = new long[cap];
+        hashSlots = new int[cap];
+        hashMask = cap - 1;
+        Arrays.fill(hashKeys, EMPTY_KEY);
+    }
+
+    private void rehash(int expected) {
+        allocHash(expected);
+        for (int i = 0; i < size; i++) put(pos[i], i);
+    }
+
+    private void put(long p, int slot) {
+        int h = hash(p) & hashMask;
+        while (hashKeys[h] != EMPTY_KEY && hashKeys[h] != p) h = (h + 1) & hashMask;
+        hashKeys[h] = p;
+        hashSlots[h] = slot;
+    }
+
+    /** Backward-shift delete, so probe chains stay intact without tombstones. */
+    private void deleteKey(long p) {
+        int h = hash(p) & hashMask;
+        while (hashKeys[h] != p) {
+            if (hashKeys[h] == EMPTY_KEY) return;
+            h = (h + 1) & hashMask;
+        }
+
+        int gap = h;
+        int next = (gap + 1) & hashMask;
+        while (hashKeys[next] != EMPTY_KEY) {
+            int home = hash(hashKeys[next]) & hashMask;
+            // Move next back into the gap unless its home lies cyclically within (gap, next].
+            boolean stays = (gap <= next) ? (gap < home && home <= next) : (gap < home || home <= next);
+            if (!stays) {
+                hashKeys[gap] = hashKeys[next];
+                hashSlots[gap] = hashSlots[next];
+                gap = next;
+            }
+            next = (next + 1) & hashMask;
+        }
+        hashKeys[gap] = EMPTY_KEY;
+    }
+
+    private static int hash(long p) {
+        long h = p * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,99 @@
+package com.tellik.crookedcraft.brewing.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThermalStepTest {
+
+    private static final float AMBIENT_C = 12.0f;
+
+    @Test
+    void advanceMatchesTheTickLoop() {
+        ThermalProfile campfire = profile(120.0f, 0.25f);
+        float live = 20.0f;
+        for (int i = 0; i < 300; i++) live = ThermalStep.step(live, ThermalStep.KIND_WATER, 2, false, campfire, AMBIENT_C);
+
+        assertEquals(live, ThermalStep.advance(20.0f, 300, ThermalStep.KIND_WATER, 2, false, campfire, AMBIENT_C));
+    }
+
+    @Test
+    void advanceStopsAtTheTarget() {
+        ThermalProfile campfire = profile(120.0f, 0.25f);
+        assertEquals(120.0f, ThermalStep.advance(20.0f, Long.MAX_VALUE, ThermalStep.KIND_WATER, 3, false, campfire, AMBIENT_C));
+    }
+
+    @Test
+    void advanceStopsWhenAStepNoLongerMoves() {
+        // A tiny heat_per_tick_scale: the rate is below half an ulp of 20C, so step() returns its input.
+        ThermalProfile stuck = profile(100.0f, 1.0e-9f);
+        assertEquals(20.0f, ThermalStep.step(20.0f, ThermalStep.KIND_WATER, 3, false, stuck, AMBIENT_C));
+
+        float replayed = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> ThermalStep.advance(20.0f, Long.MAX_VALUE, ThermalStep.KIND_WATER, 3, false, stuck, AMBIENT_C));
+        assertEquals(20.0f, replayed);
+    }
+
+    @Test
+    void advanceTakesAnOverlongRampAsArrived() {
+        // Moves one ulp per step: still a ramp, but far longer than the replay budget.
+        ThermalProfile slow = profile(100.0f, Math.ulp(20.0f));
+        float replayed = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> ThermalStep.advance(20.0f, 1L << 40, ThermalStep.KIND_WATER, 3, false, slow, AMBIENT_C));
+        assertEquals(100.0f, replayed);
+    }
+
+    @Test
+    void replayedRampLandsWhereTheLiveRunWas() {
+        ThermalProfile campfire = profile(120.0f, 0.25f);
+        ThermalVessel live = new ThermalVessel();
+        long t = 1000;
+        for (; t < 1100; t++) ThermalStep.tick(live, ThermalStep.KIND_WATER, 3, false, campfire, AMBIENT_C, t);
+        assertTrue(live.onRamp());
+
+        // Saved at 1099 (the ramp, not the live temperature), then reloaded by a session starting at 1099.
+        ThermalVessel loaded = new ThermalVessel();
+        loaded.tempC = live.rampStartC;
+        loaded.rampStartC = live.rampStartC;
+        loaded.rampStartTick = live.rampStartTick;
+        loaded.replayUntil = t - 1;
+
+        boolean changed = ThermalStep.tick(loaded, ThermalStep.KIND_WATER, 3, false, campfire, AMBIENT_C, t);
+        ThermalStep.tick(live, ThermalStep.KIND_WATER, 3, false, campfire, AMBIENT_C, t);
+
+        assertEquals(live.tempC, loaded.tempC);
+        assertEquals(live.rampStartTick, loaded.rampStartTick);
+        assertFalse(changed, "a ramp picked up on the next tick carries on without a save");
+    }
+
+    @Test
+    void pauseEndsALiveRamp() {
+        ThermalVessel v = new ThermalVessel();
+        ThermalProfile campfire = profile(120.0f, 0.25f);
+        for (long t = 0; t < 10; t++) ThermalStep.tick(v, ThermalStep.KIND_WATER, 3, false, campfire, AMBIENT_C, t);
+
+        assertTrue(v.pause());
+        assertEquals(ThermalVessel.NO_RAMP, v.rampStartTick);
+        assertEquals(v.tempC, v.rampStartC);
+        assertFalse(v.pause());
+    }
+
+    private static ThermalProfile profile(float max, float rate) {
+        return new ThermalProfile() {
+            @Override
+            public float maxTempC() {
+                return max;
+            }
+
+            @Override
+            public float heatPerTickC() {
+                return rate;
+            }
+        };
+    }
+}
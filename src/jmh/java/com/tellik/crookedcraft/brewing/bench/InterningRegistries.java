@@ -0,0 +1,56 @@
+package com.tellik.crookedcraft.brewing.bench;
+
+import com.tellik.crookedcraft.brewing.core.CoreRegistries;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark-only CoreRegistries: hands out the next free id the first time a key is seen, standing in for the
+ * game registries without bootstrapping Minecraft.
+ * Not thread-safe; build the registries up front, then share read-only.
+ */
+public final class InterningRegistries<K> implements CoreRegistries<K> {
+
+    private final Map<K, Integer> items = new HashMap<>();
+    private final Map<K, Integer> blocks = new HashMap<>();
+    private final List<K> itemKeys = new ArrayList<>();
+    private final List<K> blockKeys = new ArrayList<>();
+
+    @Override
+    public int itemId(K key) {
+        return intern(items, itemKeys, key);
+    }
+
+    @Override
+    public int blockId(K key) {
+        return intern(blocks, blockKeys, key);
+    }
+
+    @Override
+    public K itemKey(int id) {
+        return (id >= 0 && id < itemKeys.size()) ? itemKeys.get(id) : null;
+    }
+
+    @Override
+    public K blockKey(int id) {
+        return (id >= 0 && id < blockKeys.size()) ? blockKeys.get(id) : null;
+    }
+
+    private static <K> int intern(Map<K, Integer> ids, List<K> keys, K key) {
+        return ids.computeIfAbsent(key, k -> {
+            keys.add(k);
+            return keys.size() - 1;
+        });
+    }
+
+    public int itemCount() {
+        return items.size();
+    }
+
+    public int blockCount() {
+        return blocks.size();
+    }
+}
@@ -0,0 +1,105 @@
+package com.tellik.crookedcraft.brewing.bench;
+
+import com.tellik.crookedcraft.brewing.core.IngredientMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingredient matching (the core of BrewingMatcher.tryAddIngredient) over synthetic recipe sets.
+ *
+ * Recipes draw 2..6 slots from a pool of ITEMS item ids; about a third of the slots are "tags" (8..24 ids,
+ * overlapping across tags), which is what forces the matcher into backtracking.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatcherBenchmark {
+
+    private static final int ITEMS = 400;
+    private static final int TAGS = 40;
+    private static final int PROBES = 256;
+
+    @Param({"10", "100", "1000"})
+    public int recipes;
+
+    private int[][][] slots;
+
+    // Probe vessels: partial ingredient lists that fit at least one recipe, plus the unit being added.
+    private int[][] probeUnits;
+    private int[] probeItem;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random rnd = new Random(0xB1EBL ^ recipes);
+
+        int[][] tags = new int[TAGS][];
+        for (int t = 0; t < TAGS; t++) {
+            int size = 8 + rnd.nextInt(17);
+            int base = rnd.nextInt(ITEMS - size * 2);
+            // Random ids from a window twice the tag size; windows overlap, so tags share items.
+            tags[t] = sortedUnique(rnd.ints(size, base, base + size * 2).toArray());
+        }
+
+        slots = new int[recipes][][];
+        for (int r = 0; r < recipes; r++) {
+            int n = 2 + rnd.nextInt(5);
+            slots[r] = new int[n][];
+            for (int s = 0; s < n; s++) {
+                slots[r][s] = rnd.nextInt(3) == 0
+                        ? tags[rnd.nextInt(TAGS)]
+                        : new int[] { rnd.nextInt(ITEMS) };
+            }
+        }
+
+        probeUnits = new int[PROBES][];
+        probeItem = new int[PROBES];
+        for (int p = 0; p < PROBES; p++) {
+            int[][] r = slots[rnd.nextInt(recipes)];
+            int filled = rnd.nextInt(r.length);
+            int[] units = new int[filled];
+            for (int i = 0; i < filled; i++) units[i] = pick(rnd, r[i]);
+            probeUnits[p] = units;
+            probeItem[p] = pick(rnd, r[filled]);
+        }
+    }
+
+    @Benchmark
+    public IngredientMatcher.Result tryAddIngredient() {
+        int p = next++ & (PROBES - 1);
+        int[] units = probeUnits[p];
+        return IngredientMatcher.tryAdd(slots, units, units.length, probeItem[p], 1);
+    }
+
+    @Benchmark
+    public IngredientMatcher.Result tryAddIngredientsBatch() {
+        int p = next++ & (PROBES - 1);
+        int[] units = probeUnits[p];
+        return IngredientMatcher.tryAdd(slots, units, units.length, probeItem[p], 4);
+    }
+
+    private static int pick(Random rnd, int[] slot) {
+        return slot[rnd.nextInt(slot.length)];
+    }
+
+    private static int[] sortedUnique(int[] ids) {
+        return Arrays.stream(ids).distinct().sorted().toArray();
+    }
+}
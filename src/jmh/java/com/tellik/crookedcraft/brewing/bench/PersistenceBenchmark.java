@@ -0,0 +1,143 @@
+package com.tellik.crookedcraft.brewing.bench;
+
+import com.tellik.crookedcraft.brewing.BrewRecipeCache;
+import com.tellik.crookedcraft.brewing.BrewingVesselData;
+import it.unimi.dsi.fastutil.longs.Long2LongLinkedOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.ChunkPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * BrewingVesselData save/load at world-scale vessel counts, through the same per-region files the game uses,
+ * kept in a temp directory (BrewingVesselData.headless).
+ *
+ * saveUnchanged is the common autosave: every region is rebuilt and skipped by its hash and equals, with no file
+ * written. saveChanged touches one vessel per region first, so every region is gzipped and written. loadAllRegions
+ * is the worst case at startup: a fresh data reading every region back, as if a player visited all of them.
+ *
+ * Only NBT, ResourceLocation and plain file IO are touched, so this runs without bootstrapping Minecraft: item
+ * and block ids go through a headless InterningRegistries instead of the game registries.
+ * Vessels are a realistic mix: most idle water, some mid-brew with a few ingredients, a few finished or holding a
+ * solid. They sit 16 blocks apart in rows 512 wide, so 16 regions across.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    private static final ResourceLocation[] INGREDIENTS = {
+            ResourceLocation.fromNamespaceAndPath("minecraft", "nether_wart"),
+            ResourceLocation.fromNamespaceAndPath("minecraft", "spider_eye"),
+            ResourceLocation.fromNamespaceAndPath("minecraft", "sugar"),
+            ResourceLocation.fromNamespaceAndPath("minecraft", "glowstone_dust"),
+            ResourceLocation.fromNamespaceAndPath("minecraft", "redstone"),
+            ResourceLocation.fromNamespaceAndPath("minecraft", "blaze_powder"),
+    };
+
+    private static final ResourceLocation RECIPE = ResourceLocation.fromNamespaceAndPath("crookedcraft", "swiftness");
+    private static final ResourceLocation ICE = ResourceLocation.fromNamespaceAndPath("minecraft", "ice");
+
+    private final InterningRegistries<ResourceLocation> ids = new InterningRegistries<>();
+
+    @Param({"1000", "10000", "100000"})
+    public int vessels;
+
+    private Path dir;
+    private BrewingVesselData data;
+    // One chunk per region, and one vessel in each for saveChanged to touch.
+    private ChunkPos[] regionChunks;
+    private long[] regionVessels;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Random rnd = new Random(7);
+        dir = Files.createTempDirectory("crookedcraft-persistence");
+        data = BrewingVesselData.headless(dir, ids);
+
+        int[] ingredients = new int[INGREDIENTS.length];
+        for (int i = 0; i < INGREDIENTS.length; i++) ingredients[i] = ids.itemId(INGREDIENTS[i]);
+        int recipe = BrewRecipeCache.recipeKey(RECIPE);
+        int ice = ids.blockId(ICE);
+
+        // Region key -> the first vessel placed in it.
+        Long2LongLinkedOpenHashMap firstByRegion = new Long2LongLinkedOpenHashMap();
+        for (int i = 0; i < vessels; i++) {
+            long pos = BlockPos.asLong((i % 512) * 16, 64, (i / 512) * 16);
+            firstByRegion.putIfAbsent(ChunkPos.asLong(BlockPos.getX(pos) >> 9, BlockPos.getZ(pos) >> 9), pos);
+            data.ensureTracked(pos);
+            BrewingVesselData.VesselState v = data.getTrackedState(pos);
+
+            v.tempC = 12.0f + rnd.nextFloat() * 90.0f;
+            v.lastTempC = v.tempC;
+
+            int roll = rnd.nextInt(100);
+            if (roll < 30) {
+                int n = 1 + rnd.nextInt(3);
+                for (int k = 0; k < n; k++) v.ingredients.addTo(ingredients[rnd.nextInt(ingredients.length)], 1);
+            } else if (roll < 35) {
+                v.matchedRecipeId = recipe;
+                v.ingredients.put(ingredients[0], 1);
+                v.ingredients.put(ingredients[2], 2);
+            } else if (roll < 37) {
+                v.insertedSolidId = ice;
+            }
+        }
+
+        regionVessels = firstByRegion.values().toLongArray();
+        regionChunks = new ChunkPos[regionVessels.length];
+        for (int i = 0; i < regionVessels.length; i++) regionChunks[i] = new ChunkPos(BlockPos.of(regionVessels[i]));
+
+        data.save(new CompoundTag());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) Files.delete(p);
+        }
+    }
+
+    @Benchmark
+    public CompoundTag saveUnchanged() {
+        return data.save(new CompoundTag());
+    }
+
+    @Benchmark
+    public CompoundTag saveChanged() {
+        // One map lookup per region: noise next to the writes it causes.
+        for (long pos : regionVessels) data.getTrackedState(pos).pendingFillTicks++;
+        return data.save(new CompoundTag());
+    }
+
+    @Benchmark
+    public BrewingVesselData loadAllRegions() {
+        BrewingVesselData fresh = BrewingVesselData.headless(dir, ids);
+        for (ChunkPos chunk : regionChunks) fresh.loadRegion(chunk);
+        return fresh;
+    }
+}
@@ -0,0 +1,114 @@
+package com.tellik.crookedcraft.brewing.bench;
+
+import com.tellik.crookedcraft.brewing.core.CoreWorld;
+import com.tellik.crookedcraft.brewing.core.HeatSources;
+import com.tellik.crookedcraft.brewing.core.ThermalProfile;
+import com.tellik.crookedcraft.brewing.core.ThermalStep;
+import com.tellik.crookedcraft.brewing.core.VesselArrays;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One thermal tick over every vessel (ThermalStep.run), i.e. the per-vessel part of the server tick loop.
+ *
+ * Vessels are a mix of kinds and fill levels; about half sit on a heat source (some of them cold ones). Temperatures are re-randomized
+ * every iteration so vessels don't all settle at their targets and turn the step into a no-op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThermalStepBenchmark {
+
+    private static final ThermalProfile CAMPFIRE = profile(120.0f, 0.25f);
+    private static final ThermalProfile MAGMA = profile(300.0f, 0.5f);
+    private static final ThermalProfile ICE = profile(-10.0f, 0.1f);
+
+    @Param({"1000", "10000", "100000"})
+    public int vessels;
+
+    private VesselArrays arrays;
+    private float[] initialTemps;
+    private CoreWorld world;
+    private HeatSources heat;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random rnd = new Random(42);
+        arrays = new VesselArrays(vessels);
+
+        int side = (int) Math.ceil(Math.sqrt(vessels));
+        for (int i = 0; i < vessels; i++) {
+            // Spread on a grid with gaps so neighbours aren't touching, like a field of separate cauldrons.
+            long pos = packPos((i % side) * 2, 64, (i / side) * 2);
+            int kind = rnd.nextInt(10) < 7 ? ThermalStep.KIND_WATER : 1 + rnd.nextInt(3);
+            arrays.add(pos, kind, 1 + rnd.nextInt(3));
+        }
+
+        initialTemps = new float[vessels];
+        for (int i = 0; i < vessels; i++) initialTemps[i] = -20.0f + rnd.nextFloat() * 140.0f;
+
+        world = new CoreWorld() {
+            @Override
+            public boolean isLoaded(long pos) {
+                return true;
+            }
+
+            @Override
+            public float ambientC(long pos) {
+                return 12.0f;
+            }
+        };
+
+        heat = pos -> switch ((int) Math.floorMod(pos * 0x9E3779B97F4A7C15L >>> 40, 6L)) {
+            case 0 -> CAMPFIRE;
+            case 1 -> MAGMA;
+            case 2 -> ICE;
+            default -> null;
+        };
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTemps() {
+        System.arraycopy(initialTemps, 0, arrays.tempC, 0, vessels);
+    }
+
+    @Benchmark
+    public int thermalTick() {
+        return ThermalStep.run(arrays, world, heat);
+    }
+
+    private static long packPos(int x, int y, int z) {
+        // BlockPos#asLong layout: 26 bits x, 26 bits z, 12 bits y.
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static ThermalProfile profile(float max, float rate) {
+        return new ThermalProfile() {
+            @Override
+            public float maxTempC() {
+                return max;
+            }
+
+            @Override
+            public float heatPerTickC() {
+                return rate;
+            }
+        };
+    }
+}
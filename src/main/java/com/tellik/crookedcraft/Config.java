@@ -37,12 +37,24 @@ public class Config {
             BUILDER.comment("A list of items to log on common setup.")
                     .defineListAllowEmpty("items", List.of("minecraft:iron_ingot"), Config::validateItemName);
 
+    // brewing: orphaned vessel sweeper (BrewOrphanSweeper)
+    private static final ForgeConfigSpec.IntValue ORPHAN_SWEEP_CHUNKS_PER_TICK =
+            BUILDER.comment("Unloaded chunks the brewing orphan sweeper may read back from disk per tick, per dimension,",
+                            "to purge vessel state whose block is gone. 0 disables the sweeper.")
+                    .defineInRange("orphanSweepChunksPerTick", 2, 0, 64);
+
+    private static final ForgeConfigSpec.IntValue ORPHAN_SWEEP_INTERVAL_MINUTES =
+            BUILDER.comment("Minutes between brewing orphan sweep passes.")
+                    .defineInRange("orphanSweepIntervalMinutes", 30, 1, 24 * 60);
+
     static final ForgeConfigSpec SPEC = BUILDER.build();
 
     public static boolean logDirtBlock;
     public static int magicNumber;
     public static String magicNumberIntroduction;
     public static Set<Item> items;
+    public static int orphanSweepChunksPerTick;
+    public static int orphanSweepIntervalMinutes;
 
     /**
      * Validates that a config entry is:
@@ -64,6 +76,8 @@ public class Config {
         logDirtBlock = LOG_DIRT_BLOCK.get();
         magicNumber = MAGIC_NUMBER.get();
         magicNumberIntroduction = MAGIC_NUMBER_INTRODUCTION.get();
+        orphanSweepChunksPerTick = ORPHAN_SWEEP_CHUNKS_PER_TICK.get();
+        orphanSweepIntervalMinutes = ORPHAN_SWEEP_INTERVAL_MINUTES.get();
 
         // Convert the list of strings into a set of items (defensive even though we validate)
         items = ITEM_STRINGS.get().stream()
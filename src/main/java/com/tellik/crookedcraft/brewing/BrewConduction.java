@@ -0,0 +1,277 @@
+package com.tellik.crookedcraft.brewing;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Optional heat exchange between touching vessels (heat_sources.json "conduction").
+ *
+ * Every tick, each vessel moves toward its neighbours by coefficient * (neighbourTemp - ownTemp) per touching face,
+ * divided by its thermal mass (a vat counts all of its blocks). That's an explicit diffusion stencil on the
+ * vessel graph, so chains of cauldrons can carry heat away from a single fire.
+ *
+ * Cost:
+ * - the graph (connected components via union-find, CSR adjacency, nodes grouped by chunk) is rebuilt only
+ *   when BrewingVesselData's topology changes, never per tick
+ * - isolated vessels (the common case) aren't in any component and cost nothing
+ * - each step is double-buffered (read cur[], write next[]), so components are independent and big builds
+ *   relax in parallel; temperatures are copied in/out on the server thread
+ *
+ * A coupled vessel is never on a clean ramp (its neighbours nudge it off the target every tick), so it is kept
+ * out of the tick loop's ramp saves (VesselState#conducting) and saved at rest, to the nearest SAVE_STEP_C:
+ * the data is only dirtied when that rounded temperature moves, which stops once a component reaches balance.
+ */
+public final class BrewConduction {
+
+    // Below this many nodes, forking costs more than it saves.
+    private static final int PARALLEL_MIN_NODES = 2048;
+
+    // Saved resolution of a coupled vessel's temperature.
+    private static final float SAVE_STEP_C = 0.25f;
+
+    // Server thread only. Weak so a level's graph goes away with its SavedData.
+    private static final Map<BrewingVesselData, Graph> GRAPHS = new WeakHashMap<>();
+
+    private BrewConduction() {}
+
+    private static final class Graph {
+        final int version;
+        final long[] keys;
+        final BrewingVesselData.VesselState[] states;
+        final float[] invMass;
+
+        // CSR adjacency; a neighbour appears once per touching face (contact area).
+        final int[] adjStart;
+        final int[] adj;
+
+        // Components with 2+ nodes, flattened: nodes of component c are compNodes[compStart[c] .. compStart[c+1]).
+        final int[] compStart;
+        final int[] compNodes;
+
+        final float[] cur;
+        final float[] next;
+
+        Graph(int version, long[] keys, BrewingVesselData.VesselState[] states, float[] invMass,
+              int[] adjStart, int[] adj, int[] compStart, int[] compNodes) {
+            this.version = version;
+            this.keys = keys;
+            this.states = states;
+            this.invMass = invMass;
+            this.adjStart = adjStart;
+            this.adj = adj;
+            this.compStart = compStart;
+            this.compNodes = compNodes;
+            this.cur = new float[keys.length];
+            this.next = new float[keys.length];
+        }
+
+        int componentCount() {
+            return compStart.length - 1;
+        }
+    }
+
+    public static void step(ServerLevel level, BrewingVesselData data, float coefficient) {
+        if (data.size() < 2) {
+            detach(data);
+            return;
+        }
+
+        Graph g = GRAPHS.get(data);
+        if (g == null || g.version != data.topologyVersion()) {
+            detach(data);
+            g = build(data);
+            GRAPHS.put(data, g);
+        }
+        if (g.compNodes.length == 0) return;
+
+        // Gather (server thread). Unloaded or uninitialized vessels are NaN and excluded from exchange.
+        for (int i : g.compNodes) {
+            float t = g.states[i].tempC;
+            g.cur[i] = level.isLoaded(BlockPos.of(g.keys[i])) ? t : Float.NaN;
+        }
+
+        final Graph graph = g;
+        if (g.compNodes.length >= PARALLEL_MIN_NODES && g.componentCount() > 1) {
+            IntStream.range(0, g.componentCount()).parallel().forEach(c -> relax(graph, c, coefficient));
+        } else {
+            for (int c = 0; c < g.componentCount(); c++) relax(graph, c, coefficient);
+        }
+
+        // Scatter (server thread), then save a vessel only if its rounded temperature moved.
+        boolean dirty = false;
+        for (int i : g.compNodes) {
+            float before = g.cur[i];
+            if (Float.isNaN(before)) continue;
+
+            g.states[i].tempC = g.next[i];
+            if (settle(g.states[i])) dirty = true;
+        }
+        if (dirty) data.setDirty();
+    }
+
+    /** Conduction is off (or data has no graph any more): its vessels go back to the tick loop's ramps. */
+    public static void detach(BrewingVesselData data) {
+        Graph g = GRAPHS.remove(data);
+        if (g == null) return;
+        for (int i : g.compNodes) g.states[i].conducting = false;
+    }
+
+    /** Record v's temperature, to the nearest SAVE_STEP_C, as its saved rest state. @return true if that changed */
+    private static boolean settle(BrewingVesselData.VesselState v) {
+        v.steppedC = v.tempC;
+        float saved = Math.round(v.tempC / SAVE_STEP_C) * SAVE_STEP_C;
+        if (saved == v.rampStartC && v.rampStartTick == BrewingVesselData.NO_RAMP) return false;
+
+        v.rampStartC = saved;
+        v.rampStartTick = BrewingVesselData.NO_RAMP;
+        return true;
+    }
+
+    /** One stencil step for component c: reads cur[], writes next[] for that component's nodes only. */
+    private static void relax(Graph g, int c, float k) {
+        for (int n = g.compStart[c]; n < g.compStart[c + 1]; n++) {
+            int i = g.compNodes[n];
+            float t = g.cur[i];
+            if (Float.isNaN(t)) {
+                g.next[i] = t;
+                continue;
+            }
+
+            float flux = 0.0f;
+            for (int e = g.adjStart[i]; e < g.adjStart[i + 1]; e++) {
+                float tj = g.cur[g.adj[e]];
+                if (!Float.isNaN(tj)) flux += tj - t;
+            }
+            g.next[i] = t + k * flux * g.invMass[i];
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Graph build (topology changes only)
+    // -------------------------------------------------------------------------
+
+    private static Graph build(BrewingVesselData data) {
+        long[] keys = new long[data.size()];
+        int count = 0;
+        Iterator<Map.Entry<Long, BrewingVesselData.VesselState>> it = data.iterator();
+        while (it.hasNext()) keys[count++] = it.next().getKey();
+
+        // Group by chunk so a component's nodes sit together in the arrays.
+        LongArrays.quickSort(keys, 0, count, (a, b) -> {
+            int byChunk = Long.compare(chunkKey(a), chunkKey(b));
+            return byChunk != 0 ? byChunk : Long.compare(a, b);
+        });
+
+        Long2IntOpenHashMap index = new Long2IntOpenHashMap(count);
+        index.defaultReturnValue(-1);
+        for (int i = 0; i < count; i++) index.put(keys[i], i);
+
+        BrewingVesselData.VesselState[] states = new BrewingVesselData.VesselState[count];
+        float[] invMass = new float[count];
+        for (int i = 0; i < count; i++) {
+            states[i] = data.getStateIfTracked(keys[i]);
+            invMass[i] = 1.0f / states[i].vatSize();
+        }
+
+        // Edges (directed; each face contact is seen from both sides) + union-find.
+        int[] parent = new int[count];
+        int[] size = new int[count];
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+
+        IntArrayList from = new IntArrayList();
+        IntArrayList to = new IntArrayList();
+        long[] single = new long[1];
+
+        for (int i = 0; i < count; i++) {
+            long[] blocks = states[i].isVat() ? states[i].vatMembers : single;
+            single[0] = keys[i];
+
+            for (long p : blocks) {
+                for (Direction d : Direction.values()) {
+                    long n = BlockPos.offset(p, d);
+                    int j = index.get(data.resolveKey(n));
+                    if (j < 0 || j == i) continue;
+
+                    from.add(i);
+                    to.add(j);
+                    union(parent, size, i, j);
+                }
+            }
+        }
+
+        int[] adjStart = new int[count + 1];
+        for (int e = 0; e < from.size(); e++) adjStart[from.getInt(e) + 1]++;
+        for (int i = 0; i < count; i++) adjStart[i + 1] += adjStart[i];
+
+        int[] adj = new int[from.size()];
+        int[] fill = adjStart.clone();
+        for (int e = 0; e < from.size(); e++) adj[fill[from.getInt(e)]++] = to.getInt(e);
+
+        // Components of 2+ nodes, in first-seen (chunk) order.
+        int[] compOfRoot = new int[count];
+        Arrays.fill(compOfRoot, -1);
+        IntArrayList compSizes = new IntArrayList();
+        for (int i = 0; i < count; i++) {
+            int r = find(parent, i);
+            if (size[r] < 2) continue;
+            if (compOfRoot[r] < 0) {
+                compOfRoot[r] = compSizes.size();
+                compSizes.add(0);
+            }
+            compSizes.set(compOfRoot[r], compSizes.getInt(compOfRoot[r]) + 1);
+        }
+
+        int[] compStart = new int[compSizes.size() + 1];
+        for (int c = 0; c < compSizes.size(); c++) compStart[c + 1] = compStart[c] + compSizes.getInt(c);
+
+        int[] compNodes = new int[compStart[compSizes.size()]];
+        int[] compFill = compStart.clone();
+        for (int i = 0; i < count; i++) {
+            int r = find(parent, i);
+            if (compOfRoot[r] >= 0) compNodes[compFill[compOfRoot[r]]++] = i;
+        }
+        for (int i : compNodes) states[i].conducting = true;
+
+        if (count != keys.length) keys = Arrays.copyOf(keys, count);
+        return new Graph(data.topologyVersion(), keys, states, invMass, adjStart, adj, compStart, compNodes);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int[] size, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra == rb) return;
+        if (size[ra] < size[rb]) {
+            int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        parent[rb] = ra;
+        size[ra] += size[rb];
+    }
+
+    private static long chunkKey(long pos) {
+        return ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4);
+    }
+}
@@ -0,0 +1,246 @@
+package com.tellik.crookedcraft.brewing;
+
+import com.mojang.logging.LogUtils;
+import com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity;
+import com.tellik.crookedcraft.brewing.profile.BrewingProfiler;
+import com.tellik.crookedcraft.brewing.profile.LatencyHistogram;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.LayeredCauldronBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Synthetic brewing load for capacity planning (/crookedcraft loadgen).
+ *
+ * Places count vessels on a 2-block grid (no two adjacent, so no vats form) in layers of LAYER_HEIGHT above the
+ * command source: a heat source, the vessel on top, air above. Fluid, level, heat source, solid and a partial
+ * ingredient set are drawn from RandomSource.create(seed) in placement order, so the same count + seed gives the
+ * same world on every version.
+ *
+ * After WARMUP_TICKS (every vessel has initialised and the JIT has settled) the brewing tick is measured for
+ * MEASURE_TICKS through BrewingProfiler, and the report goes back to whoever ran the command.
+ */
+@Mod.EventBusSubscriber(modid = "crookedcraft", bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class BrewLoadGenerator {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final int MAX_COUNT = 20_000;
+
+    private static final int LAYER_SIDE = 50;         // vessels per row/column in one layer (100x100 blocks)
+    private static final int LAYER_HEIGHT = 3;        // heat source, vessel, air
+    private static final int WARMUP_TICKS = 100;
+    private static final int MEASURE_TICKS = 200;
+
+    private static final BlockState[] HEAT_SOURCES = {
+            Blocks.STONE.defaultBlockState(),           // unheated
+            Blocks.MAGMA_BLOCK.defaultBlockState(),
+            Blocks.CAMPFIRE.defaultBlockState(),
+            Blocks.FURNACE.defaultBlockState(),         // unlit: exercises the state-conditioned miss
+            Blocks.TORCH.defaultBlockState(),
+            Blocks.PACKED_ICE.defaultBlockState()
+    };
+
+    private static final Block[] SOLIDS = {
+            Blocks.ICE,
+            Blocks.OBSIDIAN
+    };
+
+    /** The grid placed last (for clear), and the measurement in progress. */
+    private static Grid lastGrid;
+    private static Run running;
+
+    private BrewLoadGenerator() {}
+
+    private record Grid(ServerLevel level, BlockPos origin, int count) {
+        BlockPos vessel(int i) {
+            int perLayer = LAYER_SIDE * LAYER_SIDE;
+            int layer = i / perLayer;
+            int inLayer = i % perLayer;
+            return origin.offset((inLayer % LAYER_SIDE) * 2, 1 + layer * LAYER_HEIGHT, (inLayer / LAYER_SIDE) * 2);
+        }
+    }
+
+    private static final class Run {
+        final Grid grid;
+        final long seed;
+        final CommandSourceStack owner;
+        int ticks;
+
+        Run(Grid grid, long seed, CommandSourceStack owner) {
+            this.grid = grid;
+            this.seed = seed;
+            this.owner = owner;
+        }
+    }
+
+    public static boolean isRunning() {
+        return running != null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Generate
+    // -------------------------------------------------------------------------
+
+    /**
+     * Place count vessels at origin and start measuring. Replaces any grid placed earlier.
+     * @return the number of vessels placed
+     */
+    public static int generate(ServerLevel level, BlockPos origin, int count, long seed, CommandSourceStack owner) {
+        if (lastGrid != null) clear();
+
+        Grid grid = new Grid(level, origin.immutable(), count);
+        BrewingVesselData data = BrewingVesselData.get(level);
+        List<CauldronBrewRecipe> recipes = BrewingMatcher.recipesForLiquid(level, BrewingMatcher.WATER_LIQUID);
+        RandomSource random = RandomSource.create(seed);
+
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = grid.vessel(i);
+            // UPDATE_ALL, not just the client flag: the neighbor notification is what invalidates HeatField's
+            // cached sections, so a regenerated grid never reads the previous seed's heat sources.
+            level.setBlock(pos.below(), HEAT_SOURCES[random.nextInt(HEAT_SOURCES.length)], Block.UPDATE_ALL);
+
+            int fluid = random.nextInt(10);
+            int fill = 1 + random.nextInt(3);
+            BlockState vessel;
+            if (fluid < 6) {
+                vessel = ModBrewingBlocks.BREW_WATER_CAULDRON.get().defaultBlockState().setValue(LayeredCauldronBlock.LEVEL, fill);
+            } else if (fluid < 8) {
+                vessel = ModBrewingBlocks.BREW_POWDER_SNOW_CAULDRON.get().defaultBlockState().setValue(LayeredCauldronBlock.LEVEL, fill);
+            } else if (fluid < 9) {
+                vessel = ModBrewingBlocks.BREW_LAVA_CAULDRON.get().defaultBlockState();
+            } else {
+                vessel = ModBrewingBlocks.BREW_CAULDRON.get().defaultBlockState(); // tracked only for its solid
+            }
+            level.setBlock(pos, vessel, Block.UPDATE_ALL);
+            level.setBlock(pos.above(), Blocks.AIR.defaultBlockState(), Block.UPDATE_ALL);
+
+            data.ensureTracked(pos.asLong());
+            BrewingVesselData.VesselState v = data.getTrackedState(pos.asLong());
+
+            boolean empty = fluid == 9;
+            if (empty || (fluid < 6 && random.nextInt(8) == 0)) {
+                Block solid = SOLIDS[random.nextInt(SOLIDS.length)];
+                if (level.getBlockEntity(pos) instanceof BrewVesselBlockEntity be) be.setSolidBlockId(BuiltInRegistries.BLOCK.getKey(solid));
+                v.insertedSolidId = BuiltInRegistries.BLOCK.getId(solid);
+            }
+
+            if (fluid < 6 && !recipes.isEmpty() && random.nextBoolean()) {
+                addPartialBrew(v, recipes.get(random.nextInt(recipes.size())), random);
+            }
+        }
+        data.setDirty();
+
+        lastGrid = grid;
+        running = new Run(grid, seed, owner);
+        LOGGER.info("[crookedcraft] Load generator placed {} vessels at {} (seed {})", count, origin, seed);
+        return count;
+    }
+
+    /** Some, never all, of a recipe's slots, one unit each: a brew in progress that can still complete. */
+    private static void addPartialBrew(BrewingVesselData.VesselState v, CauldronBrewRecipe recipe, RandomSource random) {
+        List<Ingredient> slots = recipe.expandToSlots();
+        if (slots.size() < 2) return;
+
+        int units = 1 + random.nextInt(slots.size() - 1);
+        for (int s = 0; s < units; s++) {
+            ItemStack[] items = slots.get(s).getItems();
+            if (items.length == 0) continue;
+            v.ingredients.addTo(BuiltInRegistries.ITEM.getId(items[random.nextInt(items.length)].getItem()), 1);
+        }
+    }
+
+    /** Remove the last generated grid (blocks and tracking). @return vessels removed, 0 if there was none */
+    public static int clear() {
+        Grid grid = lastGrid;
+        if (grid == null) return 0;
+        lastGrid = null;
+        if (running != null && running.grid == grid) stopMeasuring();
+
+        BrewingVesselData data = BrewingVesselData.get(grid.level());
+        for (int i = 0; i < grid.count(); i++) {
+            BlockPos pos = grid.vessel(i);
+            data.untrack(pos.asLong());
+            grid.level().setBlock(pos, Blocks.AIR.defaultBlockState(), Block.UPDATE_ALL);
+            grid.level().setBlock(pos.below(), Blocks.AIR.defaultBlockState(), Block.UPDATE_ALL);
+        }
+        return grid.count();
+    }
+
+    // -------------------------------------------------------------------------
+    // Measure
+    // -------------------------------------------------------------------------
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        Run run = running;
+        if (run == null) return;
+
+        run.ticks++;
+        if (run.ticks == WARMUP_TICKS) {
+            BrewingProfiler.begin(0, null);
+        } else if (run.ticks == WARMUP_TICKS + MEASURE_TICKS) {
+            BrewingProfiler.Session s = BrewingProfiler.stop();
+            running = null;
+            if (s != null) report(run, s);
+        }
+    }
+
+    /** Server stopped: the grid's level is gone, so forget it (and any run against it) rather than clear() it later. */
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        lastGrid = null;
+        running = null;
+    }
+
+    private static void stopMeasuring() {
+        if (running != null && running.ticks >= WARMUP_TICKS) BrewingProfiler.stop();
+        running = null;
+    }
+
+    private static void report(Run run, BrewingProfiler.Session s) {
+        ServerLevel level = run.grid.level();
+        BrewingVesselData data = BrewingVesselData.get(level);
+
+        LatencyHistogram tick = s.stage(BrewingProfiler.Stage.LEVEL_TICK);
+        long ticks = Math.max(1, s.ticks());
+        double brewingMspt = tick.sum() / 1.0e6 / ticks;
+        double serverMspt = level.getServer().getAverageTickTime();
+
+        long heapBytes = data.estimateHeapBytes();
+        long nbtBytes = BrewingProfiler.nbtSize(data.save(new CompoundTag(), BrewingCoreBindings.REGISTRIES));
+
+        String[] lines = {
+                String.format(Locale.ROOT, "Brewing load: %d vessels placed (seed %d), %d tracked in %s",
+                        run.grid.count(), run.seed, data.size(), level.dimension().location()),
+                String.format(Locale.ROOT, "  brewing tick: %.3f ms/tick mean, p99 %.3f ms (%.1f%% of %.2f ms server MSPT)",
+                        brewingMspt, tick.percentile(99) / 1.0e6,
+                        serverMspt > 0 ? 100.0 * brewingMspt / serverMspt : 0.0, serverMspt),
+                String.format(Locale.ROOT, "  per vessel: %.2f us/tick", tick.sum() / 1000.0 / Math.max(1, s.vesselsIterated())),
+                String.format(Locale.ROOT, "  BrewingVesselData: ~%.1f KiB heap (estimate), %.1f KiB NBT uncompressed",
+                        heapBytes / 1024.0, nbtBytes / 1024.0)
+        };
+
+        for (String line : lines) {
+            LOGGER.info("[crookedcraft] {}", line);
+            if (run.owner != null) run.owner.sendSuccess(() -> Component.literal(line), false);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.tellik.crookedcraft.brewing;
+
+import com.mojang.logging.LogUtils;
+import com.tellik.crookedcraft.Config;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.SharedConstants;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.chunk.storage.ChunkStorage;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Purges BrewingVesselData entries whose vessel no longer exists in chunks nobody has loaded since.
+ *
+ * The tick loop untracks a vessel as soon as it sees its block is gone, but it only looks at loaded chunks, so
+ * state for abandoned areas (blocks removed by a world editor or region trimmer, chunks deleted, a vessel that
+ * was never there after a crash) stays in the save forever.
+ *
+ * A pass (every Config.orphanSweepIntervalMinutes) snapshots the unloaded chunks holding tracked vessels (vat
+ * members included) and reads them back from chunk storage, at most Config.orphanSweepChunksPerTick reads
+ * started per tick. The reads go through the chunk IO worker (which also serves chunks still queued for
+ * writing), so the server thread never touches disk. A tracked position is dead when its chunk has no
+ * brew_vessel block entity there, or when the chunk is not on disk at all; every brew vessel block has one.
+ *
+ * Vessel regions nobody has loaded this session (see BrewingVesselData) are swept too, without loading them:
+ * each region file is read on a background worker (one read out of the same per-tick budget), the chunks of its
+ * single vessels are queued like the rest, and dead ones are cut from the file itself. Vats stored in unloaded
+ * regions are left for when they load.
+ *
+ * Conservative by design: a chunk that loads while its read is in flight is skipped (the tick loop owns it
+ * now), as are chunks saved by another data version and reads that fail. A wrongly purged vessel would only
+ * lose its brew; BrewingTrackingEvents re-tracks it when its chunk loads.
+ *
+ * Server thread only (the reads complete back onto it).
+ */
+@Mod.EventBusSubscriber(modid = "crookedcraft", bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class BrewOrphanSweeper {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final int FIRST_PASS_DELAY_TICKS = 20 * 60;
+    private static final int MAX_IN_FLIGHT = 32;
+
+    private record Report(int regionsRead, int chunksRead, int chunksSkipped, int purged, long millis) {}
+
+    private static final class Sweep {
+        int ticksUntilPass = FIRST_PASS_DELAY_TICKS;
+        boolean passing;
+        long passStart;
+
+        // Chunks still to read, and the tracked positions each of them held when the pass started.
+        final LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        final Long2ObjectOpenHashMap<LongArrayList> positions = new Long2ObjectOpenHashMap<>();
+        final LongOpenHashSet inFlight = new LongOpenHashSet();
+        // Unloaded vessel regions still to read for their chunks.
+        final LongArrayFIFOQueue regions = new LongArrayFIFOQueue();
+        int regionsInFlight;
+
+        int regionsRead;
+        int chunksRead;
+        int chunksSkipped;
+        int purged;
+
+        Report last;
+    }
+
+    private static final Map<ServerLevel, Sweep> SWEEPS = new WeakHashMap<>();
+
+    private BrewOrphanSweeper() {}
+
+    /** Start a pass in level on its next tick (no-op while one is running or the sweeper is disabled). */
+    public static void requestPass(ServerLevel level) {
+        SWEEPS.computeIfAbsent(level, l -> new Sweep()).ticksUntilPass = 0;
+    }
+
+    // -------------------------------------------------------------------------
+    // Tick
+    // -------------------------------------------------------------------------
+
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        if (!(event.level instanceof ServerLevel level)) return;
+
+        int budget = Config.orphanSweepChunksPerTick;
+        if (budget <= 0) return;
+
+        Sweep s = SWEEPS.computeIfAbsent(level, l -> new Sweep());
+        if (!s.passing) {
+            if (--s.ticksUntilPass > 0) return;
+            beginPass(level, s);
+        }
+
+        for (int started = 0; started < budget && s.inFlight.size() + s.regionsInFlight < MAX_IN_FLIGHT; started++) {
+            if (s.queue.isEmpty()) {
+                if (s.regions.isEmpty()) break;
+                readRegion(level, s, s.regions.dequeueLong());
+                continue;
+            }
+
+            long chunk = s.queue.dequeueLong();
+            if (level.hasChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk))) {
+                // Loaded again since the snapshot: the tick loop checks its vessels itself.
+                s.positions.remove(chunk);
+                s.chunksSkipped++;
+                continue;
+            }
+            read(level, s, chunk);
+        }
+
+        if (s.queue.isEmpty() && s.inFlight.isEmpty() && s.regions.isEmpty() && s.regionsInFlight == 0) endPass(level, s);
+    }
+
+    private static void beginPass(ServerLevel level, Sweep s) {
+        s.passing = true;
+        s.passStart = System.nanoTime();
+        s.regionsRead = 0;
+        s.chunksRead = 0;
+        s.chunksSkipped = 0;
+        s.purged = 0;
+
+        BrewingVesselData data = BrewingVesselData.get(level);
+        Iterator<Map.Entry<Long, BrewingVesselData.VesselState>> it = data.iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, BrewingVesselData.VesselState> e = it.next();
+            BrewingVesselData.VesselState v = e.getValue();
+            if (v.vatMembers == null) {
+                enqueue(level, s, e.getKey());
+            } else {
+                for (long m : v.vatMembers) enqueue(level, s, m);
+            }
+        }
+
+        LongIterator regions = data.unloadedRegionsOnDisk().iterator();
+        while (regions.hasNext()) s.regions.enqueue(regions.nextLong());
+    }
+
+    private static void enqueue(ServerLevel level, Sweep s, long posLong) {
+        int cx = BlockPos.getX(posLong) >> 4;
+        int cz = BlockPos.getZ(posLong) >> 4;
+        if (level.hasChunk(cx, cz)) return;
+
+        long chunk = ChunkPos.asLong(cx, cz);
+        LongArrayList list = s.positions.get(chunk);
+        if (list == null) {
+            list = new LongArrayList(1);
+            s.positions.put(chunk, list);
+            s.queue.enqueue(chunk);
+        }
+        list.add(posLong);
+    }
+
+    private static void endPass(ServerLevel level, Sweep s) {
+        s.passing = false;
+        s.positions.clear();
+        s.ticksUntilPass = Math.max(1, Config.orphanSweepIntervalMinutes) * 20 * 60;
+        s.last = new Report(s.regionsRead, s.chunksRead, s.chunksSkipped, s.purged, (System.nanoTime() - s.passStart) / 1_000_000L);
+
+        if (s.purged > 0) {
+            LOGGER.info("[crookedcraft] Orphan sweep of {}: read {} unloaded region(s) and {} unloaded chunk(s), purged {} dead vessel(s) in {} ms.",
+                    level.dimension().location(), s.regionsRead, s.chunksRead, s.purged, s.last.millis());
+        } else {
+            LOGGER.debug("[crookedcraft] Orphan sweep of {}: read {} unloaded region(s) and {} unloaded chunk(s), nothing to purge.",
+                    level.dimension().location(), s.regionsRead, s.chunksRead);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Chunk reads
+    // -------------------------------------------------------------------------
+
+    private static void read(ServerLevel level, Sweep s, long chunk) {
+        s.inFlight.add(chunk);
+        level.getChunkSource().chunkMap.read(new ChunkPos(chunk))
+                .whenCompleteAsync((tag, error) -> {
+                    // Dropped by a chunk load or a level unload while reading.
+                    if (SWEEPS.get(level) != s || !s.inFlight.remove(chunk)) return;
+
+                    LongArrayList tracked = s.positions.remove(chunk);
+                    if (tracked == null) return;
+
+                    if (error != null) {
+                        LOGGER.debug("[crookedcraft] Orphan sweep could not read chunk {}", new ChunkPos(chunk), error);
+                        s.chunksSkipped++;
+                        return;
+                    }
+                    s.chunksRead++;
+                    purgeDead(level, s, chunk, tag, tracked);
+                }, level.getServer());
+    }
+
+    private static void readRegion(ServerLevel level, Sweep s, long region) {
+        BrewingVesselData data = BrewingVesselData.get(level);
+        s.regionsInFlight++;
+        CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return data.readUnloadedPositions(region);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, Util.backgroundExecutor())
+                .whenCompleteAsync((positions, error) -> {
+                    if (SWEEPS.get(level) != s) return;
+                    s.regionsInFlight--;
+
+                    if (error != null) {
+                        LOGGER.debug("[crookedcraft] Orphan sweep could not read brewing vessel region {},{}",
+                                ChunkPos.getX(region), ChunkPos.getZ(region), error);
+                        return;
+                    }
+                    if (positions == null) return;
+                    s.regionsRead++;
+                    // Chunks loaded by now are skipped here; their vessels are the tick loop's (and in memory).
+                    for (int i = 0; i < positions.size(); i++) enqueue(level, s, positions.getLong(i));
+                }, level.getServer());
+    }
+
+    private static void purgeDead(ServerLevel level, Sweep s, long chunk, Optional<CompoundTag> tag, LongArrayList tracked) {
+        LongOpenHashSet alive = new LongOpenHashSet();
+        if (tag.isPresent()) {
+            CompoundTag chunkTag = tag.get();
+            if (ChunkStorage.getVersion(chunkTag) != SharedConstants.getCurrentVersion().getDataVersion().getVersion()) {
+                // Not upgraded yet; its layout is not ours to guess at.
+                s.chunksSkipped++;
+                return;
+            }
+
+            String vesselType = String.valueOf(BlockEntityType.getKey(ModBrewingBlockEntities.BREW_VESSEL.get()));
+            ListTag bes = chunkTag.getList("block_entities", Tag.TAG_COMPOUND);
+            for (int i = 0; i < bes.size(); i++) {
+                CompoundTag be = bes.getCompound(i);
+                if (!vesselType.equals(be.getString("id"))) continue;
+                alive.add(BlockPos.asLong(be.getInt("x"), be.getInt("y"), be.getInt("z")));
+            }
+        }
+
+        BrewingVesselData data = BrewingVesselData.get(level);
+        long region = BrewVesselRegionFiles.regionOf(new ChunkPos(chunk));
+        LongOpenHashSet deadOnDisk = new LongOpenHashSet();
+        for (int i = 0; i < tracked.size(); i++) {
+            long posLong = tracked.getLong(i);
+            if (alive.contains(posLong)) continue;
+
+            if (data.getStateIfTracked(posLong) == null) {
+                // Not in memory: read from a region file, which is cut below if the region is still unloaded.
+                if (!data.isRegionLoaded(region)) deadOnDisk.add(posLong);
+                continue;
+            }
+            data.untrack(posLong);
+            s.purged++;
+            LOGGER.debug("[crookedcraft] Orphan sweep purged dead vessel at {} in {} ({}).",
+                    BlockPos.of(posLong), level.dimension().location(), tag.isPresent() ? "no brew vessel there" : "chunk not on disk");
+        }
+
+        if (!deadOnDisk.isEmpty()) {
+            int purged = data.purgeUnloaded(region, deadOnDisk);
+            s.purged += purged;
+            if (purged > 0) {
+                LOGGER.debug("[crookedcraft] Orphan sweep purged {} dead vessel(s) from unloaded region {},{} of {} ({}).",
+                        purged, ChunkPos.getX(region), ChunkPos.getZ(region), level.dimension().location(),
+                        tag.isPresent() ? "no brew vessel there" : "chunk not on disk");
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Invalidation
+    // -------------------------------------------------------------------------
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Sweep s = SWEEPS.get(level);
+        if (s == null || !s.passing) return;
+
+        // A read in flight may predate whatever happens in the chunk now; drop it.
+        long chunk = event.getChunk().getPos().toLong();
+        if (s.inFlight.remove(chunk)) {
+            s.positions.remove(chunk);
+            s.chunksSkipped++;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) SWEEPS.remove(level);
+    }
+
+    /** One status line for /crookedcraft sweep. */
+    public static String describe(ServerLevel level) {
+        String dim = level.dimension().location().toString();
+        if (Config.orphanSweepChunksPerTick <= 0) return "Orphan sweeper is disabled (orphanSweepChunksPerTick = 0).";
+
+        Sweep s = SWEEPS.get(level);
+        if (s != null && s.passing) {
+            return String.format(Locale.ROOT, "Orphan sweep of %s running: %d region(s) and %d chunk(s) read, %d region(s) and %d chunk(s) queued, %d purged so far.",
+                    dim, s.regionsRead, s.chunksRead, s.regions.size() + s.regionsInFlight, s.queue.size() + s.inFlight.size(), s.purged);
+        }
+
+        Report r = s != null ? s.last : null;
+        if (r == null) return "No orphan sweep of " + dim + " has finished yet.";
+        return String.format(Locale.ROOT, "Last orphan sweep of %s: %d region(s) and %d chunk(s) read, %d chunk(s) skipped, %d dead vessel(s) purged (%d ms).",
+                dim, r.regionsRead(), r.chunksRead(), r.chunksSkipped(), r.purged(), r.millis());
+    }
+}
@@ -0,0 +1,233 @@
+package com.tellik.crookedcraft.brewing;
+
+import com.tellik.crookedcraft.brewing.jfr.BrewReloadEvent;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntAVLTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.alchemy.Potion;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled cauldron-recipe metadata, keyed by a dense recipe index.
+ *
+ * Everything the hot paths need from a matched recipe (potion, result template, packed color) is resolved
+ * once per recipe reload instead of per tick / per bottle. Recipes are also compiled to the core matcher's form
+ * (per-slot sorted item ids, tags expanded) so matching never tests an Ingredient.
+ *
+ * Invalidation: the snapshot is part of BrewingRuntime, compiled once per server start and /reload (off-thread
+ * for /reload) and published together with the heat and transform tables. Vessels cache (index, runtime
+ * generation) and re-resolve by recipe key only when a newer runtime has been published.
+ *
+ * Vessel state never holds a recipe's ResourceLocation: ids are interned to dense keys (recipeKey) that stay
+ * valid across reloads, and only turned back into ids when BrewingVesselData saves.
+ */
+public final class BrewRecipeCache {
+    public static final int NO_RECIPE = -1;
+
+    // Recipe ids interned to dense keys. Never cleared (one entry per distinct id this process has loaded), so a
+    // key stays valid across reloads; a recipe's index in a Snapshot does not. Guarded by the class lock, since
+    // compile() interns off the server thread.
+    private static final Object2IntOpenHashMap<ResourceLocation> RECIPE_KEYS = new Object2IntOpenHashMap<>();
+    private static final List<ResourceLocation> RECIPE_IDS = new ArrayList<>();
+
+    static {
+        RECIPE_KEYS.defaultReturnValue(NO_RECIPE);
+    }
+
+    /** Immutable per-recipe metadata. resultTemplate must never be handed out directly; use createResult(). */
+    public record CompiledRecipe(int index,
+                                 int key,
+                                 ResourceLocation id,
+                                 CauldronBrewRecipe recipe,
+                                 @Nullable Potion potion,
+                                 ItemStack resultTemplate,
+                                 int color) {
+        public ItemStack createResult() {
+            return resultTemplate.copy();
+        }
+    }
+
+    /** One liquid's recipes, with slots[i] the IngredientMatcher form of recipes.get(i) and keys[i] its recipe key. */
+    public record LiquidRecipes(List<CauldronBrewRecipe> recipes, int[][][] slots, int[] keys) {
+        static final LiquidRecipes EMPTY = new LiquidRecipes(List.of(), new int[0][][], new int[0]);
+    }
+
+    public static final class Snapshot {
+        /** Placeholder before the first publish; never handed to callers (see BrewingRuntime.current(server)). */
+        static final Snapshot EMPTY = new Snapshot(new CompiledRecipe[0], new Int2ObjectOpenHashMap<>(), Map.of());
+
+        private final CompiledRecipe[] byIndex;
+        private final Int2ObjectMap<CompiledRecipe> byKey;
+        private final Map<ResourceLocation, LiquidRecipes> byLiquid;
+
+        private Snapshot(CompiledRecipe[] byIndex,
+                         Int2ObjectMap<CompiledRecipe> byKey,
+                         Map<ResourceLocation, LiquidRecipes> byLiquid) {
+            this.byIndex = byIndex;
+            this.byKey = byKey;
+            this.byLiquid = byLiquid;
+        }
+
+        public int size() {
+            return byIndex.length;
+        }
+
+        public CompiledRecipe get(int index) {
+            return byIndex[index];
+        }
+
+        public @Nullable CompiledRecipe byKey(int key) {
+            return byKey.get(key);
+        }
+
+        public List<CauldronBrewRecipe> recipesForLiquid(ResourceLocation liquid) {
+            return forLiquid(liquid).recipes();
+        }
+
+        public LiquidRecipes forLiquid(ResourceLocation liquid) {
+            return byLiquid.getOrDefault(liquid, LiquidRecipes.EMPTY);
+        }
+    }
+
+    private BrewRecipeCache() {}
+
+    // -------------------------------------------------------------------------
+    // Recipe keys
+    // -------------------------------------------------------------------------
+
+    /** The dense key for id, assigning the next one the first time id is seen. */
+    public static synchronized int recipeKey(ResourceLocation id) {
+        int key = RECIPE_KEYS.getInt(id);
+        if (key == NO_RECIPE) {
+            key = RECIPE_IDS.size();
+            RECIPE_KEYS.put(id, key);
+            RECIPE_IDS.add(id);
+        }
+        return key;
+    }
+
+    /** @return the id key was assigned to, or null for NO_RECIPE */
+    public static synchronized @Nullable ResourceLocation recipeId(int key) {
+        return (key >= 0 && key < RECIPE_IDS.size()) ? RECIPE_IDS.get(key) : null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Lookup
+    // -------------------------------------------------------------------------
+
+    /** The published recipe index. */
+    public static Snapshot get(ServerLevel level) {
+        return BrewingRuntime.current(level.getServer()).recipes();
+    }
+
+    /**
+     * Resolve the vessel's matched recipe through its cached index.
+     * Returns null if the vessel has no match, or the recipe no longer exists after a reload.
+     */
+    public static @Nullable CompiledRecipe resolve(ServerLevel level, BrewingVesselData.VesselState v) {
+        if (v.matchedRecipeId == NO_RECIPE) return null;
+
+        BrewingRuntime rt = BrewingRuntime.current(level.getServer());
+        Snapshot s = rt.recipes();
+        if (v.matchedRecipeGen == rt.generation() && v.matchedRecipeIndex >= 0) {
+            CompiledRecipe c = s.byIndex[v.matchedRecipeIndex];
+            // Cheap guard in case matchedRecipeId was reassigned without touching the index.
+            if (c.key() == v.matchedRecipeId) return c;
+        }
+
+        CompiledRecipe c = s.byKey.get(v.matchedRecipeId);
+        v.matchedRecipeIndex = (c != null) ? c.index() : -1;
+        v.matchedRecipeGen = rt.generation();
+        return c;
+    }
+
+    /** Build the index for manager. Reads the recipes, tags and registries only, so it is safe off the server thread. */
+    static Snapshot compile(RecipeManager manager) {
+        BrewReloadEvent jfr = new BrewReloadEvent();
+        jfr.begin();
+
+        List<CauldronBrewRecipe> all = new ArrayList<>(manager.getAllRecipesFor(CauldronBrewRecipeType.INSTANCE));
+
+        // Stable ordering so indices don't depend on RecipeManager map iteration order.
+        all.sort(Comparator.comparing(r -> r.getId().toString()));
+
+        CompiledRecipe[] byIndex = new CompiledRecipe[all.size()];
+        Int2ObjectMap<CompiledRecipe> byKey = new Int2ObjectOpenHashMap<>(all.size());
+        Map<ResourceLocation, List<CauldronBrewRecipe>> grouped = new HashMap<>();
+
+        for (int i = 0; i < all.size(); i++) {
+            CauldronBrewRecipe r = all.get(i);
+
+            Potion potion = (r.getPotionId() != null) ? ForgeRegistries.POTIONS.getValue(r.getPotionId()) : null;
+            ItemStack template = r.createResultStack();
+            int color = PotionUtils.getColor(template);
+
+            CompiledRecipe c = new CompiledRecipe(i, recipeKey(r.getId()), r.getId(), r, potion, template, color);
+            byIndex[i] = c;
+            byKey.put(c.key(), c);
+            grouped.computeIfAbsent(r.getLiquid(), k -> new ArrayList<>()).add(r);
+        }
+
+        Map<ResourceLocation, LiquidRecipes> byLiquid = new HashMap<>();
+        for (Map.Entry<ResourceLocation, List<CauldronBrewRecipe>> e : grouped.entrySet()) {
+            List<CauldronBrewRecipe> list = List.copyOf(e.getValue());
+            int[][][] slots = new int[list.size()][][];
+            int[] keys = new int[list.size()];
+            for (int i = 0; i < list.size(); i++) {
+                slots[i] = compileSlots(list.get(i));
+                keys[i] = recipeKey(list.get(i).getId());
+            }
+            byLiquid.put(e.getKey(), new LiquidRecipes(list, slots, keys));
+        }
+
+        Snapshot snapshot = new Snapshot(byIndex, byKey, Map.copyOf(byLiquid));
+        jfr.finish("recipes", "compile", byIndex.length);
+        return snapshot;
+    }
+
+    /**
+     * Each slot as the sorted item ids it accepts.
+     * Simple ingredients list their items directly; anything else (NBT/custom ingredients) is tested against
+     * every registered item once here, with the same plain stack the old per-add matching used.
+     */
+    private static int[][] compileSlots(CauldronBrewRecipe r) {
+        List<Ingredient> slots = r.expandToSlots();
+        int[][] out = new int[slots.size()][];
+        Map<Ingredient, int[]> seen = new IdentityHashMap<>();
+
+        for (int i = 0; i < slots.size(); i++) {
+            out[i] = seen.computeIfAbsent(slots.get(i), BrewRecipeCache::itemIds);
+        }
+        return out;
+    }
+
+    private static int[] itemIds(Ingredient ingredient) {
+        IntSortedSet ids = new IntAVLTreeSet();
+        if (ingredient.isSimple()) {
+            for (ItemStack stack : ingredient.getItems()) ids.add(BuiltInRegistries.ITEM.getId(stack.getItem()));
+        } else {
+            for (Item item : BuiltInRegistries.ITEM) {
+                if (ingredient.test(new ItemStack(item))) ids.add(BuiltInRegistries.ITEM.getId(item));
+            }
+        }
+        return ids.toIntArray();
+    }
+}
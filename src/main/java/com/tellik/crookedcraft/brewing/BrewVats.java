@@ -0,0 +1,212 @@
+package com.tellik.crookedcraft.brewing;
+
+import com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity;
+import com.tellik.crookedcraft.brewing.cauldron.BrewWaterCauldronBlock;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Multiblock brewing vats.
+ *
+ * A vat is a horizontally connected group (same Y) of full, idle brew water vessels. It forms on its own once
+ * VAT_MIN_SIZE..VAT_MAX_SIZE such vessels touch, and from then on shares ONE VesselState (owned by the controller,
+ * the smallest pos key):
+ * - one heat aggregation over every block underneath (refreshed every VAT_REFRESH_TICKS, not per tick)
+ * - one thermal model: target/rate are the per-block average, so the whole thermal mass has to be heated
+ *   (a single fire under a 16-block vat won't boil it)
+ * - one ingredient matcher: a single recipe's worth of ingredients brews every level of every block,
+ *   so output scales with volume (16 blocks x 3 levels = 48 bottles from one ingredient set)
+ *
+ * Members have no VesselState and are not iterated by the tick loop; BrewingVesselData redirects lookups
+ * for them to the controller. Bottling any block drains that block; an emptied block leaves the vat.
+ *
+ * Lifecycle:
+ * - a broken member just leaves; below VAT_MIN_SIZE the vat splits back into single vessels
+ * - a thermal transform on the controller splits the vat (each block keeps a copy of the brew and temperature,
+ *   and then transforms on its own)
+ */
+public final class BrewVats {
+
+    public static final int VAT_MIN_SIZE = 4;
+    public static final int VAT_MAX_SIZE = 64;
+
+    /** How often (ticks) a vat re-validates its blocks and re-aggregates heat. */
+    public static final int VAT_REFRESH_TICKS = 20;
+
+    /** How often (ticks) a full, idle single vessel looks for neighbours to form a vat with. */
+    public static final int FORMATION_INTERVAL_TICKS = 40;
+
+    private static final int FULL_LEVEL = 3;
+
+    private BrewVats() {}
+
+    // -------------------------------------------------------------------------
+    // Formation
+    // -------------------------------------------------------------------------
+
+    /** Staggered by position, like BrewVesselAutomation#isIntakeTick. */
+    public static boolean isFormationTick(long gameTime, long posLong) {
+        return Math.floorMod(gameTime + (posLong ^ (posLong >>> 32)), FORMATION_INTERVAL_TICKS) == 0;
+    }
+
+    /** Nothing has been put in yet (no ingredients, result, failure or solid), so merging loses nothing. */
+    public static boolean isIdle(BrewingVesselData.VesselState v) {
+        return v == null
+                || (!v.doomed
+                && !v.hasMatch()
+                && v.ingredients.isEmpty()
+                && !v.hasSolid());
+    }
+
+    /**
+     * Flood-fill from pos over qualifying neighbours and form a vat if the group size is in range.
+     *
+     * IMPORTANT: mutates the vessel map; never call while iterating it (the tick loop defers this).
+     *
+     * @return true if a vat was formed
+     */
+    public static boolean tryForm(ServerLevel level, BrewingVesselData data, BlockPos pos) {
+        if (!isCandidate(level, data, pos)) return false;
+
+        LongArrayList members = new LongArrayList();
+        LongOpenHashSet seen = new LongOpenHashSet();
+        ArrayDeque<BlockPos> queue = new ArrayDeque<>();
+
+        seen.add(pos.asLong());
+        members.add(pos.asLong());
+        queue.add(pos);
+
+        while (!queue.isEmpty()) {
+            BlockPos p = queue.poll();
+            for (Direction d : Direction.Plane.HORIZONTAL) {
+                BlockPos n = p.relative(d);
+                if (!seen.add(n.asLong())) continue;
+                if (!level.isLoaded(n) || !isCandidate(level, data, n)) continue;
+
+                members.add(n.asLong());
+                // Too big: refuse rather than carve an arbitrary 64-block piece out of a bigger pool.
+                if (members.size() > VAT_MAX_SIZE) return false;
+                queue.add(n);
+            }
+        }
+
+        if (members.size() < VAT_MIN_SIZE) return false;
+
+        // Shared temperature starts at the average of what the blocks already had.
+        double sum = 0.0;
+        int known = 0;
+        for (long m : members) {
+            BrewingVesselData.VesselState s = data.getStateIfTracked(m);
+            if (s != null && !Float.isNaN(s.tempC)) {
+                sum += s.tempC;
+                known++;
+            }
+        }
+
+        BrewingVesselData.VesselState vat = new BrewingVesselData.VesselState();
+        if (known > 0) {
+            vat.tempC = (float) (sum / known);
+            vat.lastTempC = vat.tempC;
+        }
+
+        data.formVat(members.toLongArray(), vat);
+        level.playSound(null, pos, SoundEvents.BUCKET_FILL, SoundSource.BLOCKS, 0.6f, 0.7f);
+        return true;
+    }
+
+    private static boolean isCandidate(ServerLevel level, BrewingVesselData data, BlockPos pos) {
+        BlockState state = level.getBlockState(pos);
+        if (!(state.getBlock() instanceof BrewWaterCauldronBlock)) return false;
+        if (BrewingForgeEvents.getCauldronLevel(state) != FULL_LEVEL) return false;
+
+        long key = pos.asLong();
+        if (data.isInVat(key)) return false;
+        if (!isIdle(data.getStateIfTracked(key))) return false;
+
+        BlockEntity be = level.getBlockEntity(pos);
+        return !(be instanceof BrewVesselBlockEntity vessel) || vessel.getSolidBlockId() == null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Per-tick support (controller only)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Aggregated heat for the vat, recomputed at most every VAT_REFRESH_TICKS.
+     * The same pass drops members whose block is gone; a vat that falls below VAT_MIN_SIZE is queued for splitting.
+     *
+     * @param deferred work to run after the tick loop finishes iterating
+     * @return averaged heat profile, or null if no block is heated
+     */
+    public static HeatSourceManager.HeatProfile refresh(ServerLevel level,
+                                                        BrewingVesselData data,
+                                                        long controller,
+                                                        BrewingVesselData.VesselState v,
+                                                        List<Runnable> deferred) {
+        long now = level.getGameTime();
+        if (v.vatCheckedAt != Long.MIN_VALUE && now - v.vatCheckedAt < VAT_REFRESH_TICKS) return v.vatHeat;
+        v.vatCheckedAt = now;
+
+        float ambientC = BrewingForgeEvents.getAmbientTempC(level, BlockPos.of(controller));
+
+        double sumMax = 0.0;
+        double sumRate = 0.0;
+        int counted = 0;
+        int heated = 0;
+
+        for (long m : v.vatMembers) {
+            BlockPos mp = BlockPos.of(m);
+            if (!level.isLoaded(mp)) continue;
+
+            if (m != controller && !(level.getBlockState(mp).getBlock() instanceof BrewWaterCauldronBlock)) {
+                if (data.dropVatMember(controller, m) < VAT_MIN_SIZE) {
+                    deferred.add(() -> data.dissolveVat(controller, v));
+                }
+                continue;
+            }
+
+            counted++;
+            HeatSourceManager.HeatProfile p = HeatSourceManager.getHeatProfile(level, mp);
+            if (p != null) {
+                heated++;
+                sumMax += p.maxTempC();
+                sumRate += p.heatPerTickC();
+            } else {
+                // Unheated blocks hold the average back toward ambient.
+                sumMax += ambientC;
+            }
+        }
+
+        v.vatHeat = (heated > 0 && counted > 0)
+                ? new HeatSourceManager.HeatProfile((float) (sumMax / counted), (float) (sumRate / counted))
+                : null;
+        return v.vatHeat;
+    }
+
+    /**
+     * Mirror the controller's brew state / boiling flag onto every member block.
+     * Only walks the members when that visual state actually changed.
+     */
+    public static void syncMembers(ServerLevel level, long controller, BrewingVesselData.VesselState v) {
+        int key = (v.doomed ? 4 : (v.hasMatch() ? 2 : 0)) | (v.boiling ? 1 : 0);
+        if (key == v.vatVisualKey) return;
+        v.vatVisualKey = key;
+
+        for (long m : v.vatMembers) {
+            if (m == controller) continue;
+            BlockPos mp = BlockPos.of(m);
+            if (!level.isLoaded(mp)) continue;
+            BrewingForgeEvents.syncBrewVisualsIfNeeded(level, mp, level.getBlockState(mp), v);
+        }
+    }
+}
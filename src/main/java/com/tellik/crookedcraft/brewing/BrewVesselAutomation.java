@@ -0,0 +1,395 @@
+package com.tellik.crookedcraft.brewing;
+
+import com.tellik.crookedcraft.brewing.cauldron.BrewLavaCauldronBlock;
+import com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity;
+import com.tellik.crookedcraft.brewing.cauldron.BrewWaterCauldronBlock;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.BlockStateProperties;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.material.Fluids;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidType;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Server-side vessel operations for automation (item/fluid capabilities, hoppers, pipes).
+ *
+ * Mirrors the right-click rules in BrewingForgeEvents so automated and manual brewing can't diverge:
+ * - ingredients only go into boiling water that is neither doomed nor complete
+ * - extraction yields the matched result (or black sludge when doomed), one level per container
+ * - vat members act on the vat's shared state (see BrewVats); each block still drains its own levels
+ * - fluid transfer only moves plain fluid (never a brew in progress) and never voids an inserted solid
+ */
+public final class BrewVesselAutomation {
+
+    private BrewVesselAutomation() {}
+
+    // -------------------------------------------------------------------------
+    // Ingredients
+    // -------------------------------------------------------------------------
+
+    /**
+     * Feed up to stack.getCount() units through the matcher in one batch.
+     * @return number of units consumed (0 = rejected). Never mutates the passed stack.
+     */
+    public static int insertIngredients(ServerLevel level, BlockPos pos, ItemStack stack, boolean simulate) {
+        if (stack.isEmpty()) return 0;
+
+        BlockState state = level.getBlockState(pos);
+        if (!(state.getBlock() instanceof BrewWaterCauldronBlock)) return 0;
+        if (BrewingForgeEvents.getCauldronLevel(state) <= 0) return 0;
+
+        long posLong = pos.asLong();
+        BrewingVesselData data = BrewingVesselData.get(level);
+        BrewingVesselData.VesselState v = data.getStateIfTracked(posLong);
+        if (!isActivelyBrewing(v)) return 0;
+
+        BrewingMatcher.BatchResult res = BrewingMatcher.tryAddIngredients(
+                level,
+                BrewingMatcher.WATER_LIQUID,
+                v.ingredients,
+                stack.getItem(),
+                stack.getCount()
+        );
+
+        if (res.accepted <= 0 || simulate) return res.accepted;
+
+        BrewingForgeEvents.recordIngredient(v, stack.getItem(), res.accepted);
+
+        if (res.last.outcome == BrewingMatcher.AddOutcome.DOOMED) {
+            v.doomed = true;
+            v.matchedRecipeId = BrewRecipeCache.NO_RECIPE;
+            level.playSound(null, pos, SoundEvents.GENERIC_EXTINGUISH_FIRE, SoundSource.BLOCKS, 0.6f, 0.8f);
+        } else if (res.last.outcome == BrewingMatcher.AddOutcome.READY) {
+            v.matchedRecipeId = res.last.matchedRecipeId;
+            level.playSound(null, pos, SoundEvents.BREWING_STAND_BREW, SoundSource.BLOCKS, 0.7f, 1.2f);
+        }
+
+        data.setDirty();
+        BrewingForgeEvents.syncBrewVisualsIfNeeded(level, pos, state, v);
+        return res.accepted;
+    }
+
+    // -------------------------------------------------------------------------
+    // Item-entity intake (thrown ingredients)
+    // -------------------------------------------------------------------------
+
+    /** How often (ticks) an actively brewing vessel sweeps item entities resting in it. */
+    public static final int INTAKE_INTERVAL_TICKS = 10;
+
+    /**
+     * True on this vessel's intake tick. Staggered by position so a hall of vessels doesn't all sweep on the same tick.
+     */
+    public static boolean isIntakeTick(long gameTime, long posLong) {
+        return Math.floorMod(gameTime + (posLong ^ (posLong >>> 32)), INTAKE_INTERVAL_TICKS) == 0;
+    }
+
+    /**
+     * Gather every item entity inside the vessel and feed whole stacks through the matcher, oldest arrival first.
+     * Item entities are otherwise left alone (no per-collision work, no persistent-data writes).
+     *
+     * For a vat controller this sweeps the whole vat with a single entity query.
+     */
+    public static void processItemIntake(ServerLevel level, BlockPos pos) {
+        BrewingVesselData data = BrewingVesselData.get(level);
+        long posLong = pos.asLong();
+        BrewingVesselData.VesselState v = data.getStateIfTracked(posLong);
+
+        AABB box = (v != null && v.isVat()) ? vatBounds(v.vatMembers) : new AABB(pos);
+
+        List<ItemEntity> queue = level.getEntitiesOfClass(ItemEntity.class, box, ItemEntity::isAlive);
+        if (queue.isEmpty()) return;
+
+        // Oldest entity first = the order players tossed them in.
+        queue.sort(Comparator.comparingInt(ItemEntity::getAge).reversed());
+
+        for (ItemEntity itemEntity : queue) {
+            ItemStack stack = itemEntity.getItem();
+            if (stack.isEmpty()) continue;
+
+            // The vat's bounding box can cover non-member blocks (L shapes etc); only feed items inside a member.
+            BlockPos at = pos;
+            if (v != null && v.isVat()) {
+                at = itemEntity.blockPosition();
+                if (data.resolveKey(at.asLong()) != posLong) continue;
+            }
+
+            int consumed = insertIngredients(level, at, stack, false);
+            if (consumed > 0) {
+                ItemStack rest = stack.copy();
+                rest.shrink(consumed);
+                if (rest.isEmpty()) {
+                    itemEntity.discard();
+                } else {
+                    itemEntity.setItem(rest);
+                }
+            }
+
+            // Done as soon as the brew completes or fails; leftovers stay floating for the player to fish out.
+            if (!isActivelyBrewing(data.getStateIfTracked(posLong))) return;
+        }
+    }
+
+    private static AABB vatBounds(long[] members) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (long m : members) {
+            int x = BlockPos.getX(m), y = BlockPos.getY(m), z = BlockPos.getZ(m);
+            minX = Math.min(minX, x); minY = Math.min(minY, y); minZ = Math.min(minZ, z);
+            maxX = Math.max(maxX, x); maxY = Math.max(maxY, y); maxZ = Math.max(maxZ, z);
+        }
+        return new AABB(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1);
+    }
+
+    public static boolean isActivelyBrewing(BrewingVesselData.VesselState v) {
+        return v != null && v.boiling && !v.doomed && !v.hasMatch();
+    }
+
+    // -------------------------------------------------------------------------
+    // Extraction
+    // -------------------------------------------------------------------------
+
+    /**
+     * A filled-container batch: count copies of each. each is a fresh single item; copy it when handing out more than one.
+     */
+    public record Batch(ItemStack each, int count) {}
+
+    /**
+     * What extractBrews would currently yield for up to maxContainers containers (count included), without side effects.
+     */
+    public static ItemStack previewBrews(ServerLevel level, BlockPos pos, int maxContainers) {
+        return extractBrews(level, pos, maxContainers, true);
+    }
+
+    /**
+     * Item-handler form of bottle(): capped to one result stack, since a handler slot can't return more.
+     */
+    public static ItemStack extractBrews(ServerLevel level, BlockPos pos, int maxContainers, boolean simulate) {
+        Batch probe = bottle(level, pos, maxContainers, true);
+        if (probe == null) return ItemStack.EMPTY;
+
+        int n = Math.min(probe.count(), probe.each().getMaxStackSize());
+        Batch batch = simulate ? probe : bottle(level, pos, n, false);
+        if (batch == null) return ItemStack.EMPTY;
+
+        ItemStack out = batch.each().copy();
+        out.setCount(Math.min(n, batch.count()));
+        return out;
+    }
+
+    /**
+     * Fill up to maxContainers containers from a complete (or doomed) water vessel, in one batch.
+     * Each filled container drains one level; all levels are drained with a single block update, and an
+     * emptied vessel turns back into an empty brew cauldron and is untracked.
+     *
+     * Shared by player bottling, the item capability and dispensers.
+     *
+     * @return the filled batch, or null if this vessel has nothing to bottle (not water, not ready, recipe gone).
+     */
+    public static Batch bottle(ServerLevel level, BlockPos pos, int maxContainers, boolean simulate) {
+        if (maxContainers <= 0) return null;
+
+        BlockState state = level.getBlockState(pos);
+        if (!(state.getBlock() instanceof BrewWaterCauldronBlock)) return null;
+
+        int cauldronLevel = BrewingForgeEvents.getCauldronLevel(state);
+        if (cauldronLevel <= 0) return null;
+
+        long posLong = pos.asLong();
+        BrewingVesselData data = BrewingVesselData.get(level);
+        BrewingVesselData.VesselState v = data.getStateIfTracked(posLong);
+        if (v == null) return null;
+
+        ItemStack each;
+        if (v.doomed) {
+            each = new ItemStack(ModBrewingItems.BLACK_SLUDGE.get());
+        } else {
+            BrewRecipeCache.CompiledRecipe recipe = BrewRecipeCache.resolve(level, v);
+            if (recipe == null) return null;
+            each = recipe.createResult();
+        }
+        if (each.isEmpty()) return null;
+
+        int n = Math.min(maxContainers, cauldronLevel);
+        if (simulate) return new Batch(each, n);
+
+        boolean doomed = v.doomed;
+        BrewingForgeEvents.drainLevels(level, pos, state, cauldronLevel, n, data, posLong);
+        level.playSound(null, pos, SoundEvents.BOTTLE_FILL, SoundSource.BLOCKS, 0.7f, doomed ? 0.8f : 1.0f);
+        return new Batch(each, n);
+    }
+
+    // -------------------------------------------------------------------------
+    // Fluids (IFluidHandler)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Water maps to the three cauldron levels; a full cauldron is exactly one bucket.
+     * (333 mB per level, with the last level rounding up so 3 levels == 1000 mB.)
+     */
+    public static int waterMbForLevels(int levels) {
+        if (levels >= 3) return FluidType.BUCKET_VOLUME;
+        return Math.max(0, levels) * (FluidType.BUCKET_VOLUME / 3);
+    }
+
+    /** Plain fluid currently held by the vessel (EMPTY for brews in progress, empty vessels, powder snow). */
+    public static FluidStack getFluid(ServerLevel level, BlockPos pos) {
+        BlockState state = level.getBlockState(pos);
+
+        if (state.getBlock() instanceof BrewLavaCauldronBlock) {
+            return new FluidStack(Fluids.LAVA, FluidType.BUCKET_VOLUME);
+        }
+
+        if (state.getBlock() instanceof BrewWaterCauldronBlock) {
+            if (!isPlainFluid(BrewingVesselData.get(level).getStateIfTracked(pos.asLong()))) return FluidStack.EMPTY;
+            return new FluidStack(Fluids.WATER, waterMbForLevels(BrewingForgeEvents.getCauldronLevel(state)));
+        }
+
+        return FluidStack.EMPTY;
+    }
+
+    /**
+     * Fill from a fluid network. Only whole levels are accepted (partial mB is left in the pipe).
+     * - empty vessel: water by level, lava by whole bucket; thermals start from the fluid's baseline
+     * - water top-off: temperature mixes by volume with incoming ambient-temperature water
+     * One setBlock (flag 3) per call.
+     *
+     * @return mB accepted
+     */
+    public static int fillFluid(ServerLevel level, BlockPos pos, FluidStack resource, boolean simulate) {
+        if (resource.isEmpty()) return 0;
+
+        Fluid fluid = resource.getFluid();
+        boolean water = fluid.isSame(Fluids.WATER);
+        boolean lava = fluid.isSame(Fluids.LAVA);
+        if (!water && !lava) return 0;
+
+        BlockState state = level.getBlockState(pos);
+        boolean empty = state.is(ModBrewingBlocks.BREW_CAULDRON.get());
+        boolean isWater = state.getBlock() instanceof BrewWaterCauldronBlock;
+        if (!empty && !(water && isWater)) return 0;
+
+        long posLong = pos.asLong();
+        BrewingVesselData data = BrewingVesselData.get(level);
+
+        if (empty) {
+            // Bucket fills clear inserted solids; a pipe silently voiding someone's obsidian isn't acceptable.
+            if (level.getBlockEntity(pos) instanceof BrewVesselBlockEntity be && be.hasSolid()) return 0;
+
+            BlockState target;
+            int accepted;
+            if (lava) {
+                if (resource.getAmount() < FluidType.BUCKET_VOLUME) return 0;
+                target = ModBrewingBlocks.BREW_LAVA_CAULDRON.get().defaultBlockState();
+                accepted = FluidType.BUCKET_VOLUME;
+            } else {
+                int levels = levelsFillable(0, resource.getAmount());
+                if (levels <= 0) return 0;
+                target = ModBrewingBlocks.BREW_WATER_CAULDRON.get().defaultBlockState()
+                        .setValue(BlockStateProperties.LEVEL_CAULDRON, levels);
+                accepted = waterMbForLevels(levels);
+            }
+
+            if (simulate) return accepted;
+
+            data.ensureTracked(posLong);
+            BrewingVesselData.VesselState v = data.getTrackedState(posLong);
+            v.clearAll();
+            BrewingForgeEvents.resetThermalBaseline(level, pos, v, target);
+
+            level.setBlock(pos, target, 3);
+            data.setDirty();
+            return accepted;
+        }
+
+        // Water top-off
+        BrewingVesselData.VesselState v = data.getStateIfTracked(posLong);
+        if (!isPlainFluid(v)) return 0;
+
+        int current = BrewingForgeEvents.getCauldronLevel(state);
+        int levels = levelsFillable(current, resource.getAmount());
+        if (levels <= 0) return 0;
+
+        int accepted = waterMbForLevels(current + levels) - waterMbForLevels(current);
+        if (simulate) return accepted;
+
+        if (v == null) {
+            data.ensureTracked(posLong);
+            v = data.getTrackedState(posLong);
+        }
+
+        float incoming = BrewingForgeEvents.getAmbientTempC(level, pos);
+        if (Float.isNaN(v.tempC)) {
+            v.tempC = incoming;
+        } else {
+            // A vat member mixes into the whole vat's volume, not just this block.
+            float held = v.isVat() ? v.vatSize() * 3.0f : current;
+            v.tempC = (v.tempC * held + incoming * levels) / (held + levels);
+        }
+        v.lastTempC = v.tempC;
+
+        level.setBlock(pos, state.setValue(BlockStateProperties.LEVEL_CAULDRON, current + levels), 3);
+        data.setDirty();
+        return accepted;
+    }
+
+    /**
+     * Drain plain fluid into a network. Water drains by whole levels, lava by whole bucket.
+     * Emptying the vessel turns it back into an empty brew cauldron and untracks it (single block update).
+     */
+    public static FluidStack drainFluid(ServerLevel level, BlockPos pos, int maxDrain, boolean simulate) {
+        if (maxDrain <= 0) return FluidStack.EMPTY;
+
+        BlockState state = level.getBlockState(pos);
+        long posLong = pos.asLong();
+        BrewingVesselData data = BrewingVesselData.get(level);
+
+        if (state.getBlock() instanceof BrewLavaCauldronBlock) {
+            if (maxDrain < FluidType.BUCKET_VOLUME) return FluidStack.EMPTY;
+            if (!simulate) {
+                level.setBlock(pos, ModBrewingBlocks.BREW_CAULDRON.get().defaultBlockState(), 3);
+                data.untrack(posLong);
+            }
+            return new FluidStack(Fluids.LAVA, FluidType.BUCKET_VOLUME);
+        }
+
+        if (!(state.getBlock() instanceof BrewWaterCauldronBlock)) return FluidStack.EMPTY;
+        if (!isPlainFluid(data.getStateIfTracked(posLong))) return FluidStack.EMPTY;
+
+        int current = BrewingForgeEvents.getCauldronLevel(state);
+        int levels = 0;
+        while (levels < current && waterMbForLevels(current) - waterMbForLevels(current - levels - 1) <= maxDrain) {
+            levels++;
+        }
+        if (levels <= 0) return FluidStack.EMPTY;
+
+        int drained = waterMbForLevels(current) - waterMbForLevels(current - levels);
+        if (!simulate) {
+            BrewingForgeEvents.drainLevels(level, pos, state, current, levels, data, posLong);
+        }
+        return new FluidStack(Fluids.WATER, drained);
+    }
+
+    private static int levelsFillable(int currentLevels, int amountMb) {
+        int levels = 0;
+        while (currentLevels + levels < 3
+                && waterMbForLevels(currentLevels + levels + 1) - waterMbForLevels(currentLevels) <= amountMb) {
+            levels++;
+        }
+        return levels;
+    }
+
+    /** Nothing brewing in it (no ingredients, not doomed, not complete). Untracked counts as plain. */
+    private static boolean isPlainFluid(BrewingVesselData.VesselState v) {
+        return v == null || (!v.doomed && !v.hasMatch() && v.ingredients.isEmpty());
+    }
+}
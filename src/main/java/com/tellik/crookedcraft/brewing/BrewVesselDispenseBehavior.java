@@ -0,0 +1,169 @@
+package com.tellik.crookedcraft.brewing;
+
+import com.mojang.logging.LogUtils;
+import com.tellik.crookedcraft.brewing.cauldron.BrewWaterCauldronBlock;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.BlockSource;
+import net.minecraft.core.Direction;
+import net.minecraft.core.dispenser.DefaultDispenseItemBehavior;
+import net.minecraft.core.dispenser.DispenseItemBehavior;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.DispenserBlock;
+import net.minecraft.world.level.block.entity.DispenserBlockEntity;
+import net.minecraft.world.level.gameevent.GameEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Dispenser support for brew vessels: a dispenser holding BREW_CONTAINERS facing a complete (or doomed)
+ * water vessel fills as many containers as the vessel has levels, in one batch.
+ *
+ * Like CauldronInteractionShim, this WRAPS whatever behavior was registered for the container item,
+ * so anything that isn't a brew vessel (vanilla water-source bottling, other mods) keeps working.
+ *
+ * Installed once at common setup for glass bottles, and again after every tag load for whatever
+ * BREW_CONTAINERS currently contains (idempotent).
+ */
+@Mod.EventBusSubscriber(modid = "crookedcraft", bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class BrewVesselDispenseBehavior implements DispenseItemBehavior {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static Method getDispenseMethod;
+    private static boolean lookupFailed = false;
+
+    private final DispenseItemBehavior original;
+
+    private BrewVesselDispenseBehavior(DispenseItemBehavior original) {
+        this.original = original;
+    }
+
+    // -------------------------------------------------------------------------
+    // Install
+    // -------------------------------------------------------------------------
+
+    public static void install() {
+        int wrapped = 0;
+        for (var holder : BuiltInRegistries.ITEM.getTagOrEmpty(ModTags.Items.BREW_CONTAINERS)) {
+            wrapped += wrap(holder.value());
+        }
+        // Tags aren't bound yet at common setup; glass bottles are the default container, so cover them up front.
+        wrapped += wrap(Items.GLASS_BOTTLE);
+
+        if (wrapped > 0) {
+            LOGGER.info("[crookedcraft] Brew vessel dispenser behavior installed. Wrapped {} item(s).", wrapped);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        if (event.getUpdateCause() != TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD) return;
+        install();
+    }
+
+    private static int wrap(Item item) {
+        DispenseItemBehavior current = currentBehavior(item);
+        if (current instanceof BrewVesselDispenseBehavior) return 0;
+
+        DispenserBlock.registerBehavior(item, new BrewVesselDispenseBehavior(current));
+        return 1;
+    }
+
+    /**
+     * The behavior currently registered for item.
+     *
+     * DISPENSER_REGISTRY is private, but DispenserBlock#getDispenseMethod(ItemStack) reads it. We find that method
+     * by signature (not name) so this survives mapping differences between dev and production.
+     */
+    private static DispenseItemBehavior currentBehavior(Item item) {
+        Method m = findGetDispenseMethod();
+        if (m != null) {
+            try {
+                Object result = m.invoke(Blocks.DISPENSER, new ItemStack(item));
+                if (result instanceof DispenseItemBehavior behavior) return behavior;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.warn("[crookedcraft] Could not read dispenser behavior for {}: {}", item, e.toString());
+            }
+        }
+        return new DefaultDispenseItemBehavior();
+    }
+
+    private static Method findGetDispenseMethod() {
+        if (getDispenseMethod != null || lookupFailed) return getDispenseMethod;
+
+        for (Method m : DispenserBlock.class.getDeclaredMethods()) {
+            if (Modifier.isStatic(m.getModifiers())) continue;
+            if (m.getReturnType() != DispenseItemBehavior.class) continue;
+
+            Class<?>[] params = m.getParameterTypes();
+            if (params.length != 1 || params[0] != ItemStack.class) continue;
+
+            try {
+                m.setAccessible(true);
+                getDispenseMethod = m;
+                return m;
+            } catch (RuntimeException e) {
+                LOGGER.warn("[crookedcraft] Could not access {}: {}", m, e.toString());
+            }
+        }
+
+        lookupFailed = true;
+        LOGGER.warn("[crookedcraft] DispenserBlock behavior lookup not found. Wrapped items fall back to default dispensing.");
+        return null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Behavior
+    // -------------------------------------------------------------------------
+
+    @Override
+    public ItemStack dispense(BlockSource source, ItemStack stack) {
+        ServerLevel level = source.getLevel();
+        Direction facing = source.getBlockState().getValue(DispenserBlock.FACING);
+        BlockPos target = source.getPos().relative(facing);
+
+        if (!stack.is(ModTags.Items.BREW_CONTAINERS)
+                || !(level.getBlockState(target).getBlock() instanceof BrewWaterCauldronBlock)) {
+            return original.dispense(source, stack);
+        }
+
+        BrewVesselAutomation.Batch batch = BrewVesselAutomation.bottle(level, target, stack.getCount(), false);
+        if (batch == null) {
+            // Vessel isn't ready: behave like the item would anywhere else.
+            return original.dispense(source, stack);
+        }
+
+        stack.shrink(batch.count());
+        level.gameEvent(null, GameEvent.FLUID_PICKUP, target);
+
+        int toPlace = batch.count();
+        ItemStack returned = stack;
+
+        // Dispenser slot emptied: the first filled container takes its place (vanilla bottle behavior).
+        if (stack.isEmpty()) {
+            returned = batch.each().copy();
+            toPlace--;
+        }
+
+        DispenserBlockEntity dispenser = source.getEntity();
+        for (int i = 0; i < toPlace; i++) {
+            ItemStack filled = batch.each().copy();
+            // While the slot is still occupied addItem can't clobber it; once we return the filled item into
+            // that slot, extras must go to the world instead.
+            if (returned == stack && dispenser.addItem(filled) >= 0) continue;
+            DefaultDispenseItemBehavior.spawnItem(level, filled, 6, facing, DispenserBlock.getDispensePosition(source));
+        }
+
+        level.levelEvent(1000, source.getPos(), 0); // dispenser click
+        return returned;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tellik.crookedcraft.brewing;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.storage.LevelResource;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * On-disk layout of BrewingVesselData's per-region vessel files: one gzipped NBT file per 32x32-chunk region,
+ * <dimension>/data/crookedcraft_brewing/r.<x>.<z>.dat next to the level's other saved data.
+ *
+ * A region key is ChunkPos.asLong(regionX, regionZ). Server thread only.
+ */
+final class BrewVesselRegionFiles {
+    private static final String DIR_NAME = "crookedcraft_brewing";
+
+    private final Path dir;
+
+    private BrewVesselRegionFiles(Path dir) {
+        this.dir = dir;
+    }
+
+    static BrewVesselRegionFiles of(ServerLevel level) {
+        Path root = DimensionType.getStorageFolder(level.dimension(), level.getServer().getWorldPath(LevelResource.ROOT));
+        return new BrewVesselRegionFiles(root.resolve("data").resolve(DIR_NAME));
+    }
+
+    /** Files kept directly in dir (headless data, see BrewingVesselData#headless). */
+    static BrewVesselRegionFiles in(Path dir) {
+        return new BrewVesselRegionFiles(dir);
+    }
+
+    static long regionOf(long posLong) {
+        return ChunkPos.asLong(BlockPos.getX(posLong) >> 9, BlockPos.getZ(posLong) >> 9);
+    }
+
+    static long regionOf(ChunkPos chunk) {
+        return ChunkPos.asLong(chunk.x >> 5, chunk.z >> 5);
+    }
+
+    private Path file(long region) {
+        return dir.resolve("r." + ChunkPos.getX(region) + "." + ChunkPos.getZ(region) + ".dat");
+    }
+
+    /** Every region that has a file, from the directory itself. */
+    LongOpenHashSet list() throws IOException {
+        LongOpenHashSet regions = new LongOpenHashSet();
+        if (!Files.isDirectory(dir)) return regions;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "r.*.dat")) {
+            for (Path file : files) {
+                String[] parts = file.getFileName().toString().split("\\.");
+                if (parts.length != 4) continue;
+                try {
+                    regions.add(ChunkPos.asLong(Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+                } catch (NumberFormatException ignored) {
+                    // not one of ours
+                }
+            }
+        }
+        return regions;
+    }
+
+    /** @return the region's tag, or null if it has no file */
+    @Nullable
+    CompoundTag read(long region) throws IOException {
+        Path file = file(region);
+        return Files.exists(file) ? NbtIo.readCompressed(file.toFile()) : null;
+    }
+
+    /** Write through a temp file, so a crash mid-write leaves the previous file intact. */
+    void write(long region, CompoundTag tag) throws IOException {
+        Files.createDirectories(dir);
+        Path file = file(region);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        NbtIo.writeCompressed(tag, tmp.toFile());
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    void delete(long region) throws IOException {
+        Files.deleteIfExists(file(region));
+    }
+
+    @Override
+    public String toString() {
+        return dir.toString();
+    }
+}
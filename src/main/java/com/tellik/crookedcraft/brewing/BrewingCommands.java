@@ -0,0 +1,158 @@
+package com.tellik.crookedcraft.brewing;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.tellik.crookedcraft.Config;
+import com.tellik.crookedcraft.brewing.profile.BrewingProfiler;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * /crookedcraft admin commands (permission level 2).
+ *
+ * profile start [seconds] | stop | dump : sampling-window profiler for the brewing hot paths (BrewingProfiler).
+ * loadgen <count> [seed] | clear         : synthetic vessel grid + steady-state cost report (BrewLoadGenerator).
+ * sweep [now]                            : orphaned vessel sweeper status for this dimension, or start a pass (BrewOrphanSweeper).
+ */
+@Mod.EventBusSubscriber(modid = "crookedcraft", bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class BrewingCommands {
+
+    private BrewingCommands() {}
+
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        event.getDispatcher().register(Commands.literal("crookedcraft")
+                .requires(source -> source.hasPermission(2))
+                .then(profile())
+                .then(loadgen())
+                .then(sweep()));
+    }
+
+    // -------------------------------------------------------------------------
+    // profile
+    // -------------------------------------------------------------------------
+
+    private static LiteralArgumentBuilder<CommandSourceStack> profile() {
+        return Commands.literal("profile")
+                .then(Commands.literal("start")
+                        .executes(ctx -> profileStart(ctx, 0))
+                        .then(Commands.argument("seconds", IntegerArgumentType.integer(1, 3600))
+                                .executes(ctx -> profileStart(ctx, IntegerArgumentType.getInteger(ctx, "seconds")))))
+                .then(Commands.literal("stop").executes(BrewingCommands::profileStop))
+                .then(Commands.literal("dump").executes(BrewingCommands::profileDump));
+    }
+
+    private static int profileStart(CommandContext<CommandSourceStack> ctx, int seconds) {
+        boolean restarted = BrewingProfiler.isActive();
+        BrewingProfiler.begin(seconds * 20, ctx.getSource());
+
+        String window = seconds > 0 ? ("for " + seconds + "s") : "until /crookedcraft profile stop";
+        ctx.getSource().sendSuccess(() -> Component.literal(
+                (restarted ? "Brewing profiler restarted " : "Brewing profiler started ") + window + "."), true);
+        return 1;
+    }
+
+    private static int profileStop(CommandContext<CommandSourceStack> ctx) {
+        BrewingProfiler.Session s = BrewingProfiler.stop();
+        if (s == null) {
+            ctx.getSource().sendFailure(Component.literal("Brewing profiler isn't running."));
+            return 0;
+        }
+        BrewingProfiler.sendReport(ctx.getSource(), s);
+        return 1;
+    }
+
+    private static int profileDump(CommandContext<CommandSourceStack> ctx) {
+        BrewingProfiler.Session s = BrewingProfiler.current();
+        if (s == null) {
+            ctx.getSource().sendFailure(Component.literal("No brewing profile yet. Run /crookedcraft profile start first."));
+            return 0;
+        }
+
+        BrewingProfiler.sendReport(ctx.getSource(), s);
+
+        Path dir = ctx.getSource().getServer().getServerDirectory().toPath().resolve("crookedcraft").resolve("profiles");
+        try {
+            Path file = BrewingProfiler.dump(s, dir);
+            ctx.getSource().sendSuccess(() -> Component.literal("Wrote " + file), false);
+            return 1;
+        } catch (IOException e) {
+            ctx.getSource().sendFailure(Component.literal("Could not write brewing profile: " + e.getMessage()));
+            return 0;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // loadgen
+    // -------------------------------------------------------------------------
+
+    private static LiteralArgumentBuilder<CommandSourceStack> loadgen() {
+        return Commands.literal("loadgen")
+                .then(Commands.literal("clear").executes(BrewingCommands::loadgenClear))
+                .then(Commands.argument("count", IntegerArgumentType.integer(1, BrewLoadGenerator.MAX_COUNT))
+                        .executes(ctx -> loadgen(ctx, 0L))
+                        .then(Commands.argument("seed", LongArgumentType.longArg())
+                                .executes(ctx -> loadgen(ctx, LongArgumentType.getLong(ctx, "seed")))));
+    }
+
+    private static int loadgen(CommandContext<CommandSourceStack> ctx, long seed) {
+        CommandSourceStack source = ctx.getSource();
+        if (BrewingProfiler.isActive() || BrewLoadGenerator.isRunning()) {
+            source.sendFailure(Component.literal("A brewing profile or load run is already in progress."));
+            return 0;
+        }
+
+        int count = IntegerArgumentType.getInteger(ctx, "count");
+        int placed = BrewLoadGenerator.generate(source.getLevel(), BlockPos.containing(source.getPosition()), count, seed, source);
+        source.sendSuccess(() -> Component.literal("Placed " + placed + " brew vessels (seed " + seed
+                + "). Measuring; the report follows in ~15s."), true);
+        return placed;
+    }
+
+    private static int loadgenClear(CommandContext<CommandSourceStack> ctx) {
+        int removed = BrewLoadGenerator.clear();
+        if (removed == 0) {
+            ctx.getSource().sendFailure(Component.literal("No generated brewing load to clear."));
+            return 0;
+        }
+        ctx.getSource().sendSuccess(() -> Component.literal("Removed " + removed + " generated brew vessels."), true);
+        return removed;
+    }
+
+    // -------------------------------------------------------------------------
+    // sweep
+    // -------------------------------------------------------------------------
+
+    private static LiteralArgumentBuilder<CommandSourceStack> sweep() {
+        return Commands.literal("sweep")
+                .executes(BrewingCommands::sweepStatus)
+                .then(Commands.literal("now").executes(BrewingCommands::sweepNow));
+    }
+
+    private static int sweepStatus(CommandContext<CommandSourceStack> ctx) {
+        String line = BrewOrphanSweeper.describe(ctx.getSource().getLevel());
+        ctx.getSource().sendSuccess(() -> Component.literal(line), false);
+        return 1;
+    }
+
+    private static int sweepNow(CommandContext<CommandSourceStack> ctx) {
+        if (Config.orphanSweepChunksPerTick <= 0) {
+            ctx.getSource().sendFailure(Component.literal("Orphan sweeper is disabled (orphanSweepChunksPerTick = 0)."));
+            return 0;
+        }
+        BrewOrphanSweeper.requestPass(ctx.getSource().getLevel());
+        ctx.getSource().sendSuccess(() -> Component.literal(
+                "Orphan sweep requested; run /crookedcraft sweep for progress."), true);
+        return 1;
+    }
+}
@@ -0,0 +1,82 @@
+package com.tellik.crookedcraft.brewing;
+
+import com.tellik.crookedcraft.brewing.core.CoreRegistries;
+import com.tellik.crookedcraft.brewing.core.CoreWorld;
+import com.tellik.crookedcraft.brewing.core.HeatSources;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.Block;
+import net.minecraftforge.registries.ForgeRegistries;
+
+/**
+ * Forge implementations of the core interfaces (src/core): a ServerLevel as CoreWorld/HeatSources,
+ * and the game registries as CoreRegistries. BrewingForgeEvents' tick loop reads the world through of().
+ *
+ * Ids are the vanilla registry ids (BuiltInRegistries), which are dense and stable for a server run.
+ */
+public final class BrewingCoreBindings {
+
+    public static final CoreRegistries<ResourceLocation> REGISTRIES = new CoreRegistries<>() {
+        @Override
+        public int itemId(ResourceLocation key) {
+            return ForgeRegistries.ITEMS.containsKey(key)
+                    ? BuiltInRegistries.ITEM.getId(ForgeRegistries.ITEMS.getValue(key))
+                    : -1;
+        }
+
+        @Override
+        public int blockId(ResourceLocation key) {
+            return ForgeRegistries.BLOCKS.containsKey(key)
+                    ? BuiltInRegistries.BLOCK.getId(ForgeRegistries.BLOCKS.getValue(key))
+                    : -1;
+        }
+
+        @Override
+        public ResourceLocation itemKey(int id) {
+            // byId falls back to air for unknown ids; only a round trip proves id is real.
+            Item item = BuiltInRegistries.ITEM.byId(id);
+            return BuiltInRegistries.ITEM.getId(item) == id ? BuiltInRegistries.ITEM.getKey(item) : null;
+        }
+
+        @Override
+        public ResourceLocation blockKey(int id) {
+            Block block = BuiltInRegistries.BLOCK.byId(id);
+            return BuiltInRegistries.BLOCK.getId(block) == id ? BuiltInRegistries.BLOCK.getKey(block) : null;
+        }
+    };
+
+    private BrewingCoreBindings() {}
+
+    public static LevelBinding of(ServerLevel level) {
+        return new LevelBinding(level);
+    }
+
+    /** World + heat access for one level. Server thread only, like the level itself. */
+    public static final class LevelBinding implements CoreWorld, HeatSources {
+        private final ServerLevel level;
+        private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+        private LevelBinding(ServerLevel level) {
+            this.level = level;
+        }
+
+        @Override
+        public boolean isLoaded(long pos) {
+            return level.isLoaded(cursor.set(pos));
+        }
+
+        @Override
+        public float ambientC(long pos) {
+            return BrewingForgeEvents.getAmbientTempC(level, cursor.set(pos));
+        }
+
+        @Override
+        public HeatSourceManager.HeatProfile heatAt(long pos) {
+            // HeatSourceManager may keep the pos (HeatField caches by key), so hand it an immutable one.
+            return HeatSourceManager.getHeatProfile(level, BlockPos.of(pos));
+        }
+    }
+}
@@ -4,11 +4,13 @@ import com.tellik.crookedcraft.brewing.cauldron.BrewLavaCauldronBlock;
 import com.tellik.crookedcraft.brewing.cauldron.BrewPowderSnowCauldronBlock;
 import com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity;
 import com.tellik.crookedcraft.brewing.cauldron.BrewWaterCauldronBlock;
+import com.tellik.crookedcraft.brewing.core.ThermalStep;
 import com.tellik.crookedcraft.brewing.engine.BrewStatusFormatter;
+import com.tellik.crookedcraft.brewing.jfr.BrewTickEvent;
+import com.tellik.crookedcraft.brewing.profile.BrewingProfiler;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.cauldron.CauldronInteraction;
-import net.minecraft.core.particles.DustParticleOptions;
-import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
@@ -27,16 +29,19 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.OnDatapackSyncEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.items.ItemHandlerHelper;
 import net.minecraftforge.registries.ForgeRegistries;
-import org.joml.Vector3f;
 
-import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 @Mod.EventBusSubscriber(modid = "crookedcraft", bus = Mod.EventBusSubscriber.Bus.FORGE)
@@ -44,30 +49,7 @@ public final class BrewingForgeEvents {
 
     private static final String MSG_RUINED = "The brew is ruined. Discard it (sneak + empty hand).";
 
-    // -------------------------
-    // Thermal constants
-    // -------------------------
-    private static final float WATER_BOIL_C = 100.0f;
-    private static final float LAVA_BOIL_C  = 1000.0f;
-
-    // Passive drift rates (C/tick). 20 ticks/sec.
-    private static final float DRIFT_WATER_C_PER_TICK = 0.04f; // ~1.6C/sec
-    private static final float DRIFT_SNOW_C_PER_TICK  = 0.03f; // slightly faster so melting feels responsive
-    private static final float DRIFT_LAVA_C_PER_TICK  = 0.50f; // faster so lava->obsidian isn't "minutes"
-
-    private static final float DIRTY_EPS = 0.0005f;
-
-    // -------------------------------------------------------------------------
-    // VesselState reflection helpers (fallback only)
-    // -------------------------------------------------------------------------
-    private static final String[] SOLID_FIELD_CANDIDATES = new String[] {
-            "solidId",
-            "solidBlockId",
-            "solidItemId",
-            "insertedSolidId",
-            "insertedSolid",
-            "solid"
-    };
+    // Thermal constants/model live in core ThermalStep.
 
     private BrewingForgeEvents() {}
 
@@ -77,6 +59,28 @@ public final class BrewingForgeEvents {
         event.addListener(new ThermalTransformReloadListener());
     }
 
+    /**
+     * The recipe index can't be built in a reload listener's prepare phase: recipes are only parsed in
+     * RecipeManager's apply, and item tags are bound after every listener has run. Both are final by the time
+     * the server syncs the datapack (player == null means the whole list, i.e. after /reload), so that is where
+     * the reload is published (see BrewingRuntime).
+     */
+    @SubscribeEvent
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        if (event.getPlayer() != null) return;
+        BrewingRuntime.publishAfterReload(event.getPlayerList().getServer());
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        BrewingRuntime.publishNow(event.getServer());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        BrewingRuntime.reset();
+    }
+
     @SubscribeEvent
     public static void onRightClickCauldron(PlayerInteractEvent.RightClickBlock event) {
         Level level = event.getLevel();
@@ -190,6 +194,14 @@ public final class BrewingForgeEvents {
                     return;
                 }
 
+                // Vats share one state; a solid in one block would apply to all of them.
+                if (data.isInVat(posLong)) {
+                    player.displayClientMessage(Component.literal("Solids can't be added to a vat."), false);
+                    event.setCancellationResult(InteractionResult.SUCCESS);
+                    event.setCanceled(true);
+                    return;
+                }
+
                 // Basic gate: non-air
                 if (!ThermalTransformManager.canInsertSolid(serverLevel, pos, state, solidId)) {
                     event.setCancellationResult(InteractionResult.SUCCESS);
@@ -200,8 +212,8 @@ public final class BrewingForgeEvents {
                 // Write to BE (render source of truth)
                 setInsertedSolidOnBlockEntity(serverLevel, pos, solidId);
 
-                // Best-effort fallback to VesselState (if you later add the field)
-                setInsertedSolidId(v, solidId);
+                // Mirror into VesselState (what the tick loop and transforms read)
+                v.insertedSolidId = BuiltInRegistries.BLOCK.getId(bi.getBlock());
 
                 // Consume one
                 held.shrink(1);
@@ -217,56 +229,45 @@ public final class BrewingForgeEvents {
             // Not treated as a "solid insert" -> fall through to brewing/extraction logic
         }
 
-        // Keep tint synced (water only)
-        syncBrewTintIfNeeded(serverLevel, pos, state, v);
+        // Keep tint/boiling visuals synced (water only)
+        revalidateRecipe(serverLevel, v, data);
+        syncBrewVisualsIfNeeded(serverLevel, pos, state, v);
 
         // 3a) Bottling / extraction
         if (held.is(ModTags.Items.BREW_CONTAINERS)) {
 
             if (v.doomed) {
-                ItemStack out = new ItemStack(ModBrewingItems.BLACK_SLUDGE.get());
-                deliverResultLikeVanilla(player, InteractionHand.MAIN_HAND, held, out, serverLevel, pos);
-                serverLevel.playSound(null, pos, net.minecraft.sounds.SoundEvents.BOTTLE_FILL, SoundSource.BLOCKS, 0.7f, 0.8f);
-                applyBottleDrain(serverLevel, pos, state, cauldronLevel, data, posLong);
-
-                event.setCancellationResult(InteractionResult.SUCCESS);
-                event.setCanceled(true);
-                return;
-            }
+                BrewVesselAutomation.Batch batch = BrewVesselAutomation.bottle(serverLevel, pos, 1, false);
+                if (batch != null) {
+                    deliverResultLikeVanilla(player, InteractionHand.MAIN_HAND, held, batch.each(), serverLevel, pos);
+                }
 
-            if (v.matchedRecipeId == null) {
-                player.displayClientMessage(Component.literal("The brew is not ready."), false);
                 event.setCancellationResult(InteractionResult.SUCCESS);
                 event.setCanceled(true);
                 return;
             }
 
-            var opt = serverLevel.getRecipeManager().byKey(v.matchedRecipeId);
-            CauldronBrewRecipe recipe = (opt.isPresent() && opt.get() instanceof CauldronBrewRecipe r) ? r : null;
+            // Never null for a matched brew here: revalidateRecipe() above already doomed any the reload removed.
+            BrewRecipeCache.CompiledRecipe recipe = BrewRecipeCache.resolve(serverLevel, v);
 
             if (recipe == null) {
-                v.doomed = true;
-                v.matchedRecipeId = null;
-                data.setDirty();
-                syncBrewTintIfNeeded(serverLevel, pos, state, v);
-
-                player.displayClientMessage(Component.literal("Recipe missing after reload. The brew destabilizes and fails."), false);
+                player.displayClientMessage(Component.literal("The brew is not ready."), false);
                 event.setCancellationResult(InteractionResult.SUCCESS);
                 event.setCanceled(true);
                 return;
             }
 
-            ItemStack out = recipe.createResultStack();
-            if (out.isEmpty()) {
+            if (recipe.resultTemplate().isEmpty()) {
                 player.displayClientMessage(Component.literal("Brew result was empty (recipe bug)."), false);
                 event.setCancellationResult(InteractionResult.SUCCESS);
                 event.setCanceled(true);
                 return;
             }
 
-            deliverResultLikeVanilla(player, InteractionHand.MAIN_HAND, held, out, serverLevel, pos);
-            serverLevel.playSound(null, pos, net.minecraft.sounds.SoundEvents.BOTTLE_FILL, SoundSource.BLOCKS, 0.7f, 1.0f);
-            applyBottleDrain(serverLevel, pos, state, cauldronLevel, data, posLong);
+            BrewVesselAutomation.Batch batch = BrewVesselAutomation.bottle(serverLevel, pos, 1, false);
+            if (batch != null) {
+                deliverResultLikeVanilla(player, InteractionHand.MAIN_HAND, held, batch.each(), serverLevel, pos);
+            }
 
             event.setCancellationResult(InteractionResult.SUCCESS);
             event.setCanceled(true);
@@ -294,7 +295,7 @@ public final class BrewingForgeEvents {
             return;
         }
 
-        if (v.matchedRecipeId != null) {
+        if (v.hasMatch()) {
             player.displayClientMessage(Component.literal("The brew is complete. Bottle it first."), false);
             event.setCancellationResult(InteractionResult.SUCCESS);
             event.setCanceled(true);
@@ -336,9 +337,9 @@ public final class BrewingForgeEvents {
 
         if (res.outcome == BrewingMatcher.AddOutcome.DOOMED) {
             v.doomed = true;
-            v.matchedRecipeId = null;
+            v.matchedRecipeId = BrewRecipeCache.NO_RECIPE;
             data.setDirty();
-            syncBrewTintIfNeeded(serverLevel, pos, state, v);
+            syncBrewVisualsIfNeeded(serverLevel, pos, state, v);
 
             serverLevel.playSound(null, pos, net.minecraft.sounds.SoundEvents.GENERIC_EXTINGUISH_FIRE, SoundSource.BLOCKS, 0.6f, 0.8f);
             player.displayClientMessage(Component.literal("The brew curdles and fails."), false);
@@ -351,7 +352,7 @@ public final class BrewingForgeEvents {
         if (res.outcome == BrewingMatcher.AddOutcome.READY) {
             v.matchedRecipeId = res.matchedRecipeId;
             data.setDirty();
-            syncBrewTintIfNeeded(serverLevel, pos, state, v);
+            syncBrewVisualsIfNeeded(serverLevel, pos, state, v);
 
             serverLevel.playSound(null, pos, net.minecraft.sounds.SoundEvents.BREWING_STAND_BREW, SoundSource.BLOCKS, 0.7f, 1.2f);
             player.displayClientMessage(Component.literal("The brew is complete."), false);
@@ -376,7 +377,18 @@ public final class BrewingForgeEvents {
         if (event.phase != TickEvent.Phase.END) return;
         if (!(event.level instanceof ServerLevel serverLevel)) return;
 
+        long tickStart = BrewingProfiler.start();
+        BrewTickEvent jfr = new BrewTickEvent();
+        jfr.begin();
+        int iterated = 0;
+        int unloaded = 0;
+        int transforms = 0;
+
         BrewingVesselData data = BrewingVesselData.get(serverLevel);
+        BrewingCoreBindings.LevelBinding world = BrewingCoreBindings.of(serverLevel);
+
+        // Vat formation/splitting reshapes the vessel map, so it runs after iteration.
+        List<Runnable> deferred = new ArrayList<>();
 
         Iterator<Map.Entry<Long, BrewingVesselData.VesselState>> it = data.iterator();
         while (it.hasNext()) {
@@ -384,9 +396,17 @@ public final class BrewingForgeEvents {
             long posLong = entry.getKey();
             BrewingVesselData.VesselState v = entry.getValue();
 
-            BlockPos pos = BlockPos.of(posLong);
-            if (!serverLevel.isLoaded(pos)) continue;
+            BrewingProfiler.vesselIterated();
+            iterated++;
+            if (!world.isLoaded(posLong)) {
+                BrewingProfiler.vesselUnloaded();
+                unloaded++;
+                // Frozen while unloaded; its ramp must not replay through that time.
+                if (v.pause()) data.setDirty();
+                continue;
+            }
 
+            BlockPos pos = BlockPos.of(posLong);
             BlockState state = serverLevel.getBlockState(pos);
 
             boolean isWater = state.getBlock() instanceof BrewWaterCauldronBlock;
@@ -398,10 +418,12 @@ public final class BrewingForgeEvents {
             if (!isWater && !isLava && !isSnow && !isEmptyBrew) {
                 it.remove();
                 data.setDirty();
+                // Controller block gone: the rest of the vat carries on under its next member.
+                if (v.isVat()) deferred.add(() -> data.reattachVat(posLong, v));
                 continue;
             }
 
-            if (isEmptyBrew) {
+            if (isEmptyBrew && !v.hasSolid()) {
                 ResourceLocation solid = getInsertedSolidId(serverLevel, pos, v);
                 if (solid == null) {
                     // truly empty, no reason to track
@@ -412,118 +434,67 @@ public final class BrewingForgeEvents {
             }
 
             int cauldronLevel = getCauldronLevel(state);
+            int kind = isWater ? ThermalStep.KIND_WATER
+                    : isSnow ? ThermalStep.KIND_SNOW
+                    : isLava ? ThermalStep.KIND_LAVA
+                    : ThermalStep.KIND_EMPTY; // empty brew cauldron with inserted solid
 
             // Ambient temperature from biome (simple mapping).
-            float ambientC = getAmbientTempC(serverLevel, pos);
-
-            final float startTemp;
-            final float driftPerTick;
-
-            if (isWater) {
-                startTemp = ambientC;
-                driftPerTick = DRIFT_WATER_C_PER_TICK;
-            } else if (isSnow) {
-                // Powder snow starts cold, but drifts toward ambient (so it can melt in warm biomes).
-                startTemp = Math.min(0.0f, ambientC);
-                driftPerTick = DRIFT_SNOW_C_PER_TICK;
-            } else if (isLava) {
-                startTemp = LAVA_BOIL_C;
-                driftPerTick = DRIFT_LAVA_C_PER_TICK;
-            } else {
-                // empty brew cauldron with inserted solid
-                startTemp = ambientC;
-                driftPerTick = DRIFT_WATER_C_PER_TICK;
-            }
-
-            if (Float.isNaN(v.tempC)) {
-                v.tempC = startTemp;
-                v.lastTempC = startTemp;
-
-                v.boilProgress = 0;
-                v.boilTicksRequired = 0;
-                v.pendingFillTicks = 0;
-
-                data.setDirty();
-            }
-
-            float oldTemp = v.tempC;
+            float ambientC = world.ambientC(posLong);
             boolean wasBoiling = v.boiling;
 
-            HeatSourceManager.HeatProfile heat = HeatSourceManager.getHeatProfile(serverLevel, pos);
-
-            float strengthBonus = getStrengthBonus(cauldronLevel);
-            float speedBonus = getSpeedBonus(cauldronLevel);
-
-            float targetTemp = (heat != null)
-                    ? (heat.maxTempC() * strengthBonus)
-                    : ambientC;
+            // A vat heats as one body: aggregated over all of its blocks, no shallow-fill bonuses.
+            long t0 = BrewingProfiler.start();
+            HeatSourceManager.HeatProfile heat = v.isVat()
+                    ? BrewVats.refresh(serverLevel, data, posLong, v, deferred)
+                    : world.heatAt(posLong);
+            BrewingProfiler.end(BrewingProfiler.Stage.HEAT_LOOKUP, t0);
 
-            // Approach target temperature
-            if (heat != null) {
-                float step = heat.heatPerTickC() * speedBonus;
-
-                if (v.tempC < targetTemp) v.tempC = Math.min(v.tempC + step, targetTemp);
-                else if (v.tempC > targetTemp) v.tempC = Math.max(v.tempC - step, targetTemp);
-            } else {
-                // Passive drift toward ambient in BOTH directions
-                if (v.tempC < targetTemp) v.tempC = Math.min(v.tempC + driftPerTick, targetTemp);
-                else if (v.tempC > targetTemp) v.tempC = Math.max(v.tempC - driftPerTick, targetTemp);
-            }
+            // Approach target temperature (heat source, else passive drift toward ambient); also derives boiling.
+            // Only thermal phase changes are worth a save; a ramp in progress is not (see ThermalStep).
+            t0 = BrewingProfiler.start();
+            if (ThermalStep.tick(v, kind, cauldronLevel, v.isVat(), heat, ambientC, serverLevel.getGameTime())) data.setDirty();
+            BrewingProfiler.end(BrewingProfiler.Stage.THERMAL_STEP, t0);
 
             // Apply thermal transforms (includes reset_brew and solid clearing on block change)
-            if (ThermalTransformManager.tryApplyTransforms(serverLevel, pos, state, v, it, data)) {
+            t0 = BrewingProfiler.start();
+            boolean transformed = ThermalTransformManager.tryApplyTransforms(serverLevel, pos, state, v, it, data);
+            BrewingProfiler.end(BrewingProfiler.Stage.TRANSFORMS, t0);
+            if (transformed) {
+                transforms++;
+                // Split the vat; every block then transforms on its own from the shared temperature.
+                if (v.isVat()) deferred.add(() -> data.dissolveVat(posLong, v));
                 continue;
             }
 
-            // Derived boiling
-            if (isWater) {
-                boolean canBoil = (heat != null) && ((heat.maxTempC() * strengthBonus) >= WATER_BOIL_C);
-                v.boiling = canBoil && (v.tempC >= WATER_BOIL_C - 0.001f);
-            } else if (isLava) {
-                v.boiling = (v.tempC >= LAVA_BOIL_C - 0.001f);
-            } else {
-                v.boiling = false;
-            }
-
             if (isWater) {
-                syncBrewTintIfNeeded(serverLevel, pos, state, v);
-            }
+                revalidateRecipe(serverLevel, v, data);
 
-            // Water-only feedback
-            if (isWater && v.boiling) {
-                double x = pos.getX() + 0.5;
-                double y = pos.getY() + 0.9;
-                double z = pos.getZ() + 0.5;
+                t0 = BrewingProfiler.start();
+                syncBrewVisualsIfNeeded(serverLevel, pos, state, v);
+                if (v.isVat()) BrewVats.syncMembers(serverLevel, posLong, v);
+                BrewingProfiler.end(BrewingProfiler.Stage.TINT_SYNC, t0);
 
-                serverLevel.sendParticles(ParticleTypes.BUBBLE, x, y, z, 2, 0.15, 0.05, 0.15, 0.01);
-
-                if (!wasBoiling) {
-                    serverLevel.playSound(null, pos, net.minecraft.sounds.SoundEvents.BREWING_STAND_BREW, SoundSource.BLOCKS, 0.6f, 1.0f);
-                    serverLevel.sendParticles(ParticleTypes.BUBBLE_POP, x, y, z, 6, 0.20, 0.05, 0.20, 0.02);
+                // Thrown ingredients: one batched sweep per intake interval instead of per-collision work.
+                if (BrewVesselAutomation.isActivelyBrewing(v)
+                        && BrewVesselAutomation.isIntakeTick(serverLevel.getGameTime(), posLong)) {
+                    BrewVesselAutomation.processItemIntake(serverLevel, pos);
                 }
 
-                if (v.doomed) {
-                    serverLevel.sendParticles(ParticleTypes.SMOKE, x, y, z, 1, 0.12, 0.02, 0.12, 0.01);
-                } else if (v.matchedRecipeId != null) {
-                    var opt = serverLevel.getRecipeManager().byKey(v.matchedRecipeId);
-                    CauldronBrewRecipe recipe = (opt.isPresent() && opt.get() instanceof CauldronBrewRecipe r) ? r : null;
-
-                    if (recipe != null) {
-                        int color = net.minecraft.world.item.alchemy.PotionUtils.getColor(recipe.createResultStack());
-                        float rr = ((color >> 16) & 0xFF) / 255.0f;
-                        float gg = ((color >> 8) & 0xFF) / 255.0f;
-                        float bb = (color & 0xFF) / 255.0f;
-
-                        DustParticleOptions dust = new DustParticleOptions(new Vector3f(rr, gg, bb), 0.9f);
-                        serverLevel.sendParticles(dust, x, y, z, 1, 0.12, 0.02, 0.12, 0.01);
-                    }
+                if (!v.isVat()
+                        && cauldronLevel == 3
+                        && BrewVats.isIdle(v)
+                        && BrewVats.isFormationTick(serverLevel.getGameTime(), posLong)) {
+                    deferred.add(() -> BrewVats.tryForm(serverLevel, data, pos));
                 }
             }
 
-            boolean tempChanged = Math.abs(v.tempC - oldTemp) > DIRTY_EPS;
-            boolean boilChanged = (v.boiling != wasBoiling);
-
-            if (tempChanged || boilChanged) data.setDirty();
+            // Water-only feedback.
+            // Bubbles/smoke/dust are client-side (BrewWaterCauldronBlock#animateTick) and driven by the
+            // BOILING/BREW_STATE block-state sync above, so steady-state boiling costs zero packets.
+            if (isWater && v.boiling && !wasBoiling) {
+                serverLevel.playSound(null, pos, net.minecraft.sounds.SoundEvents.BREWING_STAND_BREW, SoundSource.BLOCKS, 0.6f, 1.0f);
+            }
 
             if (v.boilProgress != 0 || v.boilTicksRequired != 0) {
                 v.boilProgress = 0;
@@ -531,6 +502,26 @@ public final class BrewingForgeEvents {
                 data.setDirty();
             }
         }
+
+        for (Runnable r : deferred) r.run();
+
+        HeatSourceManager.Conduction conduction = HeatSourceManager.getConduction();
+        if (conduction.enabled()) {
+            BrewConduction.step(serverLevel, data, conduction.coefficient());
+        } else {
+            BrewConduction.detach(data);
+        }
+
+        BrewingProfiler.end(BrewingProfiler.Stage.LEVEL_TICK, tickStart);
+
+        jfr.end();
+        if (jfr.shouldCommit()) {
+            jfr.dimension = serverLevel.dimension().location().toString();
+            jfr.vessels = iterated;
+            jfr.unloaded = unloaded;
+            jfr.transforms = transforms;
+            jfr.commit();
+        }
     }
 
     // -------------------------------------------------------------------------
@@ -598,21 +589,7 @@ public final class BrewingForgeEvents {
     // Helpers / misc
     // -------------------------------------------------------------------------
 
-    /** Strength bonus affects max achievable temperature. */
-    private static float getStrengthBonus(int cauldronLevel) {
-        if (cauldronLevel == 1) return 1.25f;
-        if (cauldronLevel == 2) return 1.10f;
-        return 1.0f;
-    }
-
-    /** Speed bonus affects heating rate only. */
-    private static float getSpeedBonus(int cauldronLevel) {
-        if (cauldronLevel == 1) return 1.66f;
-        if (cauldronLevel == 2) return 1.33f;
-        return 1.0f;
-    }
-
-    private static int getCauldronLevel(BlockState state) {
+    static int getCauldronLevel(BlockState state) {
         if (state.hasProperty(LayeredCauldronBlock.LEVEL)) return state.getValue(LayeredCauldronBlock.LEVEL);
         if (state.hasProperty(BlockStateProperties.LEVEL_CAULDRON)) return state.getValue(BlockStateProperties.LEVEL_CAULDRON);
         return 3;
@@ -633,7 +610,7 @@ public final class BrewingForgeEvents {
      *   0.8 -> about +12C
      *   2.0 -> about +48C
      */
-    private static float getAmbientTempC(ServerLevel level, BlockPos pos) {
+    static float getAmbientTempC(ServerLevel level, BlockPos pos) {
         float t;
         try {
             t = level.getBiome(pos).value().getBaseTemperature();
@@ -673,7 +650,7 @@ public final class BrewingForgeEvents {
             ResourceLocation rl = b.getSolidBlockId();
             if (rl != null) return rl;
         }
-        return getInsertedSolidId(v);
+        return v.hasSolid() ? BrewingCoreBindings.REGISTRIES.blockKey(v.insertedSolidId) : null;
     }
 
     private static void setInsertedSolidOnBlockEntity(ServerLevel level, BlockPos pos, ResourceLocation solidId) {
@@ -740,36 +717,12 @@ public final class BrewingForgeEvents {
                 v.clearAll();
 
                 // CRITICAL: reset temp baseline here, because brew bucket fills do NOT go through CauldronInteraction maps.
-                if (target.getBlock() instanceof BrewWaterCauldronBlock) {
-                    float ambient = getAmbientTempC(level, pos);
-                    v.tempC = ambient;
-                    v.lastTempC = ambient;
-                } else if (target.getBlock() instanceof BrewPowderSnowCauldronBlock) {
-                    // Start cold so it doesn't instantly melt due to previous fluid's temp carrying over.
-                    v.tempC = -10.0f;
-                    v.lastTempC = -10.0f;
-                } else if (target.getBlock() instanceof BrewLavaCauldronBlock) {
-                    v.tempC = LAVA_BOIL_C;
-                    v.lastTempC = LAVA_BOIL_C;
-                } else {
-                    v.tempC = Float.NaN;
-                    v.lastTempC = Float.NaN;
-                }
+                resetThermalBaseline(level, pos, v, target);
 
             } else {
                 // Same-fluid bucket top-off: only initialize thermals if unknown.
                 if (Float.isNaN(v.tempC) || Float.isNaN(v.lastTempC)) {
-                    if (target.getBlock() instanceof BrewWaterCauldronBlock) {
-                        float ambient = getAmbientTempC(level, pos);
-                        v.tempC = ambient;
-                        v.lastTempC = ambient;
-                    } else if (target.getBlock() instanceof BrewPowderSnowCauldronBlock) {
-                        v.tempC = -10.0f;
-                        v.lastTempC = -10.0f;
-                    } else if (target.getBlock() instanceof BrewLavaCauldronBlock) {
-                        v.tempC = LAVA_BOIL_C;
-                        v.lastTempC = LAVA_BOIL_C;
-                    }
+                    resetThermalBaseline(level, pos, v, target);
                 }
             }
         }
@@ -798,6 +751,27 @@ public final class BrewingForgeEvents {
     }
 
 
+    /**
+     * Starting temperature for a freshly filled fluid (shared by bucket fills and the fluid capability).
+     * Water starts at ambient; powder snow starts cold so it doesn't instantly melt from the previous fluid's heat.
+     */
+    static void resetThermalBaseline(ServerLevel level, BlockPos pos, BrewingVesselData.VesselState v, BlockState target) {
+        if (target.getBlock() instanceof BrewWaterCauldronBlock) {
+            float ambient = getAmbientTempC(level, pos);
+            v.tempC = ambient;
+            v.lastTempC = ambient;
+        } else if (target.getBlock() instanceof BrewPowderSnowCauldronBlock) {
+            v.tempC = -10.0f;
+            v.lastTempC = -10.0f;
+        } else if (target.getBlock() instanceof BrewLavaCauldronBlock) {
+            v.tempC = ThermalStep.LAVA_BOIL_C;
+            v.lastTempC = ThermalStep.LAVA_BOIL_C;
+        } else {
+            v.tempC = Float.NaN;
+            v.lastTempC = Float.NaN;
+        }
+    }
+
     private static BlockState applyLevelIfPresent(BlockState state, int level) {
         int clamped = Math.max(1, Math.min(3, level));
 
@@ -810,72 +784,6 @@ public final class BrewingForgeEvents {
         return state;
     }
 
-    // -------------------------------------------------------------------------
-    // VesselState reflection (fallback)
-    // -------------------------------------------------------------------------
-    private static ResourceLocation getInsertedSolidId(Object vesselState) {
-        if (vesselState == null) return null;
-
-        for (String name : SOLID_FIELD_CANDIDATES) {
-            Object val = tryGetField(vesselState, name);
-            if (val == null) continue;
-
-            if (val instanceof ResourceLocation rl) return rl;
-            if (val instanceof String s) {
-                ResourceLocation rl = ResourceLocation.tryParse(s);
-                if (rl != null) return rl;
-            }
-        }
-
-        return null;
-    }
-
-    private static void setInsertedSolidId(Object vesselState, ResourceLocation solidId) {
-        if (vesselState == null || solidId == null) return;
-
-        for (String name : SOLID_FIELD_CANDIDATES) {
-            Field f = tryFindField(vesselState.getClass(), name);
-            if (f == null) continue;
-
-            try {
-                f.setAccessible(true);
-
-                Class<?> t = f.getType();
-                if (t == ResourceLocation.class) {
-                    f.set(vesselState, solidId);
-                    return;
-                }
-
-                if (t == String.class) {
-                    f.set(vesselState, solidId.toString());
-                    return;
-                }
-            } catch (Throwable ignored) {}
-        }
-    }
-
-    private static Object tryGetField(Object obj, String fieldName) {
-        Field f = tryFindField(obj.getClass(), fieldName);
-        if (f == null) return null;
-        try {
-            f.setAccessible(true);
-            return f.get(obj);
-        } catch (Throwable ignored) {
-            return null;
-        }
-    }
-
-    private static Field tryFindField(Class<?> cls, String fieldName) {
-        Class<?> c = cls;
-        while (c != null && c != Object.class) {
-            try {
-                return c.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException ignored) {}
-            c = c.getSuperclass();
-        }
-        return null;
-    }
-
     // -------------------------------------------------------------------------
     // Existing helpers from your file (unchanged)
     // -------------------------------------------------------------------------
@@ -912,8 +820,12 @@ public final class BrewingForgeEvents {
         player.containerMenu.broadcastChanges();
     }
 
-    private static void applyBottleDrain(ServerLevel level, BlockPos pos, BlockState state, int cauldronLevel, BrewingVesselData data, long posLong) {
-        int newLevel = Math.max(0, cauldronLevel - 1);
+    /**
+     * Remove count levels with a single block update; an emptied vessel becomes an empty brew cauldron and is untracked.
+     * Shared by bottling (BrewVesselAutomation#bottle) and fluid draining.
+     */
+    static void drainLevels(ServerLevel level, BlockPos pos, BlockState state, int cauldronLevel, int count, BrewingVesselData data, long posLong) {
+        int newLevel = Math.max(0, cauldronLevel - count);
 
         if (newLevel <= 0) {
             level.setBlock(pos, ModBrewingBlocks.BREW_CAULDRON.get().defaultBlockState(), 3);
@@ -924,25 +836,66 @@ public final class BrewingForgeEvents {
         }
     }
 
-    private static void syncBrewTintIfNeeded(ServerLevel level, BlockPos pos, BlockState state, BrewingVesselData.VesselState v) {
+    /**
+     * Pushes the visual-only parts of a water vessel (brew state, boiling flag, brew color) to clients.
+     * Only writes when something actually changed, so calling it every tick is cheap.
+     */
+    static void syncBrewVisualsIfNeeded(ServerLevel level, BlockPos pos, BlockState state, BrewingVesselData.VesselState v) {
         if (!(state.getBlock() instanceof BrewWaterCauldronBlock)) return;
         if (!state.hasProperty(BrewWaterCauldronBlock.BREW_STATE)) return;
 
         BrewWaterCauldronBlock.BrewState desired;
         if (v == null) desired = BrewWaterCauldronBlock.BrewState.NONE;
         else if (v.doomed) desired = BrewWaterCauldronBlock.BrewState.DOOMED;
-        else if (v.matchedRecipeId != null) desired = BrewWaterCauldronBlock.BrewState.COMPLETE;
+        else if (v.hasMatch()) desired = BrewWaterCauldronBlock.BrewState.COMPLETE;
         else desired = BrewWaterCauldronBlock.BrewState.NONE;
 
+        boolean desiredBoiling = v != null && v.boiling;
+
         BrewWaterCauldronBlock.BrewState current = state.getValue(BrewWaterCauldronBlock.BREW_STATE);
+        boolean currentBoiling = state.getValue(BrewWaterCauldronBlock.BOILING);
+        if (current == desired && currentBoiling == desiredBoiling) return;
+
         if (current != desired) {
-            level.setBlock(pos, state.setValue(BrewWaterCauldronBlock.BREW_STATE, desired), 2);
+            // Color rides along with the block update below (BE data is re-sent with the changed block).
+            BlockEntity be = level.getBlockEntity(pos);
+            if (be instanceof BrewVesselBlockEntity vessel) {
+                vessel.setBrewColor(desired == BrewWaterCauldronBlock.BrewState.COMPLETE
+                        ? resolveBrewColor(level, v)
+                        : BrewVesselBlockEntity.NO_COLOR);
+            }
         }
+
+        level.setBlock(pos, state
+                .setValue(BrewWaterCauldronBlock.BREW_STATE, desired)
+                .setValue(BrewWaterCauldronBlock.BOILING, desiredBoiling), 2);
+    }
+
+    /**
+     * Once per published runtime, check that a ready brew's recipe still exists. One that a reload removed dooms
+     * the brew on the first tick that sees the new runtime (and syncs as sludge right after); otherwise this is
+     * an int compare.
+     */
+    static void revalidateRecipe(ServerLevel level, BrewingVesselData.VesselState v, BrewingVesselData data) {
+        if (!v.hasMatch() || v.matchedRecipeGen == BrewingRuntime.current().generation()) return;
+        if (BrewRecipeCache.resolve(level, v) != null) return;
+
+        v.doomed = true;
+        v.matchedRecipeId = BrewRecipeCache.NO_RECIPE;
+        data.setDirty();
+    }
+
+    private static int resolveBrewColor(ServerLevel level, BrewingVesselData.VesselState v) {
+        BrewRecipeCache.CompiledRecipe recipe = BrewRecipeCache.resolve(level, v);
+        return recipe != null ? recipe.color() : BrewVesselBlockEntity.NO_COLOR;
     }
 
     private static void recordIngredient(BrewingVesselData.VesselState v, Item item) {
-        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        if (id == null) return;
-        v.ingredients.put(id, v.ingredients.getOrDefault(id, 0) + 1);
+        recordIngredient(v, item, 1);
+    }
+
+    static void recordIngredient(BrewingVesselData.VesselState v, Item item, int count) {
+        if (count <= 0) return;
+        v.ingredients.addTo(BuiltInRegistries.ITEM.getId(item), count);
     }
 }
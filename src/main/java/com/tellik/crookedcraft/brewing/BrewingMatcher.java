@@ -1,14 +1,23 @@
 package com.tellik.crookedcraft.brewing;
 
+import com.tellik.crookedcraft.brewing.core.IngredientMatcher;
+import com.tellik.crookedcraft.brewing.jfr.BrewMatcherEvent;
+import com.tellik.crookedcraft.brewing.profile.BrewingProfiler;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMaps;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.item.Item;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.crafting.Ingredient;
-import net.minecraftforge.registries.ForgeRegistries;
 
 import java.util.*;
 
+/**
+ * Game-side front of the core IngredientMatcher.
+ *
+ * Recipes come pre-compiled to item-id slots from BrewRecipeCache and vessels keep their ingredients by raw
+ * item id, so this class only expands the ingredient map into units and maps results back to recipe keys.
+ */
 public final class BrewingMatcher {
     private BrewingMatcher() {}
 
@@ -26,9 +35,9 @@ public final class BrewingMatcher {
         public final AddOutcome outcome;
         public final int candidatesBefore;
         public final int candidatesAfter;
-        public final ResourceLocation matchedRecipeId; // only when READY
+        public final int matchedRecipeId; // BrewRecipeCache.recipeKey; NO_RECIPE unless READY
 
-        public AddResult(AddOutcome outcome, int before, int after, ResourceLocation matchedRecipeId) {
+        public AddResult(AddOutcome outcome, int before, int after, int matchedRecipeId) {
             this.outcome = outcome;
             this.candidatesBefore = before;
             this.candidatesAfter = after;
@@ -36,157 +45,119 @@ public final class BrewingMatcher {
         }
     }
 
+    /** Immutable, pre-grouped by liquid at reload time (see BrewRecipeCache). */
     public static List<CauldronBrewRecipe> recipesForLiquid(ServerLevel level, ResourceLocation liquid) {
-        List<CauldronBrewRecipe> all = level.getRecipeManager().getAllRecipesFor(CauldronBrewRecipeType.INSTANCE);
-        List<CauldronBrewRecipe> out = new ArrayList<>();
-        for (CauldronBrewRecipe r : all) {
-            if (r.getLiquid().equals(liquid)) out.add(r);
-        }
-        return out;
+        return BrewRecipeCache.get(level).recipesForLiquid(liquid);
     }
 
     public static boolean itemAppearsInAnyRecipeForLiquid(ServerLevel level, ResourceLocation liquid, Item item) {
-        ItemStack stack = new ItemStack(item);
-        for (CauldronBrewRecipe r : recipesForLiquid(level, liquid)) {
-            for (Ingredient slot : r.expandToSlots()) {
-                if (slot.test(stack)) return true;
-            }
-        }
-        return false;
+        BrewRecipeCache.LiquidRecipes recipes = BrewRecipeCache.get(level).forLiquid(liquid);
+        return IngredientMatcher.appearsInAny(recipes.slots(), BuiltInRegistries.ITEM.getId(item));
     }
 
     public static List<CauldronBrewRecipe> filterCandidates(ServerLevel level,
                                                             ResourceLocation liquid,
-                                                            Map<ResourceLocation, Integer> currentIngredients) {
-        List<CauldronBrewRecipe> base = recipesForLiquid(level, liquid);
-        List<CauldronBrewRecipe> out = new ArrayList<>();
+                                                            Int2IntMap currentIngredients) {
+        BrewRecipeCache.LiquidRecipes recipes = BrewRecipeCache.get(level).forLiquid(liquid);
+        int[] units = toUnits(currentIngredients);
 
-        for (CauldronBrewRecipe r : base) {
-            if (canSatisfy(r, currentIngredients)) {
-                out.add(r);
-            }
+        List<CauldronBrewRecipe> out = new ArrayList<>();
+        for (int i : IngredientMatcher.filterCandidates(recipes.slots(), units, units.length)) {
+            out.add(recipes.recipes().get(i));
         }
-
         return out;
     }
 
-    public static boolean isExactMatch(CauldronBrewRecipe recipe, Map<ResourceLocation, Integer> currentIngredients) {
-        int neededSlots = recipe.expandToSlots().size();
-        int currentCount = totalCount(currentIngredients);
-        if (currentCount != neededSlots) return false;
-        return canSatisfy(recipe, currentIngredients);
+    public static boolean isExactMatch(ServerLevel level, CauldronBrewRecipe recipe, Int2IntMap currentIngredients) {
+        BrewRecipeCache.LiquidRecipes recipes = BrewRecipeCache.get(level).forLiquid(recipe.getLiquid());
+        int i = recipes.recipes().indexOf(recipe);
+        if (i < 0) return false;
+
+        int[] units = toUnits(currentIngredients);
+        return IngredientMatcher.isExactMatch(recipes.slots()[i], units, units.length);
     }
 
     public static AddResult tryAddIngredient(ServerLevel level,
                                              ResourceLocation liquid,
-                                             Map<ResourceLocation, Integer> currentIngredients,
+                                             Int2IntMap currentIngredients,
                                              Item ingredientItem) {
+        return tryAddIngredients(level, liquid, currentIngredients, ingredientItem, 1).last;
+    }
 
-        List<CauldronBrewRecipe> candidatesBefore = filterCandidates(level, liquid, currentIngredients);
-        int before = candidatesBefore.size();
-
-        // If item isn't in any recipe for this liquid at all -> don't consume.
-        if (!itemAppearsInAnyRecipeForLiquid(level, liquid, ingredientItem)) {
-            return new AddResult(AddOutcome.NOT_IN_ANY_RECIPE, before, before, null);
-        }
-
-        // Simulate add
-        ResourceLocation itemId = ForgeRegistries.ITEMS.getKey(ingredientItem);
-        if (itemId == null) {
-            return new AddResult(AddOutcome.NOT_IN_ANY_RECIPE, before, before, null);
-        }
-
-        Map<ResourceLocation, Integer> next = new HashMap<>(currentIngredients);
-        next.put(itemId, next.getOrDefault(itemId, 0) + 1);
-
-        List<CauldronBrewRecipe> candidatesAfter = filterCandidates(level, liquid, next);
-        int after = candidatesAfter.size();
-
-        if (after == 0) {
-            return new AddResult(AddOutcome.DOOMED, before, 0, null);
-        }
-
-        // Check exact matches among candidatesAfter
-        List<CauldronBrewRecipe> exact = new ArrayList<>();
-        for (CauldronBrewRecipe r : candidatesAfter) {
-            if (isExactMatch(r, next)) exact.add(r);
-        }
-
-        if (exact.size() > 1) {
-            // Data issue: two recipes have identical match space.
-            // v2: we treat as ambiguous and do NOT consume (so player isn't punished for pack bug).
-            return new AddResult(AddOutcome.AMBIGUOUS, before, after, null);
-        }
+    public static final class BatchResult {
+        public final int accepted;          // units to consume (includes the unit that doomed the brew)
+        public final AddResult last;        // outcome of the final unit considered
 
-        if (exact.size() == 1 && after == 1) {
-            return new AddResult(AddOutcome.READY, before, after, exact.get(0).getId());
+        public BatchResult(int accepted, AddResult last) {
+            this.accepted = accepted;
+            this.last = last;
         }
-
-        return new AddResult(AddOutcome.ACCEPTED, before, after, null);
     }
 
-    // --------------------------
-    // Matching implementation
-    // --------------------------
-
     /**
-     * True if the current ingredient multiset can be assigned into the recipe ingredient slots.
-     * This supports tags and overlapping ingredients by doing a small backtracking match.
-     * Recipe sizes are expected to be small (witchy brewing, not bulk crafting), so this is acceptable.
+     * Batch form of tryAddIngredient for automation: feeds up to maxCount units of one item in a single pass.
+     * Candidates only ever shrink as items are added, so each unit only re-checks the survivors of the previous unit.
+     *
+     * Stops early (without consuming further units) on READY, DOOMED, AMBIGUOUS or NOT_IN_ANY_RECIPE.
+     * Does NOT mutate currentIngredients; callers record `accepted` units themselves.
      */
-    private static boolean canSatisfy(CauldronBrewRecipe recipe, Map<ResourceLocation, Integer> currentIngredients) {
-        List<Ingredient> slots = recipe.expandToSlots();
-        if (slots.isEmpty()) return currentIngredients.isEmpty();
-
-        // Expand current items into a list of ItemStacks (one per unit)
-        List<ItemStack> items = new ArrayList<>();
-        for (Map.Entry<ResourceLocation, Integer> e : currentIngredients.entrySet()) {
-            Item item = ForgeRegistries.ITEMS.getValue(e.getKey());
-            if (item == null) return false;
-            for (int i = 0; i < e.getValue(); i++) {
-                items.add(new ItemStack(item));
-            }
+    public static BatchResult tryAddIngredients(ServerLevel level,
+                                                ResourceLocation liquid,
+                                                Int2IntMap currentIngredients,
+                                                Item ingredientItem,
+                                                int maxCount) {
+
+        BrewRecipeCache.LiquidRecipes recipes = BrewRecipeCache.get(level).forLiquid(liquid);
+        int[] units = toUnits(currentIngredients);
+        int itemId = BuiltInRegistries.ITEM.getId(ingredientItem); // -1 if unregistered
+
+        BrewMatcherEvent jfr = new BrewMatcherEvent();
+        jfr.begin();
+        long t0 = BrewingProfiler.start();
+        IngredientMatcher.Result r = IngredientMatcher.tryAdd(recipes.slots(), units, units.length, itemId, maxCount);
+        BrewingProfiler.end(BrewingProfiler.Stage.MATCHER, t0);
+        jfr.end();
+        if (jfr.shouldCommit()) {
+            jfr.liquid = liquid.toString();
+            jfr.item = String.valueOf(BuiltInRegistries.ITEM.getKey(ingredientItem));
+            jfr.offered = maxCount;
+            jfr.accepted = r.accepted();
+            jfr.candidatesBefore = r.candidatesBefore();
+            jfr.candidatesAfter = r.candidatesAfter();
+            jfr.outcome = r.outcome().name();
+            jfr.commit();
         }
 
-        // Can't satisfy if more items than slots
-        if (items.size() > slots.size()) return false;
-
-        // Sort items by "hardness": items that match fewer slots first (better pruning)
-        items.sort(Comparator.comparingInt(a -> countMatchingSlots(a, slots)));
-
-        boolean[] usedSlot = new boolean[slots.size()];
-        return backtrackMatch(items, 0, slots, usedSlot);
+        int matched = (r.matched() >= 0) ? recipes.keys()[r.matched()] : BrewRecipeCache.NO_RECIPE;
+        AddResult last = new AddResult(toOutcome(r.outcome()), r.candidatesBefore(), r.candidatesAfter(), matched);
+        return new BatchResult(r.accepted(), last);
     }
 
-    private static boolean backtrackMatch(List<ItemStack> items, int idx, List<Ingredient> slots, boolean[] usedSlot) {
-        if (idx >= items.size()) return true;
-
-        ItemStack stack = items.get(idx);
-
-        // Try to place this stack into any compatible unused slot
-        for (int i = 0; i < slots.size(); i++) {
-            if (usedSlot[i]) continue;
-            if (!slots.get(i).test(stack)) continue;
-
-            usedSlot[i] = true;
-            if (backtrackMatch(items, idx + 1, slots, usedSlot)) return true;
-            usedSlot[i] = false;
-        }
+    // --------------------------
+    // Core conversion
+    // --------------------------
 
-        return false;
+    private static AddOutcome toOutcome(IngredientMatcher.Outcome o) {
+        return switch (o) {
+            case NOT_IN_ANY_RECIPE -> AddOutcome.NOT_IN_ANY_RECIPE;
+            case ACCEPTED -> AddOutcome.ACCEPTED;
+            case READY -> AddOutcome.READY;
+            case DOOMED -> AddOutcome.DOOMED;
+            case AMBIGUOUS -> AddOutcome.AMBIGUOUS;
+        };
     }
 
-    private static int countMatchingSlots(ItemStack stack, List<Ingredient> slots) {
-        int c = 0;
-        for (Ingredient ing : slots) {
-            if (ing.test(stack)) c++;
-        }
-        return c;
-    }
+    /** One item id per unit. */
+    private static int[] toUnits(Int2IntMap currentIngredients) {
+        int total = 0;
+        for (Int2IntMap.Entry e : Int2IntMaps.fastIterable(currentIngredients)) total += e.getIntValue();
 
-    private static int totalCount(Map<ResourceLocation, Integer> m) {
-        int t = 0;
-        for (int v : m.values()) t += v;
-        return t;
+        int[] units = new int[total];
+        int n = 0;
+        for (Int2IntMap.Entry e : Int2IntMaps.fastIterable(currentIngredients)) {
+            int id = e.getIntKey();
+            for (int i = 0; i < e.getIntValue(); i++) units[n++] = id;
+        }
+        return units;
     }
 }
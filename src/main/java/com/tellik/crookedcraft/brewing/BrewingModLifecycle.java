@@ -1,5 +1,6 @@
 package com.tellik.crookedcraft.brewing;
 
+import com.tellik.crookedcraft.brewing.jfr.BrewingJfr;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
@@ -16,5 +17,7 @@ public final class BrewingModLifecycle {
     public static void onCommonSetup(FMLCommonSetupEvent event) {
         // enqueueWork ensures we're on the correct thread for touching vanilla registries/maps safely.
         event.enqueueWork(CauldronInteractionShim::install);
+        event.enqueueWork(BrewVesselDispenseBehavior::install);
+        BrewingJfr.register();
     }
 }
@@ -0,0 +1,161 @@
+package com.tellik.crookedcraft.brewing;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.Util;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.item.crafting.RecipeManager;
+import org.slf4j.Logger;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Everything brewing resolves from datapacks, as one immutable, versioned snapshot: the compiled heat tables,
+ * the thermal transform tables and the recipe index.
+ *
+ * The three come from different places (two reload listeners and the RecipeManager) and used to be swapped
+ * independently, so a tick falling between two listener applies saw new heat with old transforms, or new
+ * tables with the old recipe index. Now nothing is live until publish():
+ * - The reload listeners only stage() their compiled results.
+ * - Once the new recipes and tags are bound (datapack sync), the recipe index is compiled off-thread and the
+ *   staged parts are published together with it, in one volatile write on the server thread. Until then every
+ *   tick keeps reading the previous runtime, whole.
+ * - Server start publishes synchronously, before the first tick.
+ *
+ * Each publish gets a new generation. Anything caching an index into a runtime (VesselState.matchedRecipeIndex)
+ * stamps it with the generation and re-resolves only when that changes.
+ */
+public final class BrewingRuntime {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final BrewingRuntime EMPTY = new BrewingRuntime(0,
+            HeatSourceManager.Compiled.EMPTY, ThermalTransformManager.Compiled.EMPTY, BrewRecipeCache.Snapshot.EMPTY);
+
+    private static volatile BrewingRuntime current = EMPTY;
+
+    // Server thread only.
+    private static int nextGeneration = 1;
+    private static HeatSourceManager.Compiled stagedHeat;
+    private static ThermalTransformManager.Compiled stagedTransforms;
+    private static int reloadTicket;
+
+    private final int generation;
+    private final HeatSourceManager.Compiled heat;
+    private final ThermalTransformManager.Compiled transforms;
+    private final BrewRecipeCache.Snapshot recipes;
+
+    private BrewingRuntime(int generation,
+                           HeatSourceManager.Compiled heat,
+                           ThermalTransformManager.Compiled transforms,
+                           BrewRecipeCache.Snapshot recipes) {
+        this.generation = generation;
+        this.heat = heat;
+        this.transforms = transforms;
+        this.recipes = recipes;
+    }
+
+    public int generation() {
+        return generation;
+    }
+
+    public HeatSourceManager.Compiled heat() {
+        return heat;
+    }
+
+    public ThermalTransformManager.Compiled transforms() {
+        return transforms;
+    }
+
+    public BrewRecipeCache.Snapshot recipes() {
+        return recipes;
+    }
+
+    // -------------------------------------------------------------------------
+    // Access
+    // -------------------------------------------------------------------------
+
+    /** The published runtime (EMPTY until the first publish). Any thread. */
+    public static BrewingRuntime current() {
+        return current;
+    }
+
+    /**
+     * The published runtime, publishing one first if server has none yet (a recipe lookup ahead of
+     * ServerStartedEvent). Server thread.
+     */
+    public static BrewingRuntime current(MinecraftServer server) {
+        BrewingRuntime rt = current;
+        if (rt.recipes == BrewRecipeCache.Snapshot.EMPTY) {
+            rt = publish(BrewRecipeCache.compile(server.getRecipeManager()));
+        }
+        return rt;
+    }
+
+    // -------------------------------------------------------------------------
+    // Staging / publishing (server thread)
+    // -------------------------------------------------------------------------
+
+    static void stage(HeatSourceManager.Compiled heat) {
+        stagedHeat = heat;
+    }
+
+    static void stage(ThermalTransformManager.Compiled transforms) {
+        stagedTransforms = transforms;
+    }
+
+    /**
+     * Publish the staged parts, plus recipes if given (else the current index), as the next generation.
+     * Parts not staged since the last publish carry over.
+     */
+    static BrewingRuntime publish(@Nullable BrewRecipeCache.Snapshot recipes) {
+        BrewingRuntime old = current;
+        BrewingRuntime rt = new BrewingRuntime(nextGeneration++,
+                stagedHeat != null ? stagedHeat : old.heat,
+                stagedTransforms != null ? stagedTransforms : old.transforms,
+                recipes != null ? recipes : old.recipes);
+        stagedHeat = null;
+        stagedTransforms = null;
+        current = rt;
+
+        // Cached section source lists were built from the old heat tables.
+        if (rt.heat != old.heat) HeatField.invalidateAll();
+
+        LOGGER.debug("[crookedcraft] Published brewing runtime generation {} ({} recipe(s)).", rt.generation, rt.recipes.size());
+        return rt;
+    }
+
+    /** Compile and publish now (server start). */
+    public static void publishNow(MinecraftServer server) {
+        reloadTicket++; // supersedes any reload still compiling
+        publish(BrewRecipeCache.compile(server.getRecipeManager()));
+    }
+
+    /**
+     * After /reload: compile the new recipe index on the background executor, then publish it with the staged
+     * tables on the server thread. A newer reload (or publishNow/reset) supersedes one still compiling.
+     */
+    public static void publishAfterReload(MinecraftServer server) {
+        RecipeManager manager = server.getRecipeManager();
+        int ticket = ++reloadTicket;
+
+        CompletableFuture.supplyAsync(() -> BrewRecipeCache.compile(manager), Util.backgroundExecutor())
+                .whenCompleteAsync((compiled, error) -> {
+                    if (ticket != reloadTicket) return;
+
+                    BrewRecipeCache.Snapshot recipes = compiled;
+                    if (error != null) {
+                        LOGGER.error("[crookedcraft] Background brew recipe index compile failed; compiling on the server thread.", error);
+                        recipes = BrewRecipeCache.compile(manager);
+                    }
+                    publish(recipes);
+                }, server);
+    }
+
+    /** Server stopped: drop everything (including anything staged or compiling) so the next server starts clean. */
+    public static void reset() {
+        reloadTicket++;
+        stagedHeat = null;
+        stagedTransforms = null;
+        current = EMPTY;
+    }
+}
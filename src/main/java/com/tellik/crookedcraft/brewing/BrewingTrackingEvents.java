@@ -29,13 +29,14 @@ public final class BrewingTrackingEvents {
         BrewingVesselData data = BrewingVesselData.get(serverLevel);
         long key = event.getPos().asLong();
 
+        // Dirties the data itself, and only if the vessel is new.
         data.ensureTracked(key);
-        data.setDirty();
     }
 
     /**
      * Track brew vessels when their chunk loads.
      * This restores transforms after restart / relog / chunk unload-reload cycles.
+     * It is also where saved vessel state is first read in (BrewingVesselData#loadRegion).
      */
     @SubscribeEvent
     public static void onChunkLoad(ChunkEvent.Load event) {
@@ -44,6 +45,7 @@ public final class BrewingTrackingEvents {
 
         // Fast path: only look at existing block entities; do NOT scan the whole chunk volume.
         BrewingVesselData data = BrewingVesselData.get(serverLevel);
+        data.loadRegion(chunk.getPos());
 
         for (BlockEntity be : chunk.getBlockEntities().values()) {
             if (!(be instanceof BrewVesselBlockEntity)) continue;
@@ -51,9 +53,6 @@ public final class BrewingTrackingEvents {
             long key = be.getBlockPos().asLong();
             data.ensureTracked(key);
         }
-
-        // Mark dirty once if we actually tracked something new (optional).
-        // If ensureTracked is idempotent and cheap, this is fine as-is.
-        data.setDirty();
+        // No setDirty here: a chunk loads nearly every tick, and ensureTracked already dirties for new vessels.
     }
 }
@@ -1,62 +1,162 @@
 package com.tellik.crookedcraft.brewing;
 
+import com.mojang.logging.LogUtils;
+import com.tellik.crookedcraft.brewing.core.CoreRegistries;
+import com.tellik.crookedcraft.brewing.core.ThermalVessel;
+import com.tellik.crookedcraft.brewing.core.TransformTable;
+import com.tellik.crookedcraft.brewing.jfr.BrewSaveEvent;
+import com.tellik.crookedcraft.brewing.profile.BrewingProfiler;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMaps;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.MethodsReturnNonnullByDefault;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.saveddata.SavedData;
+import org.slf4j.Logger;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+/**
+ * Per-level brewing vessel state.
+ *
+ * Storage is split by region (32x32 chunks, see BrewVesselRegionFiles) and loaded lazily: a region's vessels are
+ * parsed the first time one of its chunks loads (or a vessel in it is first tracked). Which regions have a file is
+ * taken from the files themselves, never from the SavedData file: region files are written before it, so a crash
+ * in between would leave a region on disk that a saved list doesn't know about. Startup cost and baseline heap
+ * follow what players visit, not how many vessels the world holds. Regions stay loaded for the rest of the session.
+ *
+ * A save rewrites the loaded regions whose content changed. A vat crossing a region border is stored in every
+ * region it touches, and loading one of them loads the others, so all copies are read and rewritten together.
+ * Saves from before the split (every vessel in the SavedData file) are read whole once and split on the next save.
+ *
+ * Temperatures are saved as ramps (see ThermalVessel) and replayed on load up to when they stopped: the end of the
+ * last session that had their region loaded, which the SavedData file keeps per region (frozenAt).
+ */
 @MethodsReturnNonnullByDefault
 @ParametersAreNonnullByDefault
 public final class BrewingVesselData extends SavedData {
+    private static final Logger LOGGER = LogUtils.getLogger();
     private static final String DATA_NAME = "crookedcraft_brewing_vessels";
 
-    public static final class VesselState {
+    public static final int NO_SOLID = TransformTable.NO_SOLID;
+    public static final long NO_RAMP = ThermalVessel.NO_RAMP;
+    // replayUntil of ramps read before bind() knows when the session started (a single-file save); bind resolves it.
+    private static final long UNTIL_SESSION_START = Long.MAX_VALUE;
+
+    public static final class VesselState extends ThermalVessel {
         // --- legacy fields you already have ---
         public int pendingFillTicks;
         public int boilProgress;
         public int boilTicksRequired;
-        public boolean boiling;
 
         public boolean doomed;
-        public ResourceLocation matchedRecipeId;
-        public final Map<ResourceLocation, Integer> ingredients = new HashMap<>();
 
-        // --- authoritative thermal state ---
-        public float tempC = Float.NaN;
+        // Ids are dense ints while in memory; ResourceLocations only exist in the saved NBT (see save/load).
+        // Recipe: BrewRecipeCache.recipeKey, NO_RECIPE when unmatched.
+        public int matchedRecipeId = BrewRecipeCache.NO_RECIPE;
+
+        // Runtime-only: dense index into BrewRecipeCache, valid while matchedRecipeGen == BrewingRuntime generation.
+        // Never persisted (indices are reassigned on every recipe reload); see BrewRecipeCache#resolve.
+        public int matchedRecipeIndex = -1;
+        public int matchedRecipeGen = 0;
+
+        // Raw item id (BuiltInRegistries.ITEM) -> units added. Sized for empty: most vessels never brew.
+        public final Int2IntOpenHashMap ingredients = new Int2IntOpenHashMap(0);
+
+        // --- authoritative thermal state (tempC, boiling and the saved ramp live in ThermalVessel) ---
         public float lastTempC = Float.NaN;
 
-        // --- NEW: single inserted solid block (optional) ---
-        // Stored as a string for NBT stability and low coupling.
-        // Example value: "minecraft:ice"
-        public String insertedSolidId = null;
+        // --- single inserted solid block (optional) ---
+        // Raw block id (BuiltInRegistries.BLOCK), NO_SOLID when empty. Mirrors BrewVesselBlockEntity's solid.
+        public int insertedSolidId = NO_SOLID;
+
+        // --- vat (multiblock) ---
+        // Set only on a vat controller: every block of the vat, controller included, sorted ascending.
+        // Members have no VesselState of their own; lookups for them redirect here.
+        public long[] vatMembers = null;
+
+        // Runtime-only vat caches (rebuilt by the tick loop, never persisted).
+        public long vatCheckedAt = Long.MIN_VALUE;
+        public HeatSourceManager.HeatProfile vatHeat = null;
+        public int vatVisualKey = -1;
+
+        public boolean hasMatch() {
+            return matchedRecipeId != BrewRecipeCache.NO_RECIPE;
+        }
+
+        public boolean hasSolid() {
+            return insertedSolidId != NO_SOLID;
+        }
+
+        public boolean isVat() {
+            return vatMembers != null;
+        }
+
+        public int vatSize() {
+            return vatMembers != null ? vatMembers.length : 1;
+        }
+
+        /** First thermal tick: a fresh vessel starts with no boil/fill history. */
+        @Override
+        protected void onStart() {
+            lastTempC = tempC;
+            boilProgress = 0;
+            boilTicksRequired = 0;
+            pendingFillTicks = 0;
+        }
+
+        /** Copy of the brew/thermal state for a vessel leaving a vat (vat fields are not copied). */
+        public VesselState copyForSplit() {
+            VesselState c = new VesselState();
+            c.pendingFillTicks = pendingFillTicks;
+            c.boiling = boiling;
+            c.doomed = doomed;
+            c.matchedRecipeId = matchedRecipeId;
+            c.ingredients.putAll(ingredients);
+            c.tempC = tempC;
+            c.lastTempC = lastTempC;
+            return c;
+        }
 
         /** Clear only thermals + legacy boil flags (kept inert). */
+        @Override
         public void clearThermals() {
-            tempC = Float.NaN;
+            super.clearThermals();
             lastTempC = Float.NaN;
 
             // legacy fields: keep zeroed so older code can't accidentally "revive" logic
             boilProgress = 0;
             boilTicksRequired = 0;
-            boiling = false;
             pendingFillTicks = 0;
         }
 
         /** Clear brew state and inserted solid. */
         public void clearAll() {
             doomed = false;
-            matchedRecipeId = null;
+            matchedRecipeId = BrewRecipeCache.NO_RECIPE;
+            matchedRecipeIndex = -1;
+            matchedRecipeGen = 0;
             ingredients.clear();
 
-            insertedSolidId = null;
+            insertedSolidId = NO_SOLID;
 
             clearThermals();
         }
@@ -64,102 +164,540 @@ public final class BrewingVesselData extends SavedData {
 
     private final Map<Long, VesselState> vessels = new HashMap<>();
 
+    // Vat member -> controller key. Controllers are NOT in this map (they're plain entries in vessels).
+    private final Long2LongOpenHashMap vatControllerByMember = new Long2LongOpenHashMap();
+
+    // Bumped whenever the set of tracked keys or vat membership changes (runtime only; see BrewConduction).
+    private int topologyVersion = 0;
+
+    // Region storage. files is bound by get(level) or headless(dir, ids); data from load(tag, ids) has none.
+    private BrewVesselRegionFiles files;
+    // Item and block ids as region files are written and read: the game registries unless built headless.
+    private CoreRegistries<ResourceLocation> ids = BrewingCoreBindings.REGISTRIES;
+    // Regions known to have a file: listed at bind, then kept up to date by loadRegion and writeRegions.
+    private final LongOpenHashSet regionsOnDisk = new LongOpenHashSet();
+    private final LongOpenHashSet loadedRegions = new LongOpenHashSet();
+    // Each loaded region's tag as last read or written, and its hash: an unchanged region is not rewritten.
+    // A different hash means write; an equal one is confirmed with equals before the write is skipped.
+    private final Long2ObjectOpenHashMap<CompoundTag> writtenTags = new Long2ObjectOpenHashMap<>();
+    private final Long2IntOpenHashMap writtenHash = new Long2IntOpenHashMap();
+
+    // Game time when this session bound the data: the last tick the previous session ran (and saved).
+    private long sessionStart;
+    // Regions not loaded this session -> game time their saved ramps ran until. A region loaded this session has
+    // no entry: its ramps run until the session ends, which the next session's bind() pins.
+    private final Long2LongOpenHashMap frozenAt = new Long2LongOpenHashMap();
+
     public BrewingVesselData() {}
 
     public static BrewingVesselData get(ServerLevel level) {
-        return level.getDataStorage().computeIfAbsent(BrewingVesselData::load, BrewingVesselData::new, DATA_NAME);
+        BrewingVesselData data = level.getDataStorage().computeIfAbsent(BrewingVesselData::load, BrewingVesselData::new, DATA_NAME);
+        if (data.files == null) data.bind(BrewVesselRegionFiles.of(level), level.getGameTime());
+        return data;
+    }
+
+    /**
+     * Data kept in dir instead of under a level, with ids in place of the game registries, as of game time 0.
+     * Runs the same region save and load paths as in game without a server: the persistence benchmark uses it.
+     */
+    public static BrewingVesselData headless(Path dir, CoreRegistries<ResourceLocation> ids) {
+        BrewingVesselData data = new BrewingVesselData();
+        data.ids = ids;
+        data.bind(BrewVesselRegionFiles.in(dir), 0L);
+        return data;
     }
 
-    /** Ensure a VesselState exists for posLong (and marks dirty if newly created). */
+    private void bind(BrewVesselRegionFiles files, long gameTime) {
+        this.files = files;
+        sessionStart = gameTime;
+        try {
+            regionsOnDisk.addAll(files.list());
+        } catch (IOException e) {
+            // Only costs the ramp pinning below and the sweep of unloaded regions; loadRegion checks each file itself.
+            LOGGER.error("[crookedcraft] Could not list brewing vessel regions in {}", files, e);
+        }
+        for (VesselState v : vessels.values()) {
+            if (v.replayUntil == UNTIL_SESSION_START) v.replayUntil = sessionStart;
+        }
+
+        // Ramps saved last session ran until it ended, i.e. until now; pin that before this session moves on.
+        boolean pinned = false;
+        for (long region : regionsOnDisk) {
+            if (loadedRegions.contains(region) || frozenAt.containsKey(region)) continue;
+            frozenAt.put(region, sessionStart);
+            pinned = true;
+        }
+        if (pinned) setDirty();
+    }
+
+    /** Ensure a VesselState exists for posLong (and marks dirty if newly created). Vat members resolve to their controller. */
     public void ensureTracked(long posLong) {
-        if (!vessels.containsKey(posLong)) {
-            vessels.put(posLong, new VesselState());
+        loadRegion(BrewVesselRegionFiles.regionOf(posLong));
+        long key = resolveKey(posLong);
+        if (!vessels.containsKey(key)) {
+            vessels.put(key, new VesselState());
+            topologyVersion++;
             setDirty();
         }
     }
 
     /** Returns an existing VesselState (must be tracked already). Prefer calling ensureTracked(posLong) first. */
     public VesselState getTrackedState(long posLong) {
-        return vessels.get(posLong);
+        return vessels.get(resolveKey(posLong));
     }
 
     /** Returns the VesselState if tracked, otherwise null. (Status UI helper) */
     public VesselState getStateIfTracked(long posLong) {
-        return vessels.get(posLong);
+        return vessels.get(resolveKey(posLong));
     }
 
+    /**
+     * Stop tracking posLong.
+     * - a vat member just leaves its vat
+     * - a vat controller hands the vat to its next member
+     * A vat that shrinks below BrewVats.VAT_MIN_SIZE splits back into single vessels.
+     *
+     * IMPORTANT: mutates the vessel map; never call while iterating (the tick loop uses Iterator#remove).
+     */
     public void untrack(long posLong) {
-        if (vessels.remove(posLong) != null) {
+        topologyVersion++;
+        if (vatControllerByMember.containsKey(posLong)) {
+            long controller = vatControllerByMember.get(posLong);
+            if (dropVatMember(controller, posLong) < BrewVats.VAT_MIN_SIZE) dissolveVat(controller);
             setDirty();
+            return;
         }
+
+        VesselState v = vessels.remove(posLong);
+        if (v == null) return;
+
+        if (v.vatMembers != null) reattachVat(posLong, v);
+        setDirty();
     }
 
+    /** Iterator#remove is supported (and counts as a topology change). */
     public Iterator<Map.Entry<Long, VesselState>> iterator() {
-        return vessels.entrySet().iterator();
+        Iterator<Map.Entry<Long, VesselState>> it = vessels.entrySet().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Map.Entry<Long, VesselState> next() {
+                return it.next();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                topologyVersion++;
+            }
+        };
+    }
+
+    public int size() {
+        return vessels.size();
+    }
+
+    public int topologyVersion() {
+        return topologyVersion;
+    }
+
+    /**
+     * Rough retained heap of this data, for capacity planning (/crookedcraft loadgen).
+     * Shallow sizes on a 64-bit JVM with compressed oops.
+     */
+    public long estimateHeapBytes() {
+        long bytes = 48 + 16 + 4L * tableCapacity(vessels.size());          // HashMap + table
+        for (VesselState v : vessels.values()) {
+            bytes += 32 + 16;                                               // Node + boxed Long key
+            bytes += 120;                                                   // VesselState
+            bytes += 56;                                                    // ingredients Int2IntOpenHashMap
+            bytes += 2L * (16 + 4L * (openTableCapacity(v.ingredients.size()) + 1)); // int keys + values
+            if (v.vatMembers != null) bytes += 16 + 8L * v.vatMembers.length;
+        }
+        bytes += 16L * tableCapacity(vatControllerByMember.size());          // long keys + long values
+        return bytes;
+    }
+
+    private static int tableCapacity(int size) {
+        return size == 0 ? 0 : Integer.highestOneBit(Math.max(1, (int) (size / 0.75f)) * 2 - 1);
+    }
+
+    /** fastutil open-addressing table size for size entries (never below 2; the +1 null-key slot is extra). */
+    private static int openTableCapacity(int size) {
+        return Math.max(2, Integer.highestOneBit(Math.max(1, (int) Math.ceil(size / 0.75f)) * 2 - 1));
+    }
+
+    // -------------------------------------------------------------------------
+    // Vats
+    // -------------------------------------------------------------------------
+
+    /** The key that owns posLong's state: its vat controller, or posLong itself. */
+    public long resolveKey(long posLong) {
+        if (vatControllerByMember.isEmpty()) return posLong;
+        return vatControllerByMember.getOrDefault(posLong, posLong);
+    }
+
+    /** True if posLong belongs to a vat (as member or controller). */
+    public boolean isInVat(long posLong) {
+        if (vatControllerByMember.containsKey(posLong)) return true;
+        VesselState v = vessels.get(posLong);
+        return v != null && v.vatMembers != null;
+    }
+
+    /**
+     * Merge blocks into one vat owned by state. The controller is the smallest key; every other block's
+     * own VesselState (if any) is dropped.
+     *
+     * IMPORTANT: mutates the vessel map; never call while iterating.
+     */
+    public void formVat(long[] members, VesselState state) {
+        long[] sorted = members.clone();
+        Arrays.sort(sorted);
+        long controller = sorted[0];
+
+        for (long m : sorted) {
+            vessels.remove(m);
+            if (m != controller) vatControllerByMember.put(m, controller);
+        }
+
+        state.vatMembers = sorted;
+        topologyVersion++;
+        state.vatCheckedAt = Long.MIN_VALUE;
+        state.vatHeat = null;
+        state.vatVisualKey = -1;
+        vessels.put(controller, state);
+        setDirty();
+    }
+
+    /**
+     * Split a vat back into single vessels; each block gets a copy of the shared brew and temperature,
+     * so the total number of bottles it can still fill is unchanged.
+     *
+     * IMPORTANT: mutates the vessel map; never call while iterating.
+     */
+    public void dissolveVat(long controller) {
+        VesselState v = vessels.get(controller);
+        if (v != null) dissolveVat(controller, v);
+    }
+
+    /** As dissolveVat(long), for a controller state that may already have been removed from the map. */
+    public void dissolveVat(long controller, VesselState v) {
+        if (v.vatMembers == null) return;
+
+        long[] members = v.vatMembers;
+        v.vatMembers = null;
+        topologyVersion++;
+        v.vatCheckedAt = Long.MIN_VALUE;
+        v.vatHeat = null;
+        v.vatVisualKey = -1;
+
+        for (long m : members) {
+            if (m == controller) continue;
+            vatControllerByMember.remove(m);
+            vessels.put(m, v.copyForSplit());
+        }
+        setDirty();
+    }
+
+    /**
+     * The controller's block left the vat (drained, broken): hand the shared state to the next member.
+     * v must already be removed from the map.
+     *
+     * IMPORTANT: mutates the vessel map; never call while iterating.
+     */
+    public void reattachVat(long oldController, VesselState v) {
+        if (v.vatMembers == null) return;
+
+        long[] rest = without(v.vatMembers, oldController);
+        v.vatMembers = null;
+        topologyVersion++;
+        if (rest.length == 0) return;
+
+        // Sorted, so rest[0] is the new minimum key.
+        long controller = rest[0];
+        vatControllerByMember.remove(controller);
+        for (long m : rest) {
+            if (m != controller) vatControllerByMember.put(m, controller);
+        }
+
+        v.vatMembers = rest;
+        v.vatCheckedAt = Long.MIN_VALUE;
+        v.vatVisualKey = -1;
+        vessels.put(controller, v);
+
+        if (rest.length < BrewVats.VAT_MIN_SIZE) dissolveVat(controller, v);
+        setDirty();
+    }
+
+    /**
+     * Drop a member whose block is gone, without touching the vessel map (safe while iterating).
+     * @return remaining vat size
+     */
+    public int dropVatMember(long controller, long member) {
+        VesselState v = vessels.get(controller);
+        if (v == null || v.vatMembers == null) return 0;
+
+        vatControllerByMember.remove(member);
+        v.vatMembers = without(v.vatMembers, member);
+        topologyVersion++;
+        setDirty();
+        return v.vatMembers.length;
+    }
+
+    private static long[] without(long[] sorted, long key) {
+        int i = Arrays.binarySearch(sorted, key);
+        if (i < 0) return sorted;
+
+        long[] out = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, out, 0, i);
+        System.arraycopy(sorted, i + 1, out, i, sorted.length - i - 1);
+        return out;
+    }
+
+    @Override
+    public void setDirty() {
+        BrewingProfiler.setDirtyCalled();
+        super.setDirty();
     }
 
     @Override
     public CompoundTag save(CompoundTag tag) {
-        ListTag list = new ListTag();
+        if (files == null) return save(tag, ids);
+
+        BrewSaveEvent jfr = new BrewSaveEvent();
+        jfr.begin();
+        long t0 = BrewingProfiler.start();
+        int written = writeRegions();
+        tag.putLongArray("frozenRegions", frozenAt.keySet().toLongArray());
+        tag.putLongArray("frozenAt", frozenAt.values().toLongArray());
+        BrewingProfiler.end(BrewingProfiler.Stage.SAVE, t0);
+        jfr.end();
+        if (jfr.shouldCommit()) {
+            jfr.vessels = vessels.size();
+            jfr.regionsWritten = written;
+            jfr.commit();
+        }
+        return tag;
+    }
 
+    /**
+     * Every vessel in memory as one tag (the pre-region layout), turning item and block ids back into keys through
+     * ids (the game registries in game). Touches no files: loadgen sizing and the persistence benchmark use it.
+     */
+    public CompoundTag save(CompoundTag tag, CoreRegistries<ResourceLocation> ids) {
+        ListTag list = new ListTag();
         for (Map.Entry<Long, VesselState> e : vessels.entrySet()) {
-            CompoundTag vtag = new CompoundTag();
-            vtag.putLong("pos", e.getKey());
+            list.add(writeVessel(e.getKey(), e.getValue(), ids));
+        }
+        tag.put("vessels", list);
+        return tag;
+    }
 
+    /** Write each loaded region whose vessels changed; a region left empty loses its file. @return files written */
+    private int writeRegions() {
+        Long2ObjectOpenHashMap<ListTag> byRegion = new Long2ObjectOpenHashMap<>();
+        for (Map.Entry<Long, VesselState> e : vessels.entrySet()) {
+            long pos = e.getKey();
             VesselState v = e.getValue();
+            CompoundTag vtag = writeVessel(pos, v, ids);
+            byRegion.computeIfAbsent(BrewVesselRegionFiles.regionOf(pos), r -> new ListTag()).add(vtag);
+
+            // A vat goes into every region it touches (once each: a region already holding it has it last).
+            if (v.vatMembers == null) continue;
+            for (long m : v.vatMembers) {
+                ListTag l = byRegion.computeIfAbsent(BrewVesselRegionFiles.regionOf(m), r -> new ListTag());
+                if (l.isEmpty() || l.get(l.size() - 1) != vtag) l.add(vtag);
+            }
+        }
 
-            // legacy fields
-            vtag.putInt("boilProgress", v.boilProgress);
-            vtag.putInt("boilTicksRequired", v.boilTicksRequired);
-            vtag.putBoolean("boiling", v.boiling);
-            vtag.putInt("pendingFillTicks", v.pendingFillTicks);
+        int written = 0;
+        LongIterator it = loadedRegions.iterator();
+        while (it.hasNext()) {
+            long region = it.nextLong();
+            ListTag list = byRegion.get(region);
+            try {
+                if (list == null || list.isEmpty()) {
+                    if (regionsOnDisk.remove(region)) files.delete(region);
+                    writtenTags.remove(region);
+                    writtenHash.remove(region);
+                    frozenAt.remove(region);
+                    continue;
+                }
 
-            // brew state
-            vtag.putBoolean("doomed", v.doomed);
-            if (v.matchedRecipeId != null) {
-                vtag.putString("matchedRecipeId", v.matchedRecipeId.toString());
-            } else {
-                vtag.remove("matchedRecipeId");
+                CompoundTag rtag = new CompoundTag();
+                rtag.put("vessels", list);
+                int hash = rtag.hashCode();
+                CompoundTag last = writtenTags.get(region);
+                if (last != null && regionsOnDisk.contains(region) && writtenHash.get(region) == hash && last.equals(rtag)) continue;
+
+                files.write(region, rtag);
+                regionsOnDisk.add(region);
+                writtenTags.put(region, rtag);
+                writtenHash.put(region, hash);
+                written++;
+                if (BrewingProfiler.isActive()) BrewingProfiler.saveBytes(BrewingProfiler.nbtSize(rtag));
+            } catch (IOException e) {
+                LOGGER.error("[crookedcraft] Could not save brewing vessel region {},{}",
+                        ChunkPos.getX(region), ChunkPos.getZ(region), e);
             }
+        }
+        return written;
+    }
 
-            // ingredients
-            ListTag ingList = new ListTag();
-            for (Map.Entry<ResourceLocation, Integer> ing : v.ingredients.entrySet()) {
-                CompoundTag it = new CompoundTag();
-                it.putString("id", ing.getKey().toString());
-                it.putInt("count", ing.getValue());
-                ingList.add(it);
-            }
-            vtag.put("ingredients", ingList);
+    private static CompoundTag writeVessel(long pos, VesselState v, CoreRegistries<ResourceLocation> ids) {
+        CompoundTag vtag = new CompoundTag();
+        vtag.putLong("pos", pos);
+
+        // legacy fields
+        vtag.putInt("boilProgress", v.boilProgress);
+        vtag.putInt("boilTicksRequired", v.boilTicksRequired);
+        vtag.putBoolean("boiling", v.boiling);
+        vtag.putInt("pendingFillTicks", v.pendingFillTicks);
+
+        // brew state
+        vtag.putBoolean("doomed", v.doomed);
+        ResourceLocation recipe = BrewRecipeCache.recipeId(v.matchedRecipeId);
+        if (recipe != null) {
+            vtag.putString("matchedRecipeId", recipe.toString());
+        } else {
+            vtag.remove("matchedRecipeId");
+        }
 
-            // thermals (optional but recommended)
-            if (!Float.isNaN(v.tempC)) vtag.putFloat("tempC", v.tempC);
-            else vtag.remove("tempC");
+        // ingredients
+        ListTag ingList = new ListTag();
+        for (Int2IntMap.Entry ing : Int2IntMaps.fastIterable(v.ingredients)) {
+            ResourceLocation item = ids.itemKey(ing.getIntKey());
+            if (item == null) continue;
+            CompoundTag it = new CompoundTag();
+            it.putString("id", item.toString());
+            it.putInt("count", ing.getIntValue());
+            ingList.add(it);
+        }
+        vtag.put("ingredients", ingList);
+
+        // thermals: the ramp rather than the live temperature, so a save mid-ramp writes what the last one did
+        if (v.onRamp()) {
+            vtag.putFloat("tempC", v.rampStartC);
+            vtag.putLong("rampStart", v.rampStartTick);
+            if (v.replayUntil != NO_RAMP) vtag.putLong("rampEnd", v.replayUntil);
+        } else if (v.conducting && v.tempC == v.steppedC) {
+            vtag.putFloat("tempC", v.rampStartC);
+        } else if (!Float.isNaN(v.tempC)) {
+            vtag.putFloat("tempC", v.tempC);
+        } else {
+            vtag.remove("tempC");
+        }
 
-            if (!Float.isNaN(v.lastTempC)) vtag.putFloat("lastTempC", v.lastTempC);
-            else vtag.remove("lastTempC");
+        if (!Float.isNaN(v.lastTempC)) vtag.putFloat("lastTempC", v.lastTempC);
+        else vtag.remove("lastTempC");
 
-            // inserted solid
-            if (v.insertedSolidId != null && !v.insertedSolidId.isEmpty()) {
-                vtag.putString("insertedSolidId", v.insertedSolidId);
-            } else {
-                vtag.remove("insertedSolidId");
-            }
+        // inserted solid
+        ResourceLocation solid = v.hasSolid() ? ids.blockKey(v.insertedSolidId) : null;
+        if (solid != null) {
+            vtag.putString("insertedSolidId", solid.toString());
+        } else {
+            vtag.remove("insertedSolidId");
+        }
 
-            list.add(vtag);
+        // vat
+        if (v.vatMembers != null) {
+            vtag.putLongArray("vatMembers", v.vatMembers);
         }
 
-        tag.put("vessels", list);
-        return tag;
+        return vtag;
     }
 
+    /** Per-region bookkeeping only; regions are read as they are first touched (loadRegion). */
     public static BrewingVesselData load(CompoundTag tag) {
+        if (tag.contains("vessels", Tag.TAG_LIST)) {
+            // Single-file save from before region storage: read it whole this once, split it on the next save.
+            BrewingVesselData data = new BrewingVesselData();
+            data.readVessels(tag.getList("vessels", Tag.TAG_COMPOUND), data.ids, UNTIL_SESSION_START, null);
+            for (Map.Entry<Long, VesselState> e : data.vessels.entrySet()) {
+                data.loadedRegions.add(BrewVesselRegionFiles.regionOf(e.getKey()));
+                long[] members = e.getValue().vatMembers;
+                if (members != null) for (long m : members) data.loadedRegions.add(BrewVesselRegionFiles.regionOf(m));
+            }
+            data.setDirty();
+            return data;
+        }
+
         BrewingVesselData data = new BrewingVesselData();
+        long[] frozenRegions = tag.getLongArray("frozenRegions");
+        long[] frozenAt = tag.getLongArray("frozenAt");
+        for (int i = 0; i < Math.min(frozenRegions.length, frozenAt.length); i++) data.frozenAt.put(frozenRegions[i], frozenAt[i]);
+        return data;
+    }
+
+    /**
+     * Vessels from one tag in the pre-region layout (what save(tag, ids) writes), remapping saved keys to this
+     * run's ids through ids. An ingredient whose item no longer exists dooms its brew (it could never match
+     * again); a solid whose block no longer exists is dropped.
+     */
+    public static BrewingVesselData load(CompoundTag tag, CoreRegistries<ResourceLocation> ids) {
+        BrewingVesselData data = new BrewingVesselData();
+        data.readVessels(tag.getList("vessels", Tag.TAG_COMPOUND), ids, NO_RAMP, null);
+        return data;
+    }
+
+    /** Make sure chunk's region is loaded (chunk load: see BrewingTrackingEvents). */
+    public void loadRegion(ChunkPos chunk) {
+        loadRegion(BrewVesselRegionFiles.regionOf(chunk));
+    }
+
+    /**
+     * Read region's vessels in, once per session. A vat stored here that reaches into other regions pulls those
+     * in too, so the vat is whole and its copies stay in step.
+     *
+     * IMPORTANT: mutates the vessel map; never call while iterating.
+     */
+    private void loadRegion(long region) {
+        if (!loadedRegions.add(region)) return;
+        if (files == null) return;
+
+        CompoundTag tag;
+        try {
+            tag = files.read(region);
+        } catch (IOException e) {
+            // Not loaded, so the next save leaves the file alone; the next touch tries again.
+            loadedRegions.remove(region);
+            LOGGER.error("[crookedcraft] Could not read brewing vessel region {},{}",
+                    ChunkPos.getX(region), ChunkPos.getZ(region), e);
+            return;
+        }
+        if (tag == null) {
+            regionsOnDisk.remove(region);
+            return;
+        }
+        regionsOnDisk.add(region);
+
+        writtenTags.put(region, tag);
+        writtenHash.put(region, tag.hashCode());
+        long until = frozenAt.containsKey(region) ? frozenAt.remove(region) : sessionStart;
+        LongArrayList linked = new LongArrayList();
+        readVessels(tag.getList("vessels", Tag.TAG_COMPOUND), ids, until, linked);
+        topologyVersion++;
+
+        for (int i = 0; i < linked.size(); i++) loadRegion(linked.getLong(i));
+    }
+
+    /**
+     * Add list's vessels, skipping any already present (a vat read through another region first).
+     * @param rampsUntil game time the list's saved ramps ran until (UNTIL_SESSION_START: not known until bind), or
+     *                   NO_RAMP to resume them where they started
+     * @param linked if non-null, receives the region of every vat member read
+     */
+    private void readVessels(ListTag list, CoreRegistries<ResourceLocation> ids, long rampsUntil, @Nullable LongArrayList linked) {
+        int missing = 0;
 
-        ListTag list = tag.getList("vessels", Tag.TAG_COMPOUND);
         for (int i = 0; i < list.size(); i++) {
             CompoundTag vtag = list.getCompound(i);
             long pos = vtag.getLong("pos");
+            if (vessels.containsKey(pos) || vatControllerByMember.containsKey(pos)) continue;
 
             VesselState v = new VesselState();
 
@@ -172,7 +710,8 @@ public final class BrewingVesselData extends SavedData {
             // brew state
             v.doomed = vtag.getBoolean("doomed");
             if (vtag.contains("matchedRecipeId")) {
-                v.matchedRecipeId = ResourceLocation.tryParse(vtag.getString("matchedRecipeId"));
+                ResourceLocation recipe = ResourceLocation.tryParse(vtag.getString("matchedRecipeId"));
+                if (recipe != null) v.matchedRecipeId = BrewRecipeCache.recipeKey(recipe);
             }
 
             // ingredients
@@ -181,24 +720,130 @@ public final class BrewingVesselData extends SavedData {
                 CompoundTag it = ingList.getCompound(j);
                 ResourceLocation iid = ResourceLocation.tryParse(it.getString("id"));
                 int count = it.getInt("count");
-                if (iid != null && count > 0) {
-                    v.ingredients.put(iid, count);
+                if (iid == null || count <= 0) continue;
+
+                int item = ids.itemId(iid);
+                if (item < 0) {
+                    v.doomed = true;
+                    v.matchedRecipeId = BrewRecipeCache.NO_RECIPE;
+                    missing++;
+                    continue;
                 }
+                v.ingredients.addTo(item, count);
             }
 
             // thermals
             v.tempC = vtag.contains("tempC") ? vtag.getFloat("tempC") : Float.NaN;
+            v.rampStartC = v.tempC;
+            if (vtag.contains("rampStart") && rampsUntil != NO_RAMP) {
+                v.rampStartTick = vtag.getLong("rampStart");
+                v.replayUntil = vtag.contains("rampEnd") ? vtag.getLong("rampEnd") : rampsUntil;
+            }
             v.lastTempC = vtag.contains("lastTempC") ? vtag.getFloat("lastTempC") : Float.NaN;
 
             // inserted solid
-            v.insertedSolidId = vtag.contains("insertedSolidId") ? vtag.getString("insertedSolidId") : null;
-            if (v.insertedSolidId != null && v.insertedSolidId.isEmpty()) {
-                v.insertedSolidId = null;
+            ResourceLocation solid = vtag.contains("insertedSolidId") ? ResourceLocation.tryParse(vtag.getString("insertedSolidId")) : null;
+            if (solid != null) {
+                int block = ids.blockId(solid);
+                if (block >= 0) v.insertedSolidId = block;
+                else missing++;
+            }
+
+            // vat
+            if (vtag.contains("vatMembers", Tag.TAG_LONG_ARRAY)) {
+                long[] members = vtag.getLongArray("vatMembers");
+                Arrays.sort(members);
+                if (members.length > 1 && members[0] == pos) {
+                    v.vatMembers = members;
+                    for (long m : members) {
+                        if (m != pos) vatControllerByMember.put(m, pos);
+                        if (linked != null) linked.add(BrewVesselRegionFiles.regionOf(m));
+                    }
+                }
             }
 
-            data.vessels.put(pos, v);
+            vessels.put(pos, v);
         }
 
-        return data;
+        if (missing > 0) {
+            LOGGER.warn("[crookedcraft] {} saved brewing ingredient/solid id(s) no longer exist; affected brews were ruined.", missing);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Unloaded regions (BrewOrphanSweeper)
+    // -------------------------------------------------------------------------
+
+    /** Regions with a file that nothing has loaded this session (a copy). */
+    public LongOpenHashSet unloadedRegionsOnDisk() {
+        LongOpenHashSet regions = new LongOpenHashSet(regionsOnDisk);
+        regions.removeAll(loadedRegions);
+        return regions;
+    }
+
+    public boolean isRegionLoaded(long region) {
+        return loadedRegions.contains(region);
+    }
+
+    /**
+     * Positions of the single vessels stored in region's file, read without loading the region. Vats are left
+     * out: their copies span regions, so they are only ever changed loaded. Touches nothing but the file, so it
+     * may run off the server thread.
+     * @return the positions, or null if the region has no file
+     */
+    @Nullable
+    public LongArrayList readUnloadedPositions(long region) throws IOException {
+        CompoundTag tag = files != null ? files.read(region) : null;
+        if (tag == null) return null;
+
+        ListTag list = tag.getList("vessels", Tag.TAG_COMPOUND);
+        LongArrayList positions = new LongArrayList(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag vtag = list.getCompound(i);
+            if (!vtag.contains("vatMembers", Tag.TAG_LONG_ARRAY)) positions.add(vtag.getLong("pos"));
+        }
+        return positions;
+    }
+
+    /**
+     * Drop the single vessels at dead from region's file without loading the region; a file left empty is
+     * deleted. Does nothing once the region is loaded (the loaded copy is what gets saved then).
+     * @return vessels removed
+     */
+    public int purgeUnloaded(long region, LongOpenHashSet dead) {
+        if (files == null || loadedRegions.contains(region)) return 0;
+        try {
+            CompoundTag tag = files.read(region);
+            if (tag == null) {
+                regionsOnDisk.remove(region);
+                return 0;
+            }
+
+            ListTag list = tag.getList("vessels", Tag.TAG_COMPOUND);
+            ListTag kept = new ListTag();
+            for (int i = 0; i < list.size(); i++) {
+                CompoundTag vtag = list.getCompound(i);
+                if (vtag.contains("vatMembers", Tag.TAG_LONG_ARRAY) || !dead.contains(vtag.getLong("pos"))) kept.add(vtag);
+            }
+            int removed = list.size() - kept.size();
+            if (removed == 0) return 0;
+
+            if (kept.isEmpty()) {
+                files.delete(region);
+                regionsOnDisk.remove(region);
+                if (frozenAt.containsKey(region)) {
+                    frozenAt.remove(region);
+                    setDirty();
+                }
+            } else {
+                tag.put("vessels", kept);
+                files.write(region, tag);
+            }
+            return removed;
+        } catch (IOException e) {
+            LOGGER.error("[crookedcraft] Could not purge brewing vessel region {},{}",
+                    ChunkPos.getX(region), ChunkPos.getZ(region), e);
+            return 0;
+        }
     }
 }
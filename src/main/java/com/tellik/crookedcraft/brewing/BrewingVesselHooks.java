@@ -106,7 +106,7 @@ public final class BrewingVesselHooks {
 
         if (resetBrew) {
             v.doomed = false;
-            v.matchedRecipeId = null;
+            v.matchedRecipeId = BrewRecipeCache.NO_RECIPE;
             if (v.ingredients != null) v.ingredients.clear();
         }
 
@@ -0,0 +1,278 @@
+package com.tellik.crookedcraft.brewing;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Cached heat field backing the COLUMN and RADIUS scan modes.
+ *
+ * Two layers, both per level:
+ * - per chunk section: the (usually empty) list of heat-source blocks in it. Built once by a palette check
+ *   (LevelChunkSection#maybeHas skips almost every section without touching its 4096 states) and then kept
+ *   up to date from block changes: a NeighborNotifyEvent only invalidates the section when the changed block is,
+ *   or was, a heat source.
+ * - per vessel position: the resolved HeatInfo, stamped with the generations of the sections its scan touches.
+ *   With ranges capped at MAX_SCAN_RANGE (< 16) a scan touches at most 2x2x2 sections, so a lookup is a
+ *   handful of hash reads however wide the radius is.
+ *
+ * Invalidation: block changes (above), chunk load/unload, level unload, and heat source reload (invalidateAll).
+ * Server thread only.
+ */
+@Mod.EventBusSubscriber(modid = "crookedcraft", bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class HeatField {
+
+    private static final int[] NO_SOURCES_IDX = new int[0];
+    private static final HeatSourceManager.HeatInfo[] NO_SOURCES_INFO = new HeatSourceManager.HeatInfo[0];
+
+    /** Heat sources inside one section: local index (y<<8 | z<<4 | x) + what they are. */
+    private record SectionSources(int[] localIdx, HeatSourceManager.HeatInfo[] infos) {
+        static final SectionSources EMPTY = new SectionSources(NO_SOURCES_IDX, NO_SOURCES_INFO);
+
+        boolean contains(int idx) {
+            for (int i : localIdx) if (i == idx) return true;
+            return false;
+        }
+    }
+
+    private record Resolved(long stamp, HeatSourceManager.HeatInfo info) {}
+
+    private static final class Field {
+        final Long2ObjectOpenHashMap<SectionSources> sections = new Long2ObjectOpenHashMap<>();
+        // Monotonic per-section generation; never reset while the level lives, so stamps can't collide.
+        final Long2IntOpenHashMap sectionGen = new Long2IntOpenHashMap();
+        final Long2ObjectOpenHashMap<Resolved> byVessel = new Long2ObjectOpenHashMap<>();
+        int epoch;
+    }
+
+    private static final Map<ServerLevel, Field> FIELDS = new WeakHashMap<>();
+
+    // Bumped by heat source reload (may run off the server thread); fields compare lazily.
+    private static volatile int globalEpoch = 0;
+
+    private HeatField() {}
+
+    public static void invalidateAll() {
+        globalEpoch++;
+    }
+
+    // -------------------------------------------------------------------------
+    // Lookup
+    // -------------------------------------------------------------------------
+
+    public static HeatSourceManager.HeatInfo lookup(ServerLevel level, BlockPos pos, HeatSourceManager.ScanMode mode, int range) {
+        Field f = field(level);
+
+        int minX, maxX, minY, maxY, minZ, maxZ;
+        if (mode == HeatSourceManager.ScanMode.COLUMN) {
+            minX = maxX = pos.getX();
+            minZ = maxZ = pos.getZ();
+            minY = pos.getY() - range;
+            maxY = pos.getY() - 1;
+        } else {
+            minX = pos.getX() - range;
+            maxX = pos.getX() + range;
+            minY = pos.getY() - range;
+            maxY = pos.getY() + range;
+            minZ = pos.getZ() - range;
+            maxZ = pos.getZ() + range;
+        }
+
+        int sx0 = SectionPos.blockToSectionCoord(minX), sx1 = SectionPos.blockToSectionCoord(maxX);
+        int sy0 = SectionPos.blockToSectionCoord(minY), sy1 = SectionPos.blockToSectionCoord(maxY);
+        int sz0 = SectionPos.blockToSectionCoord(minZ), sz1 = SectionPos.blockToSectionCoord(maxZ);
+
+        long stamp = 0L;
+        for (int sx = sx0; sx <= sx1; sx++)
+            for (int sy = sy0; sy <= sy1; sy++)
+                for (int sz = sz0; sz <= sz1; sz++)
+                    stamp += f.sectionGen.get(SectionPos.asLong(sx, sy, sz));
+
+        long key = pos.asLong();
+        Resolved cached = f.byVessel.get(key);
+        if (cached != null && cached.stamp() == stamp) return cached.info();
+
+        HeatSourceManager.HeatInfo best = null;
+        int bestDist = Integer.MAX_VALUE;
+
+        for (int sx = sx0; sx <= sx1; sx++) {
+            for (int sy = sy0; sy <= sy1; sy++) {
+                for (int sz = sz0; sz <= sz1; sz++) {
+                    SectionSources src = sources(level, f, sx, sy, sz);
+                    for (int i = 0; i < src.localIdx().length; i++) {
+                        int idx = src.localIdx()[i];
+                        int x = SectionPos.sectionToBlockCoord(sx) + (idx & 15);
+                        int y = SectionPos.sectionToBlockCoord(sy) + (idx >> 8);
+                        int z = SectionPos.sectionToBlockCoord(sz) + ((idx >> 4) & 15);
+                        if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) continue;
+
+                        int dist = Math.max(Math.abs(x - pos.getX()), Math.max(Math.abs(y - pos.getY()), Math.abs(z - pos.getZ())));
+                        if (dist == 0) continue;
+
+                        HeatSourceManager.HeatInfo info = src.infos()[i];
+                        // COLUMN: nearest wins. RADIUS: hottest wins, nearest breaks ties.
+                        boolean better = (best == null)
+                                || (mode == HeatSourceManager.ScanMode.COLUMN
+                                    ? dist < bestDist
+                                    : info.profile.maxTempC() > best.profile.maxTempC()
+                                        || (info.profile.maxTempC() == best.profile.maxTempC() && dist < bestDist));
+                        if (better) {
+                            best = info;
+                            bestDist = dist;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Farther sources heat more slowly (same max temp).
+        HeatSourceManager.HeatInfo result = best;
+        if (best != null && bestDist > 1) {
+            HeatSourceManager.HeatProfile p = best.profile;
+            result = new HeatSourceManager.HeatInfo(best.isFluid, best.sourceId,
+                    new HeatSourceManager.HeatProfile(p.maxTempC(), p.heatPerTickC() / bestDist));
+        }
+
+        f.byVessel.put(key, new Resolved(stamp, result));
+        return result;
+    }
+
+    private static Field field(ServerLevel level) {
+        Field f = FIELDS.computeIfAbsent(level, l -> new Field());
+        int epoch = globalEpoch;
+        if (f.epoch != epoch) {
+            f.epoch = epoch;
+            f.sections.clear();
+            f.byVessel.clear();
+        }
+        return f;
+    }
+
+    private static SectionSources sources(ServerLevel level, Field f, int sx, int sy, int sz) {
+        long sKey = SectionPos.asLong(sx, sy, sz);
+        SectionSources cached = f.sections.get(sKey);
+        if (cached != null) return cached;
+
+        // Not loaded: treat as empty but don't cache; the chunk load bumps this section's generation.
+        LevelChunk chunk = level.getChunkSource().getChunkNow(sx, sz);
+        if (chunk == null) return SectionSources.EMPTY;
+
+        SectionSources built = scan(chunk, sy);
+        f.sections.put(sKey, built);
+        return built;
+    }
+
+    private static SectionSources scan(LevelChunk chunk, int sy) {
+        int index = chunk.getSectionIndexFromSectionY(sy);
+        if (index < 0 || index >= chunk.getSectionsCount()) return SectionSources.EMPTY;
+
+        LevelChunkSection section = chunk.getSection(index);
+        if (section.hasOnlyAir() || !HeatSourceManager.hasAnySources()) return SectionSources.EMPTY;
+        if (!section.maybeHas(s -> HeatSourceManager.sourceAt(s) != null)) return SectionSources.EMPTY;
+
+        int[] idx = new int[8];
+        HeatSourceManager.HeatInfo[] infos = new HeatSourceManager.HeatInfo[8];
+        int n = 0;
+
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    HeatSourceManager.HeatInfo info = HeatSourceManager.sourceAt(section.getBlockState(x, y, z));
+                    if (info == null) continue;
+
+                    if (n == idx.length) {
+                        idx = Arrays.copyOf(idx, n * 2);
+                        infos = Arrays.copyOf(infos, n * 2);
+                    }
+                    idx[n] = (y << 8) | (z << 4) | x;
+                    infos[n] = info;
+                    n++;
+                }
+            }
+        }
+
+        if (n == 0) return SectionSources.EMPTY;
+        return new SectionSources(Arrays.copyOf(idx, n), Arrays.copyOf(infos, n));
+    }
+
+    // -------------------------------------------------------------------------
+    // Invalidation
+    // -------------------------------------------------------------------------
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (HeatSourceManager.getScanMode() == HeatSourceManager.ScanMode.BELOW_ONLY) return;
+
+        Field f = FIELDS.get(level);
+        if (f == null) return;
+
+        BlockPos pos = event.getPos();
+        long sKey = SectionPos.asLong(pos);
+        SectionSources cached = f.sections.get(sKey);
+        if (cached == null) return; // nothing built from it yet
+
+        BlockState now = event.getState();
+        int idx = ((pos.getY() & 15) << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15);
+
+        // Only changes that add, remove or swap a heat source matter.
+        if (HeatSourceManager.sourceAt(now) == null && !cached.contains(idx)) return;
+
+        f.sections.remove(sKey);
+        f.sectionGen.addTo(sKey, 1);
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Field f = FIELDS.get(level);
+        if (f != null) bumpChunk(f, event.getChunk().getPos(), level, false);
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Field f = FIELDS.get(level);
+        if (f != null) bumpChunk(f, event.getChunk().getPos(), level, true);
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) FIELDS.remove(level);
+    }
+
+    private static void bumpChunk(Field f, ChunkPos cp, ServerLevel level, boolean dropVessels) {
+        for (int sy = level.getMinSection(); sy < level.getMaxSection(); sy++) {
+            long sKey = SectionPos.asLong(cp.x, sy, cp.z);
+            f.sections.remove(sKey);
+            f.sectionGen.addTo(sKey, 1);
+        }
+
+        if (!dropVessels || f.byVessel.isEmpty()) return;
+        ObjectIterator<Long2ObjectMap.Entry<Resolved>> it = f.byVessel.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            long key = it.next().getLongKey();
+            if (SectionPos.blockToSectionCoord(BlockPos.getX(key)) == cp.x
+                    && SectionPos.blockToSectionCoord(BlockPos.getZ(key)) == cp.z) {
+                it.remove();
+            }
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package com.tellik.crookedcraft.brewing;
 
 import com.mojang.logging.LogUtils;
+import com.tellik.crookedcraft.brewing.core.ThermalProfile;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.StateDefinition;
+import net.minecraft.world.level.block.state.properties.Property;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraftforge.registries.ForgeRegistries;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Datapack-driven heat definitions for Brewing (THERMAL ONLY).
@@ -25,11 +34,31 @@ import java.util.Map;
 public final class HeatSourceManager {
     private static final Logger LOGGER = LogUtils.getLogger();
 
+    /**
+     * Where a vessel looks for heat.
+     * - BELOW_ONLY: the block directly underneath
+     * - COLUMN: the nearest source straight down, within column_depth blocks
+     * - RADIUS: the hottest source within scan_radius blocks (cube), rate falling off with distance
+     *
+     * COLUMN and RADIUS read from HeatField's cached per-section source lists, so lookups don't grow with the range.
+     */
     public enum ScanMode {
-        BELOW_ONLY
+        BELOW_ONLY,
+        COLUMN,
+        RADIUS
     }
 
-    public record HeatProfile(float maxTempC, float heatPerTickC) {}
+    public static final int MAX_SCAN_RANGE = 8;
+
+    public record HeatProfile(float maxTempC, float heatPerTickC) implements ThermalProfile {}
+
+    /**
+     * Optional vessel-to-vessel conduction (see BrewConduction).
+     * coefficient: fraction of the temperature difference exchanged per touching face per tick.
+     */
+    public record Conduction(boolean enabled, float coefficient) {
+        public static final Conduction DISABLED = new Conduction(false, 0.0f);
+    }
 
     public static final class HeatInfo {
         public final boolean isFluid;
@@ -51,32 +80,85 @@ public final class HeatSourceManager {
         }
     }
 
-    private static volatile ScanMode scanMode = ScanMode.BELOW_ONLY;
+    private HeatSourceManager() {}
+
+    /**
+     * Everything a heat_sources.json resolves to. Built by compile() (any thread; HeatSourceReloadListener calls
+     * it from its off-thread prepare phase) and read through the published BrewingRuntime.
+     *
+     * stateInfos is compiled per BlockState (so "when" conditions cost nothing at lookup) and pre-wrapped (no
+     * HeatInfo per query). A state missing from the map is not a heat source, e.g. an unlit furnace.
+     */
+    public record Compiled(ScanMode scanMode,
+                           int scanRange,
+                           float heatPerTickScale,
+                           Map<Fluid, HeatProfile> fluidProfiles,
+                           Map<BlockState, HeatInfo> stateInfos,
+                           Map<Fluid, HeatInfo> fluidInfos,
+                           Conduction conduction) {
+        static final Compiled EMPTY = new Compiled(ScanMode.BELOW_ONLY, 1, 1.0f,
+                Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+                Conduction.DISABLED);
 
-    private static volatile Map<Block, HeatProfile> blockProfiles = Collections.emptyMap();
-    private static volatile Map<Fluid, HeatProfile> fluidProfiles = Collections.emptyMap();
+        Compiled withConduction(Conduction newConduction) {
+            return new Compiled(scanMode, scanRange, heatPerTickScale, fluidProfiles, stateInfos, fluidInfos,
+                    (newConduction != null) ? newConduction : Conduction.DISABLED);
+        }
+    }
 
-    private HeatSourceManager() {}
+    private static Compiled tables() {
+        return BrewingRuntime.current().heat();
+    }
 
     public static ScanMode getScanMode() {
-        return scanMode;
+        return tables().scanMode();
+    }
+
+    /** scan_radius (RADIUS) or column_depth (COLUMN); 1 for BELOW_ONLY. */
+    public static int getScanRange() {
+        return tables().scanRange();
+    }
+
+    public static Conduction getConduction() {
+        return tables().conduction();
+    }
+
+    public static void applyConduction(Conduction newConduction) {
+        apply(tables().withConduction(newConduction));
     }
 
     /**
-     * Apply datapack values.
+     * Apply datapack values (compile + apply in one go, on the calling thread).
      * @param newMode scan mode
      * @param blocks map of block id -> entry
      * @param fluids map of fluid id -> entry
      * @param heatPerTickScale global scale applied to all heatPerTickC
+     * @param newRange scan_radius / column_depth, clamped to 1..MAX_SCAN_RANGE
      */
     public static void applyFromDatapackThermal(
             ScanMode newMode,
             Map<ResourceLocation, HeatEntry> blocks,
             Map<ResourceLocation, HeatEntry> fluids,
-            float heatPerTickScale
+            float heatPerTickScale,
+            int newRange
+    ) {
+        apply(compile(newMode, blocks, fluids, heatPerTickScale, newRange, getConduction()));
+    }
+
+    /**
+     * Resolve registry ids and expand block entries over their states. Reads registries only, never the live
+     * tables, so it is safe off the server thread.
+     */
+    public static Compiled compile(
+            ScanMode newMode,
+            Map<ResourceLocation, HeatEntry> blocks,
+            Map<ResourceLocation, HeatEntry> fluids,
+            float heatPerTickScale,
+            int newRange,
+            Conduction newConduction
     ) {
-        Map<Block, HeatProfile> resolvedBlockProfiles = new HashMap<>();
         Map<Fluid, HeatProfile> resolvedFluidProfiles = new HashMap<>();
+        Map<BlockState, HeatInfo> resolvedStateInfos = new IdentityHashMap<>();
 
         // Blocks
         for (Map.Entry<ResourceLocation, HeatEntry> e : blocks.entrySet()) {
@@ -89,11 +171,7 @@ public final class HeatSourceManager {
                 continue;
             }
 
-            if (he.profile != null) {
-                HeatProfile p = he.profile;
-                HeatProfile scaled = new HeatProfile(p.maxTempC(), p.heatPerTickC() * heatPerTickScale);
-                resolvedBlockProfiles.put(b, scaled);
-            }
+            compileBlockStates(id, b, he, heatPerTickScale, resolvedStateInfos);
         }
 
         // Fluids
@@ -114,12 +192,39 @@ public final class HeatSourceManager {
             }
         }
 
-        scanMode = newMode;
-        blockProfiles = Collections.unmodifiableMap(resolvedBlockProfiles);
-        fluidProfiles = Collections.unmodifiableMap(resolvedFluidProfiles);
+        Map<Fluid, HeatInfo> resolvedFluidInfos = new HashMap<>();
+        resolvedFluidProfiles.forEach((f, p) -> resolvedFluidInfos.put(f, new HeatInfo(true, idOf(ForgeRegistries.FLUIDS.getKey(f)), p)));
 
-        LOGGER.info("[crookedcraft] Loaded heat sources: profiles(blocks={} fluids={}) scan_mode={} heat_per_tick_scale={}",
-                blockProfiles.size(), fluidProfiles.size(), scanMode, heatPerTickScale);
+        int range = (newMode == ScanMode.BELOW_ONLY) ? 1 : Math.max(1, Math.min(MAX_SCAN_RANGE, newRange));
+        return new Compiled(
+                newMode,
+                range,
+                heatPerTickScale,
+                Collections.unmodifiableMap(resolvedFluidProfiles),
+                Collections.unmodifiableMap(resolvedStateInfos),
+                Collections.unmodifiableMap(resolvedFluidInfos),
+                (newConduction != null) ? newConduction : Conduction.DISABLED
+        );
+    }
+
+    /**
+     * Stage compiled tables for the next BrewingRuntime publish (server thread; the reload listener's apply).
+     * Ticks keep using the published tables until the whole reload is published together.
+     */
+    public static void stage(Compiled c) {
+        BrewingRuntime.stage(c);
+
+        LOGGER.info("[crookedcraft] Loaded heat sources: profiles(states={} fluids={}) scan_mode={} scan_range={} heat_per_tick_scale={}",
+                c.stateInfos().size(), c.fluidProfiles().size(), c.scanMode(), c.scanRange(), c.heatPerTickScale());
+        if (c.conduction().enabled()) {
+            LOGGER.info("[crookedcraft] Vessel conduction enabled (coefficient={}).", c.conduction().coefficient());
+        }
+    }
+
+    /** Stage and publish right away, keeping the published transforms and recipes (server thread). */
+    public static void apply(Compiled c) {
+        stage(c);
+        BrewingRuntime.publish(null);
     }
 
     /** New API: returns a thermal profile if defined, else null. */
@@ -131,42 +236,116 @@ public final class HeatSourceManager {
     /**
      * Returns detailed heat info for status/debug.
      * scan_mode BELOW_ONLY: only checks cauldronPos.below().
+     * scan_mode COLUMN / RADIUS: see HeatField.
      *
      * @return null if no heat source found
      */
     public static HeatInfo getHeatInfo(Level level, BlockPos cauldronPos) {
-        BlockPos heatPos = cauldronPos.below();
+        Compiled c = tables();
+        if (c.scanMode() != ScanMode.BELOW_ONLY && level instanceof ServerLevel serverLevel) {
+            return HeatField.lookup(serverLevel, cauldronPos, c.scanMode(), c.scanRange());
+        }
+        return sourceAt(level.getBlockState(cauldronPos.below()));
+    }
 
-        // Prefer fluid if present
-        FluidState fs = level.getFluidState(heatPos);
+    /** The heat source a single block state represents (fluid preferred), or null. */
+    public static HeatInfo sourceAt(BlockState state) {
+        Compiled c = tables();
+        FluidState fs = state.getFluidState();
         if (!fs.isEmpty()) {
-            Fluid f = fs.getType();
-            HeatProfile profile = fluidProfiles.get(f);
-            if (profile != null) {
-                ResourceLocation id = ForgeRegistries.FLUIDS.getKey(f);
-                if (id == null) id = ResourceLocation.fromNamespaceAndPath("minecraft", "unknown");
-                return new HeatInfo(true, id, profile);
+            HeatInfo info = c.fluidInfos().get(fs.getType());
+            if (info != null) return info;
+        }
+        return c.stateInfos().get(state);
+    }
+
+    public static boolean hasAnySources() {
+        Compiled c = tables();
+        return !c.stateInfos().isEmpty() || !c.fluidInfos().isEmpty();
+    }
+
+    private static ResourceLocation idOf(ResourceLocation id) {
+        return (id != null) ? id : ResourceLocation.fromNamespaceAndPath("minecraft", "unknown");
+    }
+
+    /**
+     * Expand a block entry over every BlockState of the block. For each state the first variant whose "when"
+     * matches wins; states no variant matches get no heat.
+     */
+    private static void compileBlockStates(ResourceLocation id, Block b, HeatEntry he, float heatPerTickScale,
+                                           Map<BlockState, HeatInfo> out) {
+        StateDefinition<Block, BlockState> def = b.getStateDefinition();
+
+        List<Map<Property<?>, Comparable<?>>> conditions = new ArrayList<>(he.variants.size());
+        List<HeatInfo> infos = new ArrayList<>(he.variants.size());
+
+        for (HeatVariant variant : he.variants) {
+            Map<Property<?>, Comparable<?>> resolved = resolveConditions(id, def, variant.when());
+            if (resolved == null) continue;
+
+            HeatProfile p = variant.profile();
+            conditions.add(resolved);
+            infos.add(new HeatInfo(false, id, new HeatProfile(p.maxTempC(), p.heatPerTickC() * heatPerTickScale)));
+        }
+
+        for (BlockState state : def.getPossibleStates()) {
+            for (int i = 0; i < conditions.size(); i++) {
+                if (matches(state, conditions.get(i))) {
+                    out.put(state, infos.get(i));
+                    break;
+                }
             }
         }
+    }
+
+    /** @return parsed property values, or null (with a warning) if a property/value doesn't exist on this block */
+    private static Map<Property<?>, Comparable<?>> resolveConditions(ResourceLocation id,
+                                                                     StateDefinition<Block, BlockState> def,
+                                                                     Map<String, String> when) {
+        Map<Property<?>, Comparable<?>> resolved = new HashMap<>();
+        for (Map.Entry<String, String> c : when.entrySet()) {
+            Property<?> prop = def.getProperty(c.getKey());
+            if (prop == null) {
+                LOGGER.warn("[crookedcraft] Heat entry '{}': block has no property '{}' - ignoring that variant.", id, c.getKey());
+                return null;
+            }
 
-        // Then block
-        Block b = level.getBlockState(heatPos).getBlock();
-        HeatProfile profile = blockProfiles.get(b);
-        if (profile != null) {
-            ResourceLocation id = ForgeRegistries.BLOCKS.getKey(b);
-            if (id == null) id = ResourceLocation.fromNamespaceAndPath("minecraft", "unknown");
-            return new HeatInfo(false, id, profile);
+            Optional<? extends Comparable<?>> value = prop.getValue(c.getValue());
+            if (value.isEmpty()) {
+                LOGGER.warn("[crookedcraft] Heat entry '{}': '{}' is not a valid value for '{}' - ignoring that variant.",
+                        id, c.getValue(), c.getKey());
+                return null;
+            }
+            resolved.put(prop, value.get());
         }
+        return resolved;
+    }
 
-        return null;
+    private static boolean matches(BlockState state, Map<Property<?>, Comparable<?>> conditions) {
+        for (Map.Entry<Property<?>, Comparable<?>> c : conditions.entrySet()) {
+            if (!state.getValue(c.getKey()).equals(c.getValue())) return false;
+        }
+        return true;
     }
 
+    /**
+     * One datapack profile, optionally limited to block states matching "when" (property name -> value),
+     * e.g. {"lit": "true"} for a burning furnace or lit campfire.
+     */
+    public record HeatVariant(Map<String, String> when, HeatProfile profile) {}
+
     /** Parsed entry from datapack. */
     public static final class HeatEntry {
-        public final HeatProfile profile; // required in thermal-only system
+        public final HeatProfile profile; // first variant; required in thermal-only system
+        public final List<HeatVariant> variants;
 
         public HeatEntry(HeatProfile profile) {
-            this.profile = profile;
+            this(List.of(new HeatVariant(Map.of(), profile)));
+        }
+
+        public HeatEntry(List<HeatVariant> variants) {
+            this.variants = List.copyOf(variants);
+            this.profile = variants.isEmpty() ? null : variants.get(0).profile();
         }
     }
 }
@@ -4,17 +4,33 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.mojang.logging.LogUtils;
+import com.tellik.crookedcraft.brewing.jfr.BrewReloadEvent;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
-import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.GsonHelper;
 import net.minecraft.util.profiling.ProfilerFiller;
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
-public final class HeatSourceReloadListener extends SimpleJsonResourceReloadListener {
+import java.util.Optional;
+
+/**
+ * Loads data/crookedcraft/crookedcraft_brewing/heat_sources.json.
+ *
+ * Reading, parsing and compiling (registry resolution, per-BlockState expansion) all happen in prepare(), off the
+ * server thread; apply() only stages the finished HeatSourceManager.Compiled, which goes live with the rest of the
+ * reload when BrewingRuntime publishes.
+ */
+public final class HeatSourceReloadListener extends SimplePreparableReloadListener<HeatSourceManager.Compiled> {
     private static final Logger LOGGER = LogUtils.getLogger();
 
     private static final Gson GSON = new GsonBuilder()
@@ -22,24 +38,29 @@ public final class HeatSourceReloadListener extends SimpleJsonResourceReloadList
             .disableHtmlEscaping()
             .create();
 
-    public HeatSourceReloadListener() {
-        super(GSON, "crookedcraft_brewing");
-    }
+    private static final ResourceLocation FILE =
+            ResourceLocation.fromNamespaceAndPath("crookedcraft", "crookedcraft_brewing/heat_sources.json");
+
+    public HeatSourceReloadListener() {}
 
     @Override
-    protected void apply(Map<ResourceLocation, JsonElement> elements, ResourceManager manager, ProfilerFiller profiler) {
-        ResourceLocation key = ResourceLocation.fromNamespaceAndPath("crookedcraft", "heat_sources");
-        JsonElement rootEl = elements.get(key);
+    protected HeatSourceManager.Compiled prepare(ResourceManager manager, ProfilerFiller profiler) {
+        BrewReloadEvent parseEvent = new BrewReloadEvent();
+        parseEvent.begin();
+
+        JsonElement rootEl = read(manager);
 
         if (rootEl == null || !rootEl.isJsonObject()) {
             LOGGER.warn("[crookedcraft] Missing or invalid heat_sources.json at data/crookedcraft/crookedcraft_brewing/heat_sources.json");
-            HeatSourceManager.applyFromDatapackThermal(
+            parseEvent.finish("heat_sources", "parse", 0);
+            return HeatSourceManager.compile(
                     HeatSourceManager.ScanMode.BELOW_ONLY,
                     Map.of(),
                     Map.of(),
-                    1.0f
+                    1.0f,
+                    1,
+                    HeatSourceManager.Conduction.DISABLED
             );
-            return;
         }
 
         JsonObject root = rootEl.getAsJsonObject();
@@ -48,6 +69,17 @@ public final class HeatSourceReloadListener extends SimpleJsonResourceReloadList
         if (root.has("scan_mode")) {
             String s = root.get("scan_mode").getAsString();
             if ("below_only".equalsIgnoreCase(s)) mode = HeatSourceManager.ScanMode.BELOW_ONLY;
+            else if ("column".equalsIgnoreCase(s)) mode = HeatSourceManager.ScanMode.COLUMN;
+            else if ("radius".equalsIgnoreCase(s)) mode = HeatSourceManager.ScanMode.RADIUS;
+            else LOGGER.warn("[crookedcraft] Unknown scan_mode '{}' in heat_sources.json - using below_only.", s);
+        }
+
+        // "scan_radius" for radius, "column_depth" for column (both clamped to 1..MAX_SCAN_RANGE).
+        int range = 1;
+        if (mode == HeatSourceManager.ScanMode.RADIUS) {
+            range = root.has("scan_radius") ? root.get("scan_radius").getAsInt() : 2;
+        } else if (mode == HeatSourceManager.ScanMode.COLUMN) {
+            range = root.has("column_depth") ? root.get("column_depth").getAsInt() : 3;
         }
 
         float heatPerTickScale = 1.0f;
@@ -66,7 +98,57 @@ public final class HeatSourceReloadListener extends SimpleJsonResourceReloadList
             parseEntriesObject(root.getAsJsonObject("fluids"), fluidEntries);
         }
 
-        HeatSourceManager.applyFromDatapackThermal(mode, blockEntries, fluidEntries, heatPerTickScale);
+        HeatSourceManager.Conduction conduction = parseConduction(root);
+        parseEvent.finish("heat_sources", "parse", blockEntries.size() + fluidEntries.size());
+
+        BrewReloadEvent compileEvent = new BrewReloadEvent();
+        compileEvent.begin();
+        HeatSourceManager.Compiled compiled =
+                HeatSourceManager.compile(mode, blockEntries, fluidEntries, heatPerTickScale, range, conduction);
+        compileEvent.finish("heat_sources", "compile", compiled.stateInfos().size() + compiled.fluidInfos().size());
+        return compiled;
+    }
+
+    @Override
+    protected void apply(HeatSourceManager.Compiled compiled, ResourceManager manager, ProfilerFiller profiler) {
+        HeatSourceManager.stage(compiled);
+    }
+
+    /** The top pack's heat_sources.json, or null if there is none or it isn't valid JSON. */
+    private static JsonElement read(ResourceManager manager) {
+        Optional<Resource> resource = manager.getResource(FILE);
+        if (resource.isEmpty()) return null;
+
+        try (Reader reader = resource.get().openAsReader()) {
+            return GsonHelper.fromJson(GSON, reader, JsonElement.class);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.error("[crookedcraft] Couldn't parse {}: {}", FILE, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Optional:
+     * "conduction": { "enabled": true, "coefficient": 0.05 }
+     *
+     * coefficient is clamped to (0, 1/6] so a block touching six others can't overshoot in one tick.
+     */
+    private static HeatSourceManager.Conduction parseConduction(JsonObject root) {
+        if (!root.has("conduction") || !root.get("conduction").isJsonObject()) {
+            return HeatSourceManager.Conduction.DISABLED;
+        }
+
+        JsonObject o = root.getAsJsonObject("conduction");
+        boolean enabled = o.has("enabled") && o.get("enabled").getAsBoolean();
+        if (!enabled) return HeatSourceManager.Conduction.DISABLED;
+
+        float k = o.has("coefficient") ? o.get("coefficient").getAsFloat() : 0.05f;
+        if (!Float.isFinite(k) || k <= 0.0f) {
+            LOGGER.warn("[crookedcraft] heat_sources.json conduction.coefficient must be > 0 (got {}) - conduction disabled.", k);
+            return HeatSourceManager.Conduction.DISABLED;
+        }
+
+        return new HeatSourceManager.Conduction(true, Math.min(k, 1.0f / 6.0f));
     }
 
     private static void parseEntriesObject(JsonObject obj, Map<ResourceLocation, HeatSourceManager.HeatEntry> out) {
@@ -80,28 +162,67 @@ public final class HeatSourceReloadListener extends SimpleJsonResourceReloadList
                 continue;
             }
 
-            if (!val.isJsonObject()) {
-                LOGGER.warn("[crookedcraft] Heat entry for '{}' must be an object with max_temp_c + heat_per_tick_c - skipping.", idStr);
-                continue;
+            // Either one profile object, or an array of variants (first matching "when" wins per block state).
+            List<JsonObject> objects = new ArrayList<>();
+            if (val.isJsonObject()) {
+                objects.add(val.getAsJsonObject());
+            } else if (val.isJsonArray()) {
+                for (JsonElement el : val.getAsJsonArray()) {
+                    if (el.isJsonObject()) objects.add(el.getAsJsonObject());
+                }
             }
 
-            JsonObject o = val.getAsJsonObject();
-
-            if (!o.has("max_temp_c") || !o.has("heat_per_tick_c")) {
-                LOGGER.warn("[crookedcraft] Heat entry '{}' missing max_temp_c or heat_per_tick_c - skipping.", idStr);
+            if (objects.isEmpty()) {
+                LOGGER.warn("[crookedcraft] Heat entry for '{}' must be an object (or array of objects) with max_temp_c + heat_per_tick_c - skipping.", idStr);
                 continue;
             }
 
-            float max = o.get("max_temp_c").getAsFloat();
-            float dT = o.get("heat_per_tick_c").getAsFloat();
+            List<HeatSourceManager.HeatVariant> variants = new ArrayList<>();
+            for (JsonObject o : objects) {
+                HeatSourceManager.HeatVariant v = parseVariant(idStr, o);
+                if (v != null) variants.add(v);
+            }
 
-            // Allow negative/zero max temps. Require a positive finite rate.
-            if (!Float.isFinite(max) || !Float.isFinite(dT) || dT <= 0.0f) {
-                LOGGER.warn("[crookedcraft] Heat entry '{}' invalid values (max={}, dT={}) - skipping.", idStr, max, dT);
-                continue;
+            if (!variants.isEmpty()) {
+                out.put(id, new HeatSourceManager.HeatEntry(variants));
             }
+        }
+    }
 
-            out.put(id, new HeatSourceManager.HeatEntry(new HeatSourceManager.HeatProfile(max, dT)));
+    /**
+     * { "max_temp_c": 220.0, "heat_per_tick_c": 1.4, "when": { "lit": "true" } }
+     * "when" is optional (block entries only; fluids ignore it).
+     */
+    private static HeatSourceManager.HeatVariant parseVariant(String idStr, JsonObject o) {
+        if (!o.has("max_temp_c") || !o.has("heat_per_tick_c")) {
+            LOGGER.warn("[crookedcraft] Heat entry '{}' missing max_temp_c or heat_per_tick_c - skipping.", idStr);
+            return null;
         }
+
+        float max = o.get("max_temp_c").getAsFloat();
+        float dT = o.get("heat_per_tick_c").getAsFloat();
+
+        // Allow negative/zero max temps. Require a positive finite rate.
+        if (!Float.isFinite(max) || !Float.isFinite(dT) || dT <= 0.0f) {
+            LOGGER.warn("[crookedcraft] Heat entry '{}' invalid values (max={}, dT={}) - skipping.", idStr, max, dT);
+            return null;
+        }
+
+        Map<String, String> when = new HashMap<>();
+        if (o.has("when")) {
+            if (!o.get("when").isJsonObject()) {
+                LOGGER.warn("[crookedcraft] Heat entry '{}' has a non-object \"when\" - skipping.", idStr);
+                return null;
+            }
+            for (Map.Entry<String, JsonElement> c : o.getAsJsonObject("when").entrySet()) {
+                if (!c.getValue().isJsonPrimitive()) {
+                    LOGGER.warn("[crookedcraft] Heat entry '{}' condition '{}' must be a string/number/boolean - skipping.", idStr, c.getKey());
+                    return null;
+                }
+                when.put(c.getKey(), c.getValue().getAsString());
+            }
+        }
+
+        return new HeatSourceManager.HeatVariant(Map.copyOf(when), new HeatSourceManager.HeatProfile(max, dT));
     }
 }
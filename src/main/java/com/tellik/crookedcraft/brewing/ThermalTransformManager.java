@@ -1,7 +1,11 @@
 package com.tellik.crookedcraft.brewing;
 
 import com.mojang.logging.LogUtils;
+import com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity;
+import com.tellik.crookedcraft.brewing.core.TransformTable;
+import com.tellik.crookedcraft.brewing.jfr.BrewTransformEvent;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.Containers;
@@ -73,23 +77,51 @@ public final class ThermalTransformManager {
             boolean resetBrew
     ) {}
 
-    private static volatile Map<Block, List<ThermalTransform>> transformsByBlock = Collections.emptyMap();
-
     private ThermalTransformManager() {}
 
     // -------------------------------------------------------------------------
     // Public API: loading / queries
     // -------------------------------------------------------------------------
 
-    public static void applyTransforms(Map<ResourceLocation, List<ThermalTransform>> defs) {
-        Map<Block, List<ThermalTransform>> resolved = new HashMap<>();
+    /**
+     * Resolved transforms plus their runtime decision table (see buildTable(); keyed by Block#getId(state)).
+     * Built by compile() (any thread; ThermalTransformReloadListener calls it from its off-thread prepare phase)
+     * and read through the published BrewingRuntime.
+     */
+    public static final class Compiled {
+        static final Compiled EMPTY = new Compiled(Collections.emptyMap(), TransformTable.empty());
 
-        if (defs == null || defs.isEmpty()) {
-            transformsByBlock = Collections.emptyMap();
-            LOGGER.warn("[crookedcraft] Loaded thermal transforms: 0 source block(s). (defs empty)");
-            return;
+        private final Map<Block, List<ThermalTransform>> byBlock;
+        private final TransformTable<CompiledTransform> table;
+
+        private Compiled(Map<Block, List<ThermalTransform>> byBlock, TransformTable<CompiledTransform> table) {
+            this.byBlock = byBlock;
+            this.table = table;
         }
 
+        public int sourceBlockCount() {
+            return byBlock.size();
+        }
+
+        public int stateCount() {
+            return table.stateCount();
+        }
+    }
+
+    /** compile + apply in one go, on the calling thread. */
+    public static void applyTransforms(Map<ResourceLocation, List<ThermalTransform>> defs) {
+        apply(compile(defs));
+    }
+
+    /**
+     * Validate defs against the registries and build the per-BlockState decision table. Reads registries only,
+     * never the live tables, so it is safe off the server thread.
+     */
+    public static Compiled compile(Map<ResourceLocation, List<ThermalTransform>> defs) {
+        if (defs == null || defs.isEmpty()) return Compiled.EMPTY;
+
+        Map<Block, List<ThermalTransform>> resolved = new HashMap<>();
+
         for (Map.Entry<ResourceLocation, List<ThermalTransform>> e : defs.entrySet()) {
             ResourceLocation fromId = e.getKey();
             Block fromBlock = ForgeRegistries.BLOCKS.getValue(fromId);
@@ -141,21 +173,43 @@ public final class ThermalTransformManager {
             }
         }
 
-        transformsByBlock = Collections.unmodifiableMap(resolved);
+        return new Compiled(Collections.unmodifiableMap(resolved), buildTable(resolved));
+    }
+
+    private static Compiled tables() {
+        return BrewingRuntime.current().transforms();
+    }
 
-        LOGGER.info("[crookedcraft] Loaded thermal transforms: {} source block(s).", transformsByBlock.size());
-        if (!transformsByBlock.isEmpty()) {
-            LOGGER.info("[crookedcraft] Thermal transform sources:");
-            for (Block b : transformsByBlock.keySet()) {
-                ResourceLocation id = ForgeRegistries.BLOCKS.getKey(b);
-                LOGGER.info("[crookedcraft]  - {} ({} transform(s))", id, transformsByBlock.get(b).size());
+    /**
+     * Stage a compiled set for the next BrewingRuntime publish (server thread; the reload listener's apply).
+     * Ticks keep using the published set until the whole reload is published together.
+     */
+    public static void stage(Compiled c) {
+        BrewingRuntime.stage(c);
+
+        if (c.byBlock.isEmpty()) {
+            LOGGER.warn("[crookedcraft] Loaded thermal transforms: 0 source block(s).");
+            return;
+        }
+
+        LOGGER.info("[crookedcraft] Loaded thermal transforms: {} source block(s), {} compiled state table(s).",
+                c.sourceBlockCount(), c.stateCount());
+        if (LOGGER.isDebugEnabled()) {
+            for (Map.Entry<Block, List<ThermalTransform>> e : c.byBlock.entrySet()) {
+                LOGGER.debug("[crookedcraft]  - {} ({} transform(s))", ForgeRegistries.BLOCKS.getKey(e.getKey()), e.getValue().size());
             }
         }
     }
 
+    /** Stage and publish right away, keeping the published heat tables and recipes (server thread). */
+    public static void apply(Compiled c) {
+        stage(c);
+        BrewingRuntime.publish(null);
+    }
+
     /** Used by status formatting / debugging. */
     public static List<ThermalTransform> getTransformsFor(Block block) {
-        List<ThermalTransform> list = transformsByBlock.get(block);
+        List<ThermalTransform> list = tables().byBlock.get(block);
         return list == null ? Collections.emptyList() : list;
     }
 
@@ -166,7 +220,7 @@ public final class ThermalTransformManager {
     public static boolean isSolidRelevantFor(Block vesselBlock, ResourceLocation solidId) {
         if (vesselBlock == null || solidId == null) return false;
 
-        List<ThermalTransform> list = transformsByBlock.get(vesselBlock);
+        List<ThermalTransform> list = tables().byBlock.get(vesselBlock);
         if (list == null || list.isEmpty()) return false;
 
         for (ThermalTransform t : list) {
@@ -189,6 +243,10 @@ public final class ThermalTransformManager {
     /**
      * Main transform application called from tick loop.
      * Returns true if a transform applied (and the tick loop should continue).
+     *
+     * Same semantics as the declared lists (first matching transform in declaration order wins), but resolved
+     * through the compiled TransformTable: level gates are already folded in, thresholds are binary-searched,
+     * and the output state / drops were resolved at reload, so there is no registry access here.
      */
     public static boolean tryApplyTransforms(ServerLevel level,
                                              BlockPos pos,
@@ -197,90 +255,150 @@ public final class ThermalTransformManager {
                                              Iterator<Map.Entry<Long, BrewingVesselData.VesselState>> dataIterator,
                                              BrewingVesselData data) {
 
-        List<ThermalTransform> list = transformsByBlock.get(state.getBlock());
-        if (list == null || list.isEmpty()) return false;
+        TransformTable<CompiledTransform> compiled = tables().table;
+        int stateId = Block.getId(state);
+        if (!compiled.hasRules(stateId)) return false;
+        if (v == null) return false;
 
-        float tempC = (v != null && !Float.isNaN(v.tempC)) ? v.tempC : Float.NaN;
-        int lvl = getCauldronLevel(state);
-        ResourceLocation insertedSolid = getInsertedSolidId(level, pos, v);
+        // Only solid-gated states need the solid at all.
+        int solidId = TransformTable.NO_SOLID;
+        if (compiled.needsSolid(stateId)) solidId = getInsertedSolidRawId(level, pos, v);
 
-        for (ThermalTransform t : list) {
+        CompiledTransform ct = compiled.find(stateId, solidId, v.tempC);
+        if (ct == null) return false;
 
-            // Threshold
-            if (t.mode() == Mode.COOLING) {
-                if (Float.isNaN(tempC) || tempC > t.thresholdC()) continue;
-            } else {
-                if (Float.isNaN(tempC) || tempC < t.thresholdC()) continue;
-            }
+        ThermalTransform t = ct.source();
 
-            // Level gating
-            if (t.requiredLevel != null && lvl != t.requiredLevel.intValue()) continue;
-            if (t.minLevel != null && lvl < t.minLevel.intValue()) continue;
-            if (t.maxLevel != null && lvl > t.maxLevel.intValue()) continue;
+        BrewTransformEvent jfr = new BrewTransformEvent();
+        jfr.begin();
+        float tempBefore = v.tempC; // before reset_brew clears it
 
-            // Solid gating
-            if (t.requiresSolidId != null) {
-                if (insertedSolid == null) continue;
-                if (!t.requiresSolidId.equals(insertedSolid)) continue;
-            }
+        level.setBlock(pos, ct.out(), 3);
+        level.gameEvent(null, GameEvent.BLOCK_CHANGE, pos);
 
-            // Resolve output block
-            Block setBlock = ForgeRegistries.BLOCKS.getValue(t.setBlockId());
-            if (setBlock == null) continue;
+        // Clear solid (BE + fallback state) before we possibly store a new one from "drop"
+        if (ct.clearSolid()) {
+            clearInsertedSolidId(level, pos, v);
+        }
 
-            boolean blockChanges = (state.getBlock() != setBlock);
+        // reset_brew: wipe ingredients/recipe/thermals so it behaves like a fresh vessel
+        if (t.resetBrew) {
+            v.clearAll();
+        }
 
-            // If the block changes OR the transform says to consume/clear OR we reset brew,
-            // clear whatever solid is currently stored.
-            boolean shouldClearSolid = t.consumeSolid || blockChanges || t.resetBrew;
+        // DROP BEHAVIOR CHANGE:
+        // If drop item is a BlockItem (ice/obsidian/etc), store it as the vessel solid instead of dropping.
+        if (ct.storeSolidId() != null) {
+            storeSolid(level, pos, v, ct.storeSolidId());
+        }
+        if (!ct.dropTemplate().isEmpty()) {
+            Containers.dropItemStack(level, pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5, ct.dropTemplate().copy());
+        }
 
-            // Apply new blockstate
-            BlockState out = setBlock.defaultBlockState();
-            out = applyOutputLevel(out, state, t.setLevel, t.preserveLevel);
+        // Untrack if requested
+        if (t.untrack) {
+            dataIterator.remove();
+        }
 
-            level.setBlock(pos, out, 3);
-            level.gameEvent(null, GameEvent.BLOCK_CHANGE, pos);
+        data.setDirty();
+
+        jfr.end();
+        if (jfr.shouldCommit()) {
+            jfr.x = pos.getX();
+            jfr.y = pos.getY();
+            jfr.z = pos.getZ();
+            jfr.fromBlock = String.valueOf(BuiltInRegistries.BLOCK.getKey(state.getBlock()));
+            jfr.toBlock = String.valueOf(BuiltInRegistries.BLOCK.getKey(ct.out().getBlock()));
+            jfr.tempC = tempBefore;
+            jfr.commit();
+        }
+        return true;
+    }
 
-            // Clear solid (BE + fallback state) before we possibly store a new one from "drop"
-            if (shouldClearSolid) {
-                clearInsertedSolidId(level, pos, v);
-            }
+    // -------------------------------------------------------------------------
+    // Compiled decision tables
+    // -------------------------------------------------------------------------
 
-            // reset_brew: wipe ingredients/recipe/thermals so it behaves like a fresh vessel
-            if (t.resetBrew && v != null) {
-                v.clearAll();
-            }
+    /**
+     * A transform resolved for one source BlockState.
+     * dropTemplate: what gets dropped as an item (never hand it out; copy). storeSolidId: block to store as the
+     * vessel's solid instead (BlockItem drops), or null.
+     */
+    private record CompiledTransform(ThermalTransform source,
+                                     BlockState out,
+                                     boolean clearSolid,
+                                     ResourceLocation storeSolidId,
+                                     ItemStack dropTemplate) {}
+
+    /**
+     * Every possible state of every source block gets its own rule list (level gates are fixed per state, so
+     * they're folded in here); the core TransformTable does the threshold/solid lookup.
+     */
+    private static TransformTable<CompiledTransform> buildTable(Map<Block, List<ThermalTransform>> byBlock) {
+        TransformTable.Builder<CompiledTransform> builder = TransformTable.builder();
 
-            // DROP BEHAVIOR CHANGE:
-            // If drop item is a BlockItem (ice/obsidian/etc), store it as the vessel solid instead of dropping.
-            if (t.drop != null) {
-                int count = Math.max(1, t.drop.count());
+        for (Map.Entry<Block, List<ThermalTransform>> e : byBlock.entrySet()) {
+            List<ThermalTransform> list = e.getValue();
 
-                boolean storedAsSolid = tryStoreDropAsSolid(level, pos, v, t.drop.itemId(), count);
+            for (BlockState state : e.getKey().getStateDefinition().getPossibleStates()) {
+                int lvl = getCauldronLevel(state);
+                int stateId = Block.getId(state);
 
-                if (!storedAsSolid) {
-                    // Original behavior for non-block items
-                    Item dropItem = ForgeRegistries.ITEMS.getValue(t.drop.itemId());
-                    if (dropItem != null) {
-                        ItemStack dropStack = new ItemStack(dropItem, count);
-                        Containers.dropItemStack(level, pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5, dropStack);
+                for (int order = 0; order < list.size(); order++) {
+                    ThermalTransform t = list.get(order);
+
+                    if (t.requiredLevel != null && lvl != t.requiredLevel.intValue()) continue;
+                    if (t.minLevel != null && lvl < t.minLevel.intValue()) continue;
+                    if (t.maxLevel != null && lvl > t.maxLevel.intValue()) continue;
+
+                    int solidId = TransformTable.NO_SOLID;
+                    if (t.requiresSolidId != null) {
+                        solidId = BrewingCoreBindings.REGISTRIES.blockId(t.requiresSolidId);
+                        // Unknown solid ids can never match anything stored in a vessel.
+                        if (solidId < 0) continue;
                     }
+
+                    CompiledTransform ct = compileOne(t, state);
+                    if (ct == null) continue;
+
+                    builder.add(stateId, new TransformTable.Rule<>(order, t.mode() == Mode.COOLING, t.thresholdC(), solidId, ct));
                 }
             }
+        }
 
-            // Untrack if requested
-            if (t.untrack) {
-                dataIterator.remove();
-            }
+        return builder.build();
+    }
 
-            data.setDirty();
-            return true;
+    private static CompiledTransform compileOne(ThermalTransform t, BlockState from) {
+        Block setBlock = ForgeRegistries.BLOCKS.getValue(t.setBlockId());
+        if (setBlock == null) return null;
+
+        BlockState out = applyOutputLevel(setBlock.defaultBlockState(), from, t.setLevel, t.preserveLevel);
+
+        // If the block changes OR the transform says to consume/clear OR we reset brew,
+        // clear whatever solid is currently stored.
+        boolean blockChanges = (from.getBlock() != setBlock);
+        boolean clearSolid = t.consumeSolid || blockChanges || t.resetBrew;
+
+        ResourceLocation storeSolidId = null;
+        ItemStack dropTemplate = ItemStack.EMPTY;
+
+        if (t.drop != null) {
+            int count = Math.max(1, t.drop.count());
+            Item dropItem = ForgeRegistries.ITEMS.getValue(t.drop.itemId());
+
+            if (dropItem instanceof BlockItem bi && ForgeRegistries.BLOCKS.getKey(bi.getBlock()) != null) {
+                // We store EXACTLY one solid in the vessel; the rest drops to avoid silent loss.
+                storeSolidId = ForgeRegistries.BLOCKS.getKey(bi.getBlock());
+                if (count > 1) dropTemplate = new ItemStack(dropItem, count - 1);
+            } else if (dropItem != null) {
+                dropTemplate = new ItemStack(dropItem, count);
+            }
         }
 
-        return false;
+        return new CompiledTransform(t, out, clearSolid, storeSolidId, dropTemplate);
     }
 
-
     // -------------------------------------------------------------------------
     // Back-compat wrapper (still handy)
     // -------------------------------------------------------------------------
@@ -315,7 +433,7 @@ public final class ThermalTransformManager {
     }
 
     public static CoolingTransform getCoolingTransformFor(Block block) {
-        List<ThermalTransform> list = transformsByBlock.get(block);
+        List<ThermalTransform> list = tables().byBlock.get(block);
         if (list == null) return null;
 
         for (ThermalTransform t : list) {
@@ -369,7 +487,7 @@ public final class ThermalTransformManager {
     }
 
     // -------------------------------------------------------------------------
-    // Solid ID helpers (BlockEntity preferred; VesselState fallback via reflection)
+    // Solid ID helpers (VesselState int mirror first; BlockEntity fallback)
     // -------------------------------------------------------------------------
 
     private static final String[] SOLID_METHOD_GETTERS = new String[] {
@@ -393,33 +511,16 @@ public final class ThermalTransformManager {
             "solid"
     };
 
-    private static ResourceLocation getInsertedSolidId(ServerLevel level, BlockPos pos, BrewingVesselData.VesselState v) {
-        ResourceLocation beVal = getSolidFromBlockEntity(level, pos);
-        if (beVal != null) return beVal;
-        return getSolidFromVesselState(v);
-    }
-
     private static void clearInsertedSolidId(ServerLevel level, BlockPos pos, BrewingVesselData.VesselState v) {
         setSolidOnBlockEntity(level, pos, null);
-
-        if (v != null) {
-            for (String name : SOLID_FIELD_CANDIDATES) {
-                Field f = tryFindField(v.getClass(), name);
-                if (f == null) continue;
-                try {
-                    f.setAccessible(true);
-                    if (f.getType() == ResourceLocation.class) f.set(v, null);
-                    else if (f.getType() == String.class) f.set(v, null);
-                } catch (Throwable ignored) {}
-            }
-        }
+        if (v != null) v.insertedSolidId = BrewingVesselData.NO_SOLID;
     }
 
     private static ResourceLocation getSolidFromBlockEntity(ServerLevel level, BlockPos pos) {
         BlockEntity be = level.getBlockEntity(pos);
         if (be == null) return null;
 
-        if (be instanceof com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity b) {
+        if (be instanceof BrewVesselBlockEntity b) {
             try {
                 return b.getSolidBlockId();
             } catch (Throwable ignored) {}
@@ -458,7 +559,7 @@ public final class ThermalTransformManager {
         BlockEntity be = level.getBlockEntity(pos);
         if (be == null) return;
 
-        if (be instanceof com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity b) {
+        if (be instanceof BrewVesselBlockEntity b) {
             try {
                 b.setSolidBlockId(id);
                 b.setChanged();
@@ -514,29 +615,6 @@ public final class ThermalTransformManager {
         }
     }
 
-    private static ResourceLocation getSolidFromVesselState(BrewingVesselData.VesselState v) {
-        if (v == null) return null;
-
-        for (String name : SOLID_FIELD_CANDIDATES) {
-            Field f = tryFindField(v.getClass(), name);
-            if (f == null) continue;
-
-            try {
-                f.setAccessible(true);
-                Object val = f.get(v);
-                if (val == null) continue;
-
-                if (val instanceof ResourceLocation rl) return rl;
-                if (val instanceof String s) {
-                    ResourceLocation rl = ResourceLocation.tryParse(s);
-                    if (rl != null) return rl;
-                }
-            } catch (Throwable ignored) {}
-        }
-
-        return null;
-    }
-
     private static Field tryFindField(Class<?> cls, String fieldName) {
         Class<?> c = cls;
         while (c != null && c != Object.class) {
@@ -548,52 +626,31 @@ public final class ThermalTransformManager {
         return null;
     }
 
-    private static boolean tryStoreDropAsSolid(ServerLevel level,
-                                               BlockPos pos,
-                                               BrewingVesselData.VesselState v,
-                                               ResourceLocation dropItemId,
-                                               int count) {
-
-        if (dropItemId == null) return false;
-
-        Item dropItem = ForgeRegistries.ITEMS.getValue(dropItemId);
-        if (!(dropItem instanceof BlockItem bi)) return false;
+    /**
+     * Inserted solid as a raw block id: the VesselState mirror first (an int read), else the BE (a solid set
+     * through the BE alone, e.g. by a pre-int save). NO_SOLID if there is none.
+     */
+    private static int getInsertedSolidRawId(ServerLevel level, BlockPos pos, BrewingVesselData.VesselState v) {
+        if (v.hasSolid()) return v.insertedSolidId;
 
-        Block b = bi.getBlock();
-        if (b == null) return false;
+        if (level.getBlockEntity(pos) instanceof BrewVesselBlockEntity b) {
+            BlockState solid = b.getSolidState();
+            if (solid != null) return BuiltInRegistries.BLOCK.getId(solid.getBlock());
+        }
 
-        ResourceLocation blockId = ForgeRegistries.BLOCKS.getKey(b);
-        if (blockId == null) return false;
+        ResourceLocation id = getSolidFromBlockEntity(level, pos);
+        Block block = (id != null) ? ForgeRegistries.BLOCKS.getValue(id) : null;
+        return (block != null) ? BuiltInRegistries.BLOCK.getId(block) : TransformTable.NO_SOLID;
+    }
 
-        // We store EXACTLY one solid in the vessel.
-        // If count > 1, we store one and drop the rest to avoid silent loss.
+    private static void storeSolid(ServerLevel level,
+                                   BlockPos pos,
+                                   BrewingVesselData.VesselState v,
+                                   ResourceLocation blockId) {
         setSolidOnBlockEntity(level, pos, blockId);
 
-        // Keep VesselState fallback in sync too (helps status/other refactors)
-        if (v != null) {
-            for (String name : SOLID_FIELD_CANDIDATES) {
-                Field f = tryFindField(v.getClass(), name);
-                if (f == null) continue;
-                try {
-                    f.setAccessible(true);
-                    if (f.getType() == ResourceLocation.class) {
-                        f.set(v, blockId);
-                        break;
-                    } else if (f.getType() == String.class) {
-                        f.set(v, blockId.toString());
-                        break;
-                    }
-                } catch (Throwable ignored) {}
-            }
-        }
-
-        int remainder = Math.max(0, count - 1);
-        if (remainder > 0) {
-            ItemStack extra = new ItemStack(dropItem, remainder);
-            Containers.dropItemStack(level, pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5, extra);
-        }
-
-        return true;
+        // Keep the VesselState mirror in sync (what tryApplyTransforms reads)
+        if (v != null) v.insertedSolidId = BrewingCoreBindings.REGISTRIES.blockId(blockId);
     }
 
 }
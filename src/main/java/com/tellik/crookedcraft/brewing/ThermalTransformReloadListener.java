@@ -6,9 +6,11 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.mojang.logging.LogUtils;
+import com.tellik.crookedcraft.brewing.jfr.BrewReloadEvent;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
 import net.minecraft.util.profiling.ProfilerFiller;
 import org.slf4j.Logger;
 
@@ -29,8 +31,12 @@ import java.util.Map;
  *   "cooling": { "<from_block>": { ...single object... }, ... },
  *   "transforms": { "<from_block>": [ { ... }, ... ], ... }
  * }
+ *
+ * Reading, parsing and compiling (registry checks, per-BlockState decision tables) all happen in prepare(), off the
+ * server thread; apply() only stages the finished ThermalTransformManager.Compiled, which goes live with the rest of the
+ * reload when BrewingRuntime publishes.
  */
-public final class ThermalTransformReloadListener extends SimpleJsonResourceReloadListener {
+public final class ThermalTransformReloadListener extends SimplePreparableReloadListener<ThermalTransformManager.Compiled> {
 
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
@@ -45,31 +51,47 @@ public final class ThermalTransformReloadListener extends SimpleJsonResourceRelo
      */
     private static final String FOLDER = "crookedcraft_brewing";
 
-    public ThermalTransformReloadListener() {
-        super(GSON, FOLDER);
+    public ThermalTransformReloadListener() {}
+
+    @Override
+    protected ThermalTransformManager.Compiled prepare(ResourceManager manager, ProfilerFiller profiler) {
+        BrewReloadEvent parseEvent = new BrewReloadEvent();
+        parseEvent.begin();
+
+        Map<ResourceLocation, JsonElement> jsonMap = new HashMap<>();
+        SimpleJsonResourceReloadListener.scanDirectory(manager, FOLDER, GSON, jsonMap);
+        Map<ResourceLocation, List<ThermalTransformManager.ThermalTransform>> defs = parse(jsonMap);
+
+        parseEvent.finish("thermal_transforms", "parse", jsonMap.size());
+
+        BrewReloadEvent compileEvent = new BrewReloadEvent();
+        compileEvent.begin();
+        ThermalTransformManager.Compiled compiled = ThermalTransformManager.compile(defs);
+        compileEvent.finish("thermal_transforms", "compile", compiled.stateCount());
+        return compiled;
     }
 
     @Override
-    protected void apply(Map<ResourceLocation, JsonElement> jsonMap,
-                         ResourceManager resourceManager,
-                         ProfilerFiller profiler) {
+    protected void apply(ThermalTransformManager.Compiled compiled, ResourceManager manager, ProfilerFiller profiler) {
+        ThermalTransformManager.stage(compiled);
+    }
+
+    private static Map<ResourceLocation, List<ThermalTransformManager.ThermalTransform>> parse(Map<ResourceLocation, JsonElement> jsonMap) {
+        Map<ResourceLocation, List<ThermalTransformManager.ThermalTransform>> out = new HashMap<>();
 
         // Guard rail: if this ever becomes 0 again, it’s a regression and should scream.
         if (jsonMap.isEmpty()) {
             LOGGER.error("[crookedcraft] Thermal transforms reloaded from 0 file(s).");
             LOGGER.error("[crookedcraft] Expected files under: data/<namespace>/{}/<name>.json", FOLDER);
             LOGGER.error("[crookedcraft] For your mod this should be: data/crookedcraft/{}/<name>.json", FOLDER);
-            ThermalTransformManager.applyTransforms(new HashMap<>()); // clears safely
-            return;
+            return out; // compiles to an empty set, which clears safely
         }
 
-        LOGGER.info("[crookedcraft] Reloading thermal transforms from {} file(s) in folder '{}':", jsonMap.size(), FOLDER);
+        LOGGER.debug("[crookedcraft] Reloading thermal transforms from {} file(s) in folder '{}':", jsonMap.size(), FOLDER);
         for (ResourceLocation rid : jsonMap.keySet()) {
-            LOGGER.info("[crookedcraft]  - {}", rid);
+            LOGGER.debug("[crookedcraft]  - {}", rid);
         }
 
-        Map<ResourceLocation, List<ThermalTransformManager.ThermalTransform>> out = new HashMap<>();
-
         for (Map.Entry<ResourceLocation, JsonElement> e : jsonMap.entrySet()) {
             ResourceLocation fileId = e.getKey();
             JsonElement rootEl = e.getValue();
@@ -244,8 +266,8 @@ public final class ThermalTransformReloadListener extends SimpleJsonResourceRelo
             }
         }
 
-        ThermalTransformManager.applyTransforms(out);
-        LOGGER.info("[crookedcraft] Thermal transforms reloaded from {} file(s).", jsonMap.size());
+        LOGGER.debug("[crookedcraft] Parsed thermal transforms for {} source block(s) from {} file(s).", out.size(), jsonMap.size());
+        return out;
     }
 
     // -------------------------------------------------------------------------
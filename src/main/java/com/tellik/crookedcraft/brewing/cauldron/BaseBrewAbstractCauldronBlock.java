@@ -3,6 +3,7 @@ package com.tellik.crookedcraft.brewing.cauldron;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.cauldron.CauldronInteraction;
 import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.AbstractCauldronBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.shapes.CollisionContext;
@@ -27,6 +28,15 @@ public abstract class BaseBrewAbstractCauldronBlock extends AbstractCauldronBloc
         return BrewCauldronShapes.TUB;
     }
 
+    @Override
+    public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
+        // Fluid/brew changes swap between our vessel blocks, which replaces the BE; don't void automation buffers.
+        if (!state.is(newState.getBlock()) && level.getBlockEntity(pos) instanceof BrewVesselBlockEntity be) {
+            be.dropBufferedContainers(level, pos);
+        }
+        super.onRemove(state, level, pos, newState, isMoving);
+    }
+
     @Override
     public VoxelShape getInteractionShape(BlockState state, BlockGetter level, BlockPos pos) {
         return BrewCauldronShapes.TUB;
@@ -1,5 +1,6 @@
 package com.tellik.crookedcraft.brewing.cauldron;
 
+import com.tellik.crookedcraft.brewing.BrewRecipeCache;
 import com.tellik.crookedcraft.brewing.BrewingVesselData;
 import com.tellik.crookedcraft.brewing.ModBrewingBlocks;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -453,7 +454,7 @@ public final class BrewCauldronInteractionMaps {
         // Reset brew state only when this action represents a new “base fill”
         if (resetBrew) {
             v.doomed = false;
-            v.matchedRecipeId = null;
+            v.matchedRecipeId = BrewRecipeCache.NO_RECIPE;
             if (v.ingredients != null) v.ingredients.clear();
         }
 
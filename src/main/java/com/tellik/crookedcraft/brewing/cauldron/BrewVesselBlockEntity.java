@@ -1,25 +1,71 @@
 package com.tellik.crookedcraft.brewing.cauldron;
 
 import com.tellik.crookedcraft.brewing.ModBrewingBlockEntities;
+import com.tellik.crookedcraft.brewing.client.BrewTintCache;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.Containers;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.client.model.data.ModelData;
+import net.minecraftforge.client.model.data.ModelProperty;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.registries.ForgeRegistries;
 
 import javax.annotation.Nullable;
+import java.util.Objects;
 
 public final class BrewVesselBlockEntity extends BlockEntity {
 
     private static final String TAG_SOLID = "SolidBlockId";
+    private static final String TAG_BREW_COLOR = "BrewColor";
+    private static final String TAG_CONTAINERS = "BufferedContainers";
+
+    /** Empty brew containers an automation handler may park in the vessel, waiting to be filled. */
+    public static final int MAX_BUFFERED_CONTAINERS = 16;
+
+    /** Sentinel for "no completed brew" (potion colors never use the alpha byte, so -1 can't collide). */
+    public static final int NO_COLOR = -1;
+
+    /**
+     * Model data key for the inserted solid (read by the client-side BrewVesselSolidModel).
+     * Lives here (common code) so the BE doesn't have to load client model classes.
+     */
+    public static final ModelProperty<BlockState> SOLID_STATE = new ModelProperty<>();
 
     @Nullable
     private ResourceLocation solidBlockId;
 
+    // Resolved lazily from solidBlockId; avoids registry lookups on render/transform hot paths.
+    @Nullable
+    private BlockState solidState;
+    private boolean solidStateResolved;
+
+    // Result color of the completed brew (client particles/tint). Server-authoritative.
+    private int brewColor = NO_COLOR;
+
+    // Server-only automation buffer (not synced to clients).
+    private ItemStack bufferedContainers = ItemStack.EMPTY;
+
+    private final BrewVesselItemHandler itemHandler = new BrewVesselItemHandler(this);
+    private LazyOptional<IItemHandler> itemHandlerCap = LazyOptional.of(() -> itemHandler);
+
+    private final BrewVesselFluidHandler fluidHandler = new BrewVesselFluidHandler(this);
+    private LazyOptional<IFluidHandler> fluidHandlerCap = LazyOptional.of(() -> fluidHandler);
+
     public BrewVesselBlockEntity(BlockPos pos, BlockState state) {
         super(ModBrewingBlockEntities.BREW_VESSEL.get(), pos, state);
     }
@@ -33,6 +79,17 @@ public final class BrewVesselBlockEntity extends BlockEntity {
         return solidBlockId != null;
     }
 
+    /** Default state of the inserted solid block, or null if none / unknown id. */
+    @Nullable
+    public BlockState getSolidState() {
+        if (!solidStateResolved) {
+            Block block = (solidBlockId != null) ? ForgeRegistries.BLOCKS.getValue(solidBlockId) : null;
+            solidState = (block != null) ? block.defaultBlockState() : null;
+            solidStateResolved = true;
+        }
+        return solidState;
+    }
+
     /**
      * Set/clear the single solid held by this vessel.
      * SERVER-authoritative. Syncs to client via BE update packet.
@@ -43,6 +100,7 @@ public final class BrewVesselBlockEntity extends BlockEntity {
         }
 
         solidBlockId = id;
+        solidStateResolved = false;
         setChanged();
 
         // This triggers the BE update packet because we implement getUpdatePacket/getUpdateTag.
@@ -56,6 +114,66 @@ public final class BrewVesselBlockEntity extends BlockEntity {
         setSolidBlockId(null);
     }
 
+    // -------------------------------------------------------------------------
+    // Automation (IItemHandler / IFluidHandler)
+    // -------------------------------------------------------------------------
+
+    public ItemStack getBufferedContainers() {
+        return bufferedContainers;
+    }
+
+    public void setBufferedContainers(ItemStack stack) {
+        bufferedContainers = stack.isEmpty() ? ItemStack.EMPTY : stack;
+        setChanged();
+    }
+
+    /** Called when the vessel block is replaced/broken so parked containers aren't voided. */
+    public void dropBufferedContainers(Level level, BlockPos pos) {
+        if (bufferedContainers.isEmpty()) return;
+        Containers.dropItemStack(level, pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5, bufferedContainers);
+        bufferedContainers = ItemStack.EMPTY;
+    }
+
+    @Override
+    public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side) {
+        if (cap == ForgeCapabilities.ITEM_HANDLER) {
+            return itemHandlerCap.cast();
+        }
+        if (cap == ForgeCapabilities.FLUID_HANDLER) {
+            return fluidHandlerCap.cast();
+        }
+        return super.getCapability(cap, side);
+    }
+
+    @Override
+    public void invalidateCaps() {
+        super.invalidateCaps();
+        itemHandlerCap.invalidate();
+        fluidHandlerCap.invalidate();
+    }
+
+    @Override
+    public void reviveCaps() {
+        super.reviveCaps();
+        itemHandlerCap = LazyOptional.of(() -> itemHandler);
+        fluidHandlerCap = LazyOptional.of(() -> fluidHandler);
+    }
+
+    public int getBrewColor() {
+        return brewColor;
+    }
+
+    /**
+     * Set/clear the completed brew's result color.
+     * NOTE: does NOT send an update on its own; callers pair this with the BREW_STATE block update,
+     * which re-sends BE data for the changed block anyway (one packet instead of two).
+     */
+    public void setBrewColor(int color) {
+        if (brewColor == color) return;
+        brewColor = color;
+        setChanged();
+    }
+
     // -------------------------------------------------------------------------
     // Save/load (world persistence)
     // -------------------------------------------------------------------------
@@ -69,6 +187,12 @@ public final class BrewVesselBlockEntity extends BlockEntity {
             // Keep world NBT clean; omit key when empty.
             tag.remove(TAG_SOLID);
         }
+        if (brewColor != NO_COLOR) {
+            tag.putInt(TAG_BREW_COLOR, brewColor);
+        }
+        if (!bufferedContainers.isEmpty()) {
+            tag.put(TAG_CONTAINERS, bufferedContainers.save(new CompoundTag()));
+        }
     }
 
     @Override
@@ -85,6 +209,22 @@ public final class BrewVesselBlockEntity extends BlockEntity {
         } else {
             solidBlockId = null;
         }
+
+        brewColor = tag.contains(TAG_BREW_COLOR) ? tag.getInt(TAG_BREW_COLOR) : NO_COLOR;
+        solidStateResolved = false;
+
+        // Only present in world saves (update tags never carry it), so don't clear it on client syncs.
+        if (tag.contains(TAG_CONTAINERS)) {
+            bufferedContainers = ItemStack.of(tag.getCompound(TAG_CONTAINERS));
+        }
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (level != null && level.isClientSide) {
+            BrewTintCache.remove(worldPosition);
+        }
     }
 
     // -------------------------------------------------------------------------
@@ -93,27 +233,39 @@ public final class BrewVesselBlockEntity extends BlockEntity {
 
     /**
      * IMPORTANT:
-     * We always write TAG_SOLID into the update tag (even when empty) so the client
-     * can reliably clear a previously-rendered solid.
+     * We always write TAG_SOLID/TAG_BREW_COLOR into the update tag (even when empty) so the client
+     * can reliably clear a previously-rendered solid or color.
      */
     @Override
     public CompoundTag getUpdateTag() {
         CompoundTag tag = super.getUpdateTag();
         tag.putString(TAG_SOLID, solidBlockId == null ? "" : solidBlockId.toString());
+        tag.putInt(TAG_BREW_COLOR, brewColor);
         return tag;
     }
 
     @Override
     public void handleUpdateTag(CompoundTag tag) {
+        ResourceLocation oldSolid = solidBlockId;
         load(tag);
 
         // Ensure the client re-renders immediately when the value changes.
         if (level != null && level.isClientSide) {
+            BrewTintCache.update(worldPosition, brewColor);
+            if (!Objects.equals(oldSolid, solidBlockId)) requestModelDataUpdate();
             BlockState st = getBlockState();
             level.sendBlockUpdated(worldPosition, st, st, 3);
         }
     }
 
+    /** Feeds the inserted solid into the chunk mesh (see client BrewVesselSolidModel). */
+    @Override
+    public ModelData getModelData() {
+        BlockState solid = getSolidState();
+        if (solid == null) return ModelData.EMPTY;
+        return ModelData.builder().with(SOLID_STATE, solid).build();
+    }
+
     @Override
     public @Nullable Packet<ClientGamePacketListener> getUpdatePacket() {
         return ClientboundBlockEntityDataPacket.create(this);
@@ -121,15 +273,20 @@ public final class BrewVesselBlockEntity extends BlockEntity {
 
     @Override
     public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket pkt) {
+        ResourceLocation oldSolid = solidBlockId;
         CompoundTag tag = pkt.getTag();
         if (tag != null) {
             load(tag);
         } else {
             solidBlockId = null;
+            solidStateResolved = false;
+            brewColor = NO_COLOR;
         }
 
-        // Force rerender on client.
+        // Force rerender on client (tint + solid are baked into the chunk mesh).
         if (level != null && level.isClientSide) {
+            BrewTintCache.update(worldPosition, brewColor);
+            if (!Objects.equals(oldSolid, solidBlockId)) requestModelDataUpdate();
             BlockState st = getBlockState();
             level.sendBlockUpdated(worldPosition, st, st, 3);
         }
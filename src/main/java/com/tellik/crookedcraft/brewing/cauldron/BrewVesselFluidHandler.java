@@ -0,0 +1,69 @@
+package com.tellik.crookedcraft.brewing.cauldron;
+
+import com.tellik.crookedcraft.brewing.BrewVesselAutomation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.material.Fluids;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidType;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Single-tank fluid view of a brew vessel for pumps/pipes.
+ *
+ * The tank is derived from the block state (no fluid is stored on the BE):
+ * water = 333 mB per cauldron level (1000 mB when full), lava = one full bucket.
+ * All world logic lives in BrewVesselAutomation; this class only adapts the Forge API.
+ */
+public final class BrewVesselFluidHandler implements IFluidHandler {
+
+    private final BrewVesselBlockEntity be;
+
+    public BrewVesselFluidHandler(BrewVesselBlockEntity be) {
+        this.be = be;
+    }
+
+    @Override
+    public int getTanks() {
+        return 1;
+    }
+
+    @Override
+    public @Nonnull FluidStack getFluidInTank(int tank) {
+        if (tank != 0 || !(be.getLevel() instanceof ServerLevel serverLevel)) return FluidStack.EMPTY;
+        return BrewVesselAutomation.getFluid(serverLevel, be.getBlockPos());
+    }
+
+    @Override
+    public int getTankCapacity(int tank) {
+        return FluidType.BUCKET_VOLUME;
+    }
+
+    @Override
+    public boolean isFluidValid(int tank, @Nonnull FluidStack stack) {
+        return stack.getFluid().isSame(Fluids.WATER) || stack.getFluid().isSame(Fluids.LAVA);
+    }
+
+    @Override
+    public int fill(FluidStack resource, FluidAction action) {
+        if (!(be.getLevel() instanceof ServerLevel serverLevel)) return 0;
+        return BrewVesselAutomation.fillFluid(serverLevel, be.getBlockPos(), resource, action.simulate());
+    }
+
+    @Override
+    public @Nonnull FluidStack drain(FluidStack resource, FluidAction action) {
+        if (resource.isEmpty()) return FluidStack.EMPTY;
+
+        FluidStack current = getFluidInTank(0);
+        if (current.isEmpty() || !current.isFluidEqual(resource)) return FluidStack.EMPTY;
+
+        return drain(resource.getAmount(), action);
+    }
+
+    @Override
+    public @Nonnull FluidStack drain(int maxDrain, FluidAction action) {
+        if (!(be.getLevel() instanceof ServerLevel serverLevel)) return FluidStack.EMPTY;
+        return BrewVesselAutomation.drainFluid(serverLevel, be.getBlockPos(), maxDrain, action.simulate());
+    }
+}
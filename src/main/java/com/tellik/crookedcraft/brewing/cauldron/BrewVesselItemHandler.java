@@ -0,0 +1,116 @@
+package com.tellik.crookedcraft.brewing.cauldron;
+
+import com.tellik.crookedcraft.brewing.BrewVesselAutomation;
+import com.tellik.crookedcraft.brewing.ModTags;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Automation view of a brew vessel (hoppers, pipes, item conduits).
+ *
+ * Slots:
+ * - 0 INGREDIENT (insert only): fed to the matcher as a batch, consumed immediately
+ * - 1 CONTAINER  (insert only): empty brew containers, buffered on the BE until filled
+ * - 2 OUTPUT     (extract only): completed brew (or sludge) filled into buffered containers on demand
+ *
+ * All world logic lives in BrewVesselAutomation; this class only maps slots onto it.
+ */
+public final class BrewVesselItemHandler implements IItemHandler {
+
+    public static final int SLOT_INGREDIENT = 0;
+    public static final int SLOT_CONTAINER = 1;
+    public static final int SLOT_OUTPUT = 2;
+
+    private final BrewVesselBlockEntity be;
+
+    public BrewVesselItemHandler(BrewVesselBlockEntity be) {
+        this.be = be;
+    }
+
+    @Override
+    public int getSlots() {
+        return 3;
+    }
+
+    @Override
+    public @Nonnull ItemStack getStackInSlot(int slot) {
+        if (slot == SLOT_CONTAINER) return be.getBufferedContainers();
+        if (slot == SLOT_OUTPUT && be.getLevel() instanceof ServerLevel serverLevel) {
+            int containers = be.getBufferedContainers().getCount();
+            return BrewVesselAutomation.previewBrews(serverLevel, be.getBlockPos(), containers);
+        }
+        return ItemStack.EMPTY;
+    }
+
+    @Override
+    public @Nonnull ItemStack insertItem(int slot, @Nonnull ItemStack stack, boolean simulate) {
+        if (stack.isEmpty()) return ItemStack.EMPTY;
+        if (!(be.getLevel() instanceof ServerLevel serverLevel)) return stack;
+
+        if (slot == SLOT_INGREDIENT) {
+            if (stack.is(ModTags.Items.BREW_CONTAINERS)) return stack;
+
+            int consumed = BrewVesselAutomation.insertIngredients(serverLevel, be.getBlockPos(), stack, simulate);
+            if (consumed <= 0) return stack;
+            return copyWithCount(stack, stack.getCount() - consumed);
+        }
+
+        if (slot == SLOT_CONTAINER) {
+            if (!stack.is(ModTags.Items.BREW_CONTAINERS)) return stack;
+
+            ItemStack buffered = be.getBufferedContainers();
+            if (!buffered.isEmpty() && !ItemStack.isSameItemSameTags(buffered, stack)) return stack;
+
+            int space = getSlotLimit(slot) - buffered.getCount();
+            int moved = Math.min(space, stack.getCount());
+            if (moved <= 0) return stack;
+
+            if (!simulate) {
+                be.setBufferedContainers(copyWithCount(stack, buffered.getCount() + moved));
+            }
+            return copyWithCount(stack, stack.getCount() - moved);
+        }
+
+        return stack;
+    }
+
+    @Override
+    public @Nonnull ItemStack extractItem(int slot, int amount, boolean simulate) {
+        if (slot != SLOT_OUTPUT || amount <= 0) return ItemStack.EMPTY;
+        if (!(be.getLevel() instanceof ServerLevel serverLevel)) return ItemStack.EMPTY;
+
+        ItemStack buffered = be.getBufferedContainers();
+        int containers = Math.min(amount, buffered.getCount());
+        if (containers <= 0) return ItemStack.EMPTY;
+
+        ItemStack preview = BrewVesselAutomation.extractBrews(serverLevel, be.getBlockPos(), containers, true);
+        if (preview.isEmpty() || simulate) return preview;
+
+        // Spend containers BEFORE draining: emptying the vessel replaces the block, and the old BE
+        // drops whatever is still buffered at that point.
+        be.setBufferedContainers(copyWithCount(buffered, buffered.getCount() - preview.getCount()));
+        return BrewVesselAutomation.extractBrews(serverLevel, be.getBlockPos(), preview.getCount(), false);
+    }
+
+    @Override
+    public int getSlotLimit(int slot) {
+        return slot == SLOT_CONTAINER ? BrewVesselBlockEntity.MAX_BUFFERED_CONTAINERS : 64;
+    }
+
+    @Override
+    public boolean isItemValid(int slot, @Nonnull ItemStack stack) {
+        if (slot == SLOT_INGREDIENT) return !stack.is(ModTags.Items.BREW_CONTAINERS);
+        if (slot == SLOT_CONTAINER) return stack.is(ModTags.Items.BREW_CONTAINERS);
+        return false;
+    }
+
+    private static ItemStack copyWithCount(ItemStack stack, int count) {
+        if (count <= 0) return ItemStack.EMPTY;
+        ItemStack copy = stack.copy();
+        copy.setCount(count);
+        return copy;
+    }
+}
@@ -1,31 +1,38 @@
 package com.tellik.crookedcraft.brewing.cauldron;
 
-import com.tellik.crookedcraft.brewing.BrewingMatcher;
 import com.tellik.crookedcraft.brewing.BrewingVesselData;
 import com.tellik.crookedcraft.brewing.ModBrewingBlockEntities;
 import com.tellik.crookedcraft.brewing.ModBrewingBlocks;
+import com.tellik.crookedcraft.brewing.client.BrewVesselParticles;
+import com.tellik.crookedcraft.brewing.profile.BrewingProfiler;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
 import net.minecraft.util.StringRepresentable;
-import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.item.ItemEntity;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.block.EntityBlock;
-import net.minecraft.world.level.block.LayeredCauldronBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
+import net.minecraft.world.level.block.state.properties.BooleanProperty;
 import net.minecraft.world.level.block.state.properties.EnumProperty;
-import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
 
 public final class BrewWaterCauldronBlock extends BaseBrewLayeredCauldronBlock implements EntityBlock {
 
     public static final EnumProperty<BrewState> BREW_STATE = EnumProperty.create("brew_state", BrewState.class);
 
+    /**
+     * Server-authoritative boiling flag.
+     * Synced to clients once per change through the block state, so bubbles/smoke/dust are spawned
+     * client-side in animateTick instead of streaming particle packets every tick.
+     */
+    public static final BooleanProperty BOILING = BooleanProperty.create("boiling");
+
     public enum BrewState implements StringRepresentable {
         NONE("none"),
         COMPLETE("complete"),
@@ -36,9 +43,6 @@ public final class BrewWaterCauldronBlock extends BaseBrewLayeredCauldronBlock i
         @Override public String getSerializedName() { return name; }
     }
 
-    // Rate-limit tag for tossed-item processing (prevents eating whole stacks instantly while resting in the fluid)
-    private static final String TAG_LAST_INGEST_TICK = "crookedcraft_brew_ing_tick";
-
     public BrewWaterCauldronBlock(Properties props) {
         super(props, (precip) -> precip == Biome.Precipitation.RAIN, BrewCauldronInteractionMaps.waterMap());
 
@@ -46,6 +50,7 @@ public final class BrewWaterCauldronBlock extends BaseBrewLayeredCauldronBlock i
                 this.stateDefinition.any()
                         .setValue(LEVEL, 1)
                         .setValue(BREW_STATE, BrewState.NONE)
+                        .setValue(BOILING, false)
         );
     }
 
@@ -67,103 +72,19 @@ public final class BrewWaterCauldronBlock extends BaseBrewLayeredCauldronBlock i
     @Override
     protected void createBlockStateDefinition(StateDefinition.Builder<net.minecraft.world.level.block.Block, BlockState> builder) {
         super.createBlockStateDefinition(builder);
-        builder.add(BREW_STATE);
+        builder.add(BREW_STATE, BOILING);
     }
 
     /**
-     * Thrown-item ingredient ingestion.
-     *
-     * Design rule (matches your right-click logic):
-     * - Only ingest ingredients when this is water, it's boiling, not doomed, and not already complete.
-     * - Everything else should be ignored (no "mystery consumption").
-     *
-     * NOTE:
-     * Solid-block insertion-by-throw belongs on the EMPTY vessel block (brew_cauldron),
-     * not on the water variant. This class only handles ingredient ingestion for boiling water.
+     * Client-only visual feedback for boiling vessels (bubbles, doomed smoke, brew-colored dust).
+     * Driven entirely by synced state: BOILING/BREW_STATE on the block state, brew color on the BE.
      */
     @Override
-    public void entityInside(BlockState state, Level level, BlockPos pos, Entity entity) {
-        super.entityInside(state, level, pos, entity);
-
-        if (level.isClientSide) return;
-        if (!(level instanceof ServerLevel serverLevel)) return;
-
-        if (!(entity instanceof ItemEntity itemEntity)) return;
-        if (!itemEntity.isAlive()) return;
-
-        ItemStack stack = itemEntity.getItem();
-        if (stack.isEmpty()) return;
-
-        // Track vessel state
-        BrewingVesselData data = BrewingVesselData.get(serverLevel);
-        long key = pos.asLong();
-        data.ensureTracked(key);
-        BrewingVesselData.VesselState v = data.getTrackedState(key);
-        if (v == null) return;
-
-        // Rate-limit: 1 attempt every 5 ticks per item entity.
-        long now = serverLevel.getGameTime();
-        long last = itemEntity.getPersistentData().getLong(TAG_LAST_INGEST_TICK);
-        if (last != 0 && (now - last) < 5) return;
-        itemEntity.getPersistentData().putLong(TAG_LAST_INGEST_TICK, now);
-
-        // Only while actively brewing (matches right-click gating)
-        int lvl = state.getValue(LayeredCauldronBlock.LEVEL);
-
-        boolean isActivelyBrewing =
-                (lvl > 0) &&
-                        (!v.doomed) &&
-                        (v.matchedRecipeId == null) &&
-                        (v.boiling);
-
-        if (!isActivelyBrewing) return;
-
-        Item item = stack.getItem();
-
-        BrewingMatcher.AddResult res = BrewingMatcher.tryAddIngredient(
-                serverLevel,
-                BrewingMatcher.WATER_LIQUID,
-                v.ingredients,
-                item
-        );
-
-        // Doesn't react -> ignore entirely
-        if (res.outcome == BrewingMatcher.AddOutcome.NOT_IN_ANY_RECIPE) return;
-
-        // Ambiguous -> doom it (same behavior you already use on right-click)
-        if (res.outcome == BrewingMatcher.AddOutcome.AMBIGUOUS) {
-            v.doomed = true;
-            v.matchedRecipeId = null;
-            data.setDirty();
-            return;
-        }
-
-        // Consume exactly 1 item
-        stack.shrink(1);
-        itemEntity.setItem(stack);
-
-        // Record ingredient (same as your BrewingForgeEvents.recordIngredient logic)
-        var id = ForgeRegistries.ITEMS.getKey(item);
-        if (id != null) {
-            v.ingredients.put(id, v.ingredients.getOrDefault(id, 0) + 1);
-        }
-
-        if (res.outcome == BrewingMatcher.AddOutcome.DOOMED) {
-            v.doomed = true;
-            v.matchedRecipeId = null;
-            data.setDirty();
-        } else if (res.outcome == BrewingMatcher.AddOutcome.READY) {
-            v.matchedRecipeId = res.matchedRecipeId;
-            data.setDirty();
-        } else {
-            // NORMAL: candidates narrowed, not complete yet
-            data.setDirty();
-        }
-
-        // If we ate the last item, remove the entity
-        if (stack.isEmpty()) {
-            itemEntity.discard();
-        }
+    public void animateTick(BlockState state, Level level, BlockPos pos, RandomSource random) {
+        if (!state.getValue(BOILING)) return;
+        long t0 = BrewingProfiler.start();
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> BrewVesselParticles.animate(state, level, pos, random));
+        BrewingProfiler.end(BrewingProfiler.Stage.PARTICLES, t0);
     }
 
     @Override
@@ -0,0 +1,53 @@
+package com.tellik.crookedcraft.brewing.client;
+
+import com.tellik.crookedcraft.CrookedCraft;
+import com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * Client-side cache of completed-brew colors, keyed by BlockPos#asLong.
+ *
+ * Filled from the vessel BE's update tag (chunk load + block updates), read by the block color handler
+ * during chunk meshing. The client only ever has one level loaded, so position alone is a sufficient key.
+ */
+@Mod.EventBusSubscriber(modid = CrookedCraft.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public final class BrewTintCache {
+
+    private static final Long2IntMap COLORS = new Long2IntOpenHashMap();
+
+    static {
+        COLORS.defaultReturnValue(BrewVesselBlockEntity.NO_COLOR);
+    }
+
+    private BrewTintCache() {}
+
+    public static void update(BlockPos pos, int color) {
+        if (color == BrewVesselBlockEntity.NO_COLOR) {
+            COLORS.remove(pos.asLong());
+        } else {
+            COLORS.put(pos.asLong(), color);
+        }
+    }
+
+    public static void remove(BlockPos pos) {
+        COLORS.remove(pos.asLong());
+    }
+
+    /** @return packed RGB, or {@link BrewVesselBlockEntity#NO_COLOR} if unknown. */
+    public static int get(BlockPos pos) {
+        return COLORS.get(pos.asLong());
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel().isClientSide()) {
+            COLORS.clear();
+        }
+    }
+}
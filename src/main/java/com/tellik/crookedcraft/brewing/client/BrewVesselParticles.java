@@ -0,0 +1,120 @@
+package com.tellik.crookedcraft.brewing.client;
+
+import com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity;
+import com.tellik.crookedcraft.brewing.cauldron.BrewWaterCauldronBlock;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.ParticleStatus;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.particles.DustParticleOptions;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+import org.joml.Vector3f;
+
+/**
+ * Client-side boiling visuals for brew vessels.
+ *
+ * Replaces the old per-tick server sendParticles stream. Everything here is derived from state the
+ * server already syncs once per change (BOILING / BREW_STATE on the block state, brew color via BrewTintCache).
+ *
+ * Cost control:
+ * - density falls off with camera distance (nothing beyond MAX_DIST)
+ * - a per-client-tick particle budget caps total spawns no matter how many vessels are boiling
+ * - honors the "Particles: Minimal" video setting
+ */
+public final class BrewVesselParticles {
+
+    private static final double FULL_DENSITY_DIST_SQ = 8.0 * 8.0;
+    private static final double MAX_DIST_SQ = 32.0 * 32.0;
+
+    // Hard cap across ALL vessels per client tick.
+    private static final int PARTICLE_BUDGET_PER_TICK = 96;
+
+    // animateTick only visits a vessel occasionally, so each visit emits a small burst.
+    private static final int BUBBLES_PER_VISIT = 4;
+
+    private static long budgetTick = Long.MIN_VALUE;
+    private static int budgetUsed = 0;
+
+    // Brew colors are few and stable; don't allocate a DustParticleOptions per spawn.
+    private static final Int2ObjectOpenHashMap<DustParticleOptions> DUST_BY_COLOR = new Int2ObjectOpenHashMap<>();
+
+    private BrewVesselParticles() {}
+
+    public static void animate(BlockState state, Level level, BlockPos pos, RandomSource random) {
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.options.particles().get() == ParticleStatus.MINIMAL) return;
+
+        double x = pos.getX() + 0.5;
+        double y = pos.getY() + 0.9;
+        double z = pos.getZ() + 0.5;
+
+        Vec3 cam = mc.gameRenderer.getMainCamera().getPosition();
+        double distSq = cam.distanceToSqr(x, y, z);
+        if (distSq > MAX_DIST_SQ) return;
+
+        // 1.0 up close, tapering with distance (inverse-square feels natural for small particles).
+        double density = distSq <= FULL_DENSITY_DIST_SQ ? 1.0 : FULL_DENSITY_DIST_SQ / distSq;
+        if (mc.options.particles().get() == ParticleStatus.DECREASED) density *= 0.5;
+
+        int bubbles = (int) Math.round(BUBBLES_PER_VISIT * density);
+        if (bubbles <= 0 && random.nextDouble() < density * BUBBLES_PER_VISIT) bubbles = 1;
+
+        BrewWaterCauldronBlock.BrewState brewState = state.getValue(BrewWaterCauldronBlock.BREW_STATE);
+        int extras = brewState == BrewWaterCauldronBlock.BrewState.NONE ? 0 : 1;
+
+        int allowed = takeBudget(level.getGameTime(), bubbles + extras);
+        if (allowed <= 0) return;
+
+        for (int i = 0; i < Math.min(bubbles, allowed); i++) {
+            level.addParticle(ParticleTypes.BUBBLE_POP,
+                    x + (random.nextDouble() - 0.5) * 0.5,
+                    y + random.nextDouble() * 0.05,
+                    z + (random.nextDouble() - 0.5) * 0.5,
+                    0.0, 0.02, 0.0);
+        }
+
+        if (extras == 0 || allowed <= bubbles) return;
+
+        double ox = x + (random.nextDouble() - 0.5) * 0.3;
+        double oz = z + (random.nextDouble() - 0.5) * 0.3;
+
+        if (brewState == BrewWaterCauldronBlock.BrewState.DOOMED) {
+            level.addParticle(ParticleTypes.SMOKE, ox, y, oz, 0.0, 0.01, 0.0);
+            return;
+        }
+
+        int color = BrewTintCache.get(pos);
+        if (color == BrewVesselBlockEntity.NO_COLOR) return;
+
+        level.addParticle(dustFor(color), ox, y, oz, 0.0, 0.01, 0.0);
+    }
+
+    private static int takeBudget(long gameTime, int wanted) {
+        if (gameTime != budgetTick) {
+            budgetTick = gameTime;
+            budgetUsed = 0;
+        }
+
+        int granted = Math.min(wanted, PARTICLE_BUDGET_PER_TICK - budgetUsed);
+        if (granted <= 0) return 0;
+
+        budgetUsed += granted;
+        return granted;
+    }
+
+    private static DustParticleOptions dustFor(int color) {
+        DustParticleOptions dust = DUST_BY_COLOR.get(color);
+        if (dust == null) {
+            float rr = ((color >> 16) & 0xFF) / 255.0f;
+            float gg = ((color >> 8) & 0xFF) / 255.0f;
+            float bb = (color & 0xFF) / 255.0f;
+            dust = new DustParticleOptions(new Vector3f(rr, gg, bb), 0.9f);
+            DUST_BY_COLOR.put(color, dust);
+        }
+        return dust;
+    }
+}
@@ -6,16 +6,35 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.blockentity.BlockEntityRenderer;
 import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
-import net.minecraft.core.BlockPos;
-import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraft.world.phys.Vec3;
 
+/**
+ * Fallback solid renderer.
+ *
+ * Normally a no-op: BrewVesselSolidModel bakes the solid into the chunk mesh. This only draws when the vessel's
+ * baked model isn't our wrapper (e.g. another mod/resource pack replaced it), and culls by distance.
+ */
 public final class BrewVesselRenderer implements BlockEntityRenderer<BrewVesselBlockEntity> {
 
+    private static final int VIEW_DISTANCE = 32;
+
     public BrewVesselRenderer(BlockEntityRendererProvider.Context ctx) {}
 
+    @Override
+    public int getViewDistance() {
+        return VIEW_DISTANCE;
+    }
+
+    @Override
+    public boolean shouldRender(BrewVesselBlockEntity be, Vec3 cameraPos) {
+        if (!be.hasSolid()) return false;
+        if (Minecraft.getInstance().getBlockRenderer().getBlockModel(be.getBlockState()) instanceof BrewVesselSolidModel) {
+            return false;
+        }
+        return BlockEntityRenderer.super.shouldRender(be, cameraPos);
+    }
+
     @Override
     public void render(BrewVesselBlockEntity be,
                        float partialTick,
@@ -24,13 +43,8 @@ public final class BrewVesselRenderer implements BlockEntityRenderer<BrewVesselB
                        int packedLight,
                        int packedOverlay) {
 
-        ResourceLocation solidId = be.getSolidBlockId();
-        if (solidId == null) return;
-
-        Block block = ForgeRegistries.BLOCKS.getValue(solidId);
-        if (block == null) return;
-
-        BlockState solidState = block.defaultBlockState();
+        BlockState solidState = be.getSolidState();
+        if (solidState == null) return;
 
         // Render a miniature block “inside” the cauldron.
         // This is intentionally conservative: centered, slightly raised, scaled down.
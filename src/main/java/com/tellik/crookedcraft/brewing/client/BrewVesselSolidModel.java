@@ -0,0 +1,119 @@
+package com.tellik.crookedcraft.brewing.client;
+
+import com.mojang.math.Transformation;
+import com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.client.ChunkRenderTypeSet;
+import net.minecraftforge.client.model.BakedModelWrapper;
+import net.minecraftforge.client.model.IQuadTransformer;
+import net.minecraftforge.client.model.QuadTransformers;
+import net.minecraftforge.client.model.data.ModelData;
+import org.joml.Matrix4f;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vessel model wrapper that bakes the inserted solid (ice, obsidian, ...) into the chunk mesh.
+ *
+ * The solid comes from {@link BrewVesselBlockEntity#SOLID_STATE} model data, so geometry is only rebuilt when
+ * the BE syncs a change; a static vessel costs nothing per frame (unlike the old BER path).
+ *
+ * Geometry matches the old BER: centered, slightly raised, scaled to 0.60 x 0.65 x 0.60.
+ */
+public final class BrewVesselSolidModel extends BakedModelWrapper<BakedModel> {
+
+    private static final IQuadTransformer SOLID_TRANSFORM = QuadTransformers.applying(new Transformation(
+            new Matrix4f()
+                    .translate(0.5f, 0.25f, 0.5f)
+                    .scale(0.60f, 0.65f, 0.60f)
+                    .translate(-0.5f, 0.0f, -0.5f)
+    ));
+
+    // Fixed seed so random-variant solids (stone, etc.) look the same every rebuild and can be cached.
+    private static final long SOLID_SEED = 42L;
+
+    // Chunk meshing runs on worker threads.
+    // Keyed by solid state + render type; cleared on resource reload (new wrapper instances are baked).
+    private final Map<BlockState, Map<RenderType, List<BakedQuad>>> solidQuadCache = new ConcurrentHashMap<>();
+
+    public BrewVesselSolidModel(BakedModel originalModel) {
+        super(originalModel);
+    }
+
+    @Override
+    public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, RandomSource rand,
+                                    ModelData extraData, @Nullable RenderType renderType) {
+        BlockState solid = extraData.get(BrewVesselBlockEntity.SOLID_STATE);
+
+        // Vessel quads only belong to the vessel's own render types (we may add the solid's types below).
+        boolean emitBase = solid == null || renderType == null
+                || originalModel.getRenderTypes(state, rand, extraData).contains(renderType);
+        List<BakedQuad> base = emitBase ? super.getQuads(state, side, rand, extraData, renderType) : List.of();
+
+        // Solid quads are internal to the tub, so never let face culling drop them: emit everything as "unculled".
+        if (solid == null || side != null) return base;
+
+        List<BakedQuad> inner = solidQuads(solid, renderType);
+        if (inner.isEmpty()) return base;
+        if (base.isEmpty()) return inner;
+
+        List<BakedQuad> out = new ArrayList<>(base.size() + inner.size());
+        out.addAll(base);
+        out.addAll(inner);
+        return out;
+    }
+
+    @Override
+    public ChunkRenderTypeSet getRenderTypes(BlockState state, RandomSource rand, ModelData data) {
+        ChunkRenderTypeSet base = super.getRenderTypes(state, rand, data);
+
+        BlockState solid = data.get(BrewVesselBlockEntity.SOLID_STATE);
+        if (solid == null) return base;
+
+        BakedModel solidModel = Minecraft.getInstance().getBlockRenderer().getBlockModel(solid);
+        return ChunkRenderTypeSet.union(base, solidModel.getRenderTypes(solid, RandomSource.create(SOLID_SEED), ModelData.EMPTY));
+    }
+
+    private List<BakedQuad> solidQuads(BlockState solid, @Nullable RenderType renderType) {
+        Map<RenderType, List<BakedQuad>> byType = solidQuadCache.computeIfAbsent(solid, s -> new ConcurrentHashMap<>());
+
+        // null render type = "all quads" (item/legacy callers); not worth caching.
+        if (renderType == null) return buildSolidQuads(solid, null);
+
+        return byType.computeIfAbsent(renderType, rt -> buildSolidQuads(solid, rt));
+    }
+
+    private static List<BakedQuad> buildSolidQuads(BlockState solid, @Nullable RenderType renderType) {
+        BakedModel solidModel = Minecraft.getInstance().getBlockRenderer().getBlockModel(solid);
+        RandomSource rand = RandomSource.create(SOLID_SEED);
+
+        if (renderType != null && !solidModel.getRenderTypes(solid, rand, ModelData.EMPTY).contains(renderType)) {
+            return List.of();
+        }
+
+        List<BakedQuad> out = new ArrayList<>();
+        for (Direction dir : Direction.values()) {
+            addTransformed(out, solidModel.getQuads(solid, dir, RandomSource.create(SOLID_SEED), ModelData.EMPTY, renderType));
+        }
+        addTransformed(out, solidModel.getQuads(solid, null, RandomSource.create(SOLID_SEED), ModelData.EMPTY, renderType));
+        return List.copyOf(out);
+    }
+
+    private static void addTransformed(List<BakedQuad> out, List<BakedQuad> quads) {
+        for (BakedQuad q : quads) {
+            BakedQuad moved = SOLID_TRANSFORM.process(q);
+            // Drop tinting: tint index 0 on the vessel means "brew water color" in BrewingClientColors.
+            out.add(new BakedQuad(moved.getVertices(), -1, moved.getDirection(), moved.getSprite(), moved.isShade()));
+        }
+    }
+}
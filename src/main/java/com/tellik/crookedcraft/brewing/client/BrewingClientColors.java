@@ -3,6 +3,7 @@ package com.tellik.crookedcraft.brewing.client;
 import com.tellik.crookedcraft.CrookedCraft;
 import com.tellik.crookedcraft.brewing.ModBrewingBlocks;
 import com.tellik.crookedcraft.brewing.ModBrewingItems;
+import com.tellik.crookedcraft.brewing.cauldron.BrewVesselBlockEntity;
 import com.tellik.crookedcraft.brewing.cauldron.BrewWaterCauldronBlock;
 import net.minecraft.client.renderer.BiomeColors;
 import net.minecraftforge.api.distmarker.Dist;
@@ -27,7 +28,10 @@ public final class BrewingClientColors {
             }
 
             if (brewState == BrewWaterCauldronBlock.BrewState.COMPLETE) {
-                return 0xFF66FF66;
+                // Recipe result color, synced once via the vessel BE (no per-frame BE/recipe lookups).
+                int color = (pos != null) ? BrewTintCache.get(pos) : BrewVesselBlockEntity.NO_COLOR;
+                if (color == BrewVesselBlockEntity.NO_COLOR) return 0xFF66FF66;
+                return 0xFF000000 | color;
             }
 
             return 0xFF101010;
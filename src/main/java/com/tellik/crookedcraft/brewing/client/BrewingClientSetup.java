@@ -1,11 +1,21 @@
 package com.tellik.crookedcraft.brewing.client;
 
 import com.tellik.crookedcraft.brewing.ModBrewingBlockEntities;
+import com.tellik.crookedcraft.brewing.ModBrewingBlocks;
+import net.minecraft.client.renderer.block.BlockModelShaper;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.EntityRenderersEvent;
+import net.minecraftforge.client.event.ModelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
+import java.util.List;
+import java.util.Map;
+
 @Mod.EventBusSubscriber(modid = "crookedcraft", bus = Mod.EventBusSubscriber.Bus.MOD, value = Dist.CLIENT)
 public final class BrewingClientSetup {
 
@@ -13,6 +23,31 @@ public final class BrewingClientSetup {
 
     @SubscribeEvent
     public static void registerRenderers(EntityRenderersEvent.RegisterRenderers event) {
+        // Fallback only: solids are normally baked into the chunk mesh by BrewVesselSolidModel.
         event.registerBlockEntityRenderer(ModBrewingBlockEntities.BREW_VESSEL.get(), BrewVesselRenderer::new);
     }
+
+    /**
+     * Wrap every vessel block-state model so inserted solids render as part of the chunk mesh.
+     */
+    @SubscribeEvent
+    public static void onModifyBakingResult(ModelEvent.ModifyBakingResult event) {
+        Map<ResourceLocation, BakedModel> models = event.getModels();
+
+        List<Block> vessels = List.of(
+                ModBrewingBlocks.BREW_CAULDRON.get(),
+                ModBrewingBlocks.BREW_WATER_CAULDRON.get(),
+                ModBrewingBlocks.BREW_LAVA_CAULDRON.get(),
+                ModBrewingBlocks.BREW_POWDER_SNOW_CAULDRON.get()
+        );
+
+        for (Block block : vessels) {
+            for (BlockState state : block.getStateDefinition().getPossibleStates()) {
+                ResourceLocation key = BlockModelShaper.stateToModelLocation(state);
+                BakedModel original = models.get(key);
+                if (original == null || original instanceof BrewVesselSolidModel) continue;
+                models.put(key, new BrewVesselSolidModel(original));
+            }
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.tellik.crookedcraft.brewing.engine;
 
+import com.tellik.crookedcraft.brewing.BrewRecipeCache;
 import com.tellik.crookedcraft.brewing.BrewingVesselData;
 import com.tellik.crookedcraft.brewing.ModTags;
 import com.tellik.crookedcraft.brewing.ThermalTransformManager;
@@ -66,8 +67,10 @@ public final class BrewStatusFormatter {
             }
 
             sb.append("Boiling: ").append(v.boiling).append("\n");
+            if (v.isVat()) sb.append("Vat: ").append(v.vatSize()).append(" blocks\n");
             sb.append("Doomed: ").append(v.doomed).append("\n");
-            sb.append("Matched Recipe: ").append(v.matchedRecipeId != null ? v.matchedRecipeId : "(none)").append("\n");
+            ResourceLocation recipe = BrewRecipeCache.recipeId(v.matchedRecipeId);
+            sb.append("Matched Recipe: ").append(recipe != null ? recipe : "(none)").append("\n");
         }
 
         // Inserted solid (renderer source of truth is BE)
@@ -1,5 +1,6 @@
 package com.tellik.crookedcraft.brewing.engine;
 
+import com.tellik.crookedcraft.brewing.BrewRecipeCache;
 import com.tellik.crookedcraft.brewing.BrewingVesselData;
 import com.tellik.crookedcraft.brewing.HeatSourceManager;
 import com.tellik.crookedcraft.brewing.cauldron.BrewCauldronBlock;
@@ -7,6 +8,7 @@ import com.tellik.crookedcraft.brewing.cauldron.BrewLavaCauldronBlock;
 import com.tellik.crookedcraft.brewing.cauldron.BrewPowderSnowCauldronBlock;
 import com.tellik.crookedcraft.brewing.cauldron.BrewWaterCauldronBlock;
 import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.LayeredCauldronBlock;
 import net.minecraft.world.level.block.state.BlockState;
@@ -163,9 +165,10 @@ public final class VesselSnapshot {
             boiling = v.boiling;
             boilProgress = v.boilProgress;
 
-            // matchedRecipeId is a ResourceLocation in your project; stringify safely.
-            if (v.matchedRecipeId != null) {
-                matchedRecipeId = v.matchedRecipeId.toString();
+            // matchedRecipeId is an interned recipe key; turn it back into the id for display.
+            ResourceLocation recipe = BrewRecipeCache.recipeId(v.matchedRecipeId);
+            if (recipe != null) {
+                matchedRecipeId = recipe.toString();
             }
 
             doomed = v.doomed;
@@ -175,7 +178,7 @@ public final class VesselSnapshot {
             mixProgress = ingredientCount > 0;
 
             // Brewing in milestone-2 terms: if a recipe candidate is locked in / matched.
-            brewProgress = (v.matchedRecipeId != null);
+            brewProgress = v.hasMatch();
 
             // Servings/levels: your VesselState doesn't have brewServings yet.
             // So we best-effort read an int from likely fields, else 0.
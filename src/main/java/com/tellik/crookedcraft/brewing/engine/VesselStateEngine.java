@@ -6,6 +6,7 @@ import com.tellik.crookedcraft.brewing.cauldron.BrewCauldronBlock;
 import com.tellik.crookedcraft.brewing.cauldron.BrewLavaCauldronBlock;
 import com.tellik.crookedcraft.brewing.cauldron.BrewPowderSnowCauldronBlock;
 import com.tellik.crookedcraft.brewing.cauldron.BrewWaterCauldronBlock;
+import com.tellik.crookedcraft.brewing.core.ThermalStep;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.LayeredCauldronBlock;
@@ -27,9 +28,6 @@ import java.util.List;
 public final class VesselStateEngine {
     private VesselStateEngine() {}
 
-    private static final float WATER_BOIL_C = 100.0f;
-    private static final float LAVA_BOIL_C  = 1000.0f;
-
     public static void tick(ServerLevel level) {
         BrewingVesselData data = BrewingVesselData.get(level);
 
@@ -83,23 +81,13 @@ public final class VesselStateEngine {
                 cauldronLevel = state.getValue(LayeredCauldronBlock.LEVEL);
             }
 
-            // Strength bonus only affects the effective max achievable
-            float strengthBonus = getStrengthBonus(cauldronLevel);
-
-            boolean newBoiling;
-            if (isWater) {
-                // Can boil only if a source exists whose max can reach boiling (after strength bonus)
-                boolean canBoil = heat != null && (heat.maxTempC() * strengthBonus) >= WATER_BOIL_C;
-                newBoiling = canBoil && (v.tempC >= WATER_BOIL_C - 0.001f);
-            } else if (isLava) {
-                // Lava "boiling" is a temperature concept only
-                newBoiling = (v.tempC >= LAVA_BOIL_C - 0.001f);
-            } else if (isSnow) {
-                // Snow isn't "boiling" in gameplay
-                newBoiling = false;
-            } else {
-                newBoiling = false;
-            }
+            // Water boils only if its source can reach boiling (after strength bonus); lava "boiling" is a
+            // temperature concept only; snow never boils.
+            int kind = isWater ? ThermalStep.KIND_WATER
+                    : isLava ? ThermalStep.KIND_LAVA
+                    : isSnow ? ThermalStep.KIND_SNOW
+                    : ThermalStep.KIND_EMPTY;
+            boolean newBoiling = ThermalStep.isBoiling(v.tempC, kind, cauldronLevel, v.isVat(), heat);
 
             if (v.boiling != newBoiling) {
                 v.boiling = newBoiling;
@@ -110,12 +98,6 @@ public final class VesselStateEngine {
         if (changedAny) data.setDirty();
     }
 
-    private static float getStrengthBonus(int cauldronLevel) {
-        if (cauldronLevel == 1) return 1.25f;
-        if (cauldronLevel == 2) return 1.10f;
-        return 1.0f;
-    }
-
     private static boolean isAnyBrewCauldron(BlockState state) {
         return state.getBlock() instanceof BrewCauldronBlock
                 || state.getBlock() instanceof BrewWaterCauldronBlock
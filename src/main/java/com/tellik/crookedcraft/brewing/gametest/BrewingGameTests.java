@@ -0,0 +1,273 @@
+package com.tellik.crookedcraft.brewing.gametest;
+
+import com.tellik.crookedcraft.CrookedCraft;
+import com.tellik.crookedcraft.brewing.BrewRecipeCache;
+import com.tellik.crookedcraft.brewing.BrewingMatcher;
+import com.tellik.crookedcraft.brewing.BrewingVesselData;
+import com.tellik.crookedcraft.brewing.CauldronBrewRecipe;
+import com.tellik.crookedcraft.brewing.HeatSourceManager;
+import com.tellik.crookedcraft.brewing.ModBrewingBlocks;
+import com.tellik.crookedcraft.brewing.cauldron.BrewWaterCauldronBlock;
+import com.tellik.crookedcraft.brewing.core.ThermalStep;
+import com.tellik.crookedcraft.brewing.profile.BrewingProfiler;
+import com.tellik.crookedcraft.brewing.profile.LatencyHistogram;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMaps;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.LayeredCauldronBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Brewing regression suite, run headless by ./gradlew runGameTestServer (and therefore by ./gradlew check).
+ *
+ * Each test checks the simulation against the core model (ThermalStep / IngredientMatcher) and holds the tick
+ * loop or matcher to a time budget measured through BrewingProfiler. Budgets are deliberately loose (an order of
+ * magnitude over a dev machine) so they catch accidental O(n^2) work and per-tick allocation storms, not noise.
+ *
+ * Every test has its own batch: batches run one after another, so each timing window only sees its own vessels.
+ * Template "brewing_floor" is a 16x4x16 stone floor (data/crookedcraft/structures/brewing_floor.nbt).
+ */
+@GameTestHolder(CrookedCraft.MODID)
+@PrefixGameTestTemplate(false)
+public final class BrewingGameTests {
+
+    private static final String FLOOR = "brewing_floor";
+
+    // Vessels sit on a 2-block grid so none are adjacent (adjacent full water vessels would form vats).
+    private static final int GRID = 8;
+    private static final int SETTLE_TICKS = 2;
+    private static final int HEAT_TICKS = 240;
+
+    private static final long BUDGET_NANOS_PER_VESSEL = 25_000L;   // mean level-tick cost per vessel iterated
+    private static final long BUDGET_LEVEL_TICK_P99_NANOS = 5_000_000L;
+    private static final long BUDGET_MATCHER_P99_NANOS = 100_000L;
+
+    private static final int MATCHER_WARMUP = 2_000;
+    private static final int MATCHER_CALLS = 10_000;
+
+    private BrewingGameTests() {}
+
+    // -------------------------------------------------------------------------
+    // Heating grid
+    // -------------------------------------------------------------------------
+
+    /**
+     * 64 full water vessels over four heat sources (magma, lit campfire, torch, none), one row pair each.
+     * After HEAT_TICKS every temperature must be where ThermalStep puts it, boiling must agree with the model and
+     * the block state, and the magma rows must actually boil.
+     */
+    @GameTest(template = FLOOR, batch = "brewing_heating", timeoutTicks = HEAT_TICKS + 100)
+    public static void heatingGrid(GameTestHelper helper) {
+        BlockState[] sources = {
+                Blocks.MAGMA_BLOCK.defaultBlockState(),
+                Blocks.CAMPFIRE.defaultBlockState(),     // lit by default
+                Blocks.TORCH.defaultBlockState(),
+                Blocks.STONE.defaultBlockState()          // no heat: drifts at ambient
+        };
+
+        List<BlockPos> vessels = new ArrayList<>();
+        for (int gx = 0; gx < GRID; gx++) {
+            for (int gz = 0; gz < GRID; gz++) {
+                BlockPos rel = new BlockPos(1 + gx * 2, 2, 1 + gz * 2);
+                helper.setBlock(rel.below(), sources[gz / 2]);
+                placeWater(helper, rel, 3);
+                vessels.add(rel);
+            }
+        }
+
+        Map<BlockPos, Float> start = new HashMap<>();
+
+        helper.startSequence()
+                .thenIdle(SETTLE_TICKS)
+                .thenExecute(() -> {
+                    for (BlockPos rel : vessels) start.put(rel, state(helper, rel).tempC);
+                    BrewingProfiler.begin(0, null);
+                })
+                .thenIdle(HEAT_TICKS)
+                .thenExecute(() -> {
+                    BrewingProfiler.Session s = BrewingProfiler.stop();
+                    int boiling = 0;
+
+                    for (BlockPos rel : vessels) {
+                        BrewingVesselData.VesselState v = state(helper, rel);
+                        HeatSourceManager.HeatProfile heat = HeatSourceManager.getHeatProfile(helper.getLevel(), helper.absolutePos(rel));
+
+                        // Server and test ticks may be off by one in either direction; the model is monotonic per
+                        // vessel, so the result must lie between the two neighbouring replays.
+                        float from = start.get(rel);
+                        float lo = replay(from, heat, HEAT_TICKS - 1);
+                        float hi = replay(from, heat, HEAT_TICKS + 1);
+                        helper.assertTrue(v.tempC >= Math.min(lo, hi) - 0.01f && v.tempC <= Math.max(lo, hi) + 0.01f,
+                                String.format(Locale.ROOT, "Vessel %s at %.2fC, model says %.2f..%.2fC", rel, v.tempC, lo, hi));
+
+                        boolean expected = ThermalStep.isBoiling(v.tempC, ThermalStep.KIND_WATER, 3, false, heat);
+                        helper.assertTrue(v.boiling == expected, "Vessel " + rel + " boiling=" + v.boiling + ", model says " + expected);
+                        helper.assertTrue(helper.getBlockState(rel).getValue(BrewWaterCauldronBlock.BOILING) == v.boiling,
+                                "Vessel " + rel + " block state BOILING out of sync");
+                        if (v.boiling) boiling++;
+                    }
+
+                    helper.assertTrue(boiling == GRID * 2, "Expected the " + (GRID * 2) + " magma vessels to boil, got " + boiling);
+                    assertTickBudget(helper, s);
+                })
+                .thenSucceed();
+    }
+
+    // -------------------------------------------------------------------------
+    // Transforms
+    // -------------------------------------------------------------------------
+
+    /**
+     * Lava left without heat cools at DRIFT_LAVA_C_PER_TICK from 1000C and turns to an empty vessel at 800C
+     * (~400 ticks); powder snow over magma melts to water level 1 within a few ticks.
+     */
+    @GameTest(template = FLOOR, batch = "brewing_transforms", timeoutTicks = 600)
+    public static void coolingAndMelting(GameTestHelper helper) {
+        List<BlockPos> lava = new ArrayList<>();
+        List<BlockPos> snow = new ArrayList<>();
+        for (int gx = 0; gx < GRID; gx++) {
+            BlockPos l = new BlockPos(1 + gx * 2, 2, 1);
+            BlockPos s = new BlockPos(1 + gx * 2, 2, 5);
+
+            place(helper, l, ModBrewingBlocks.BREW_LAVA_CAULDRON.get().defaultBlockState());
+            lava.add(l);
+
+            helper.setBlock(s.below(), Blocks.MAGMA_BLOCK.defaultBlockState());
+            place(helper, s, ModBrewingBlocks.BREW_POWDER_SNOW_CAULDRON.get().defaultBlockState()
+                    .setValue(LayeredCauldronBlock.LEVEL, 3));
+            snow.add(s);
+        }
+
+        int lavaTicks = (int) Math.ceil((ThermalStep.LAVA_BOIL_C - 800.0f) / ThermalStep.DRIFT_LAVA_C_PER_TICK);
+
+        helper.startSequence()
+                .thenIdle(20)
+                .thenExecute(() -> {
+                    for (BlockPos rel : snow) {
+                        helper.assertBlockState(rel,
+                                st -> st.is(ModBrewingBlocks.BREW_WATER_CAULDRON.get()) && st.getValue(LayeredCauldronBlock.LEVEL) == 1,
+                                () -> "Powder snow over magma should have melted to water level 1");
+                    }
+                })
+                .thenIdle(lavaTicks - 40)
+                .thenExecute(() -> {
+                    for (BlockPos rel : lava) helper.assertBlockPresent(ModBrewingBlocks.BREW_LAVA_CAULDRON.get(), rel);
+                })
+                .thenWaitUntil(() -> {
+                    for (BlockPos rel : lava) helper.assertBlockPresent(ModBrewingBlocks.BREW_CAULDRON.get(), rel);
+                })
+                .thenSucceed();
+    }
+
+    // -------------------------------------------------------------------------
+    // Matcher
+    // -------------------------------------------------------------------------
+
+    /**
+     * Every water recipe, fed one unit per slot, must end READY on itself; then repeated single adds must stay
+     * within the matcher budget.
+     */
+    @GameTest(template = FLOOR, batch = "brewing_matcher")
+    public static void matcherRecipesAndBudget(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        List<CauldronBrewRecipe> recipes = BrewingMatcher.recipesForLiquid(level, BrewingMatcher.WATER_LIQUID);
+        helper.assertTrue(!recipes.isEmpty(), "No water recipes loaded");
+
+        for (CauldronBrewRecipe r : recipes) {
+            Int2IntOpenHashMap ingredients = new Int2IntOpenHashMap();
+            BrewingMatcher.AddResult last = null;
+            for (Ingredient slot : r.expandToSlots()) {
+                Item item = firstItem(slot);
+                helper.assertTrue(item != null, "Recipe " + r.getId() + " has an empty slot");
+
+                last = BrewingMatcher.tryAddIngredient(level, BrewingMatcher.WATER_LIQUID, ingredients, item);
+                helper.assertTrue(last.outcome == BrewingMatcher.AddOutcome.ACCEPTED || last.outcome == BrewingMatcher.AddOutcome.READY,
+                        "Recipe " + r.getId() + ": adding " + item + " gave " + last.outcome);
+                ingredients.addTo(BuiltInRegistries.ITEM.getId(item), 1);
+            }
+            helper.assertTrue(last != null && last.outcome == BrewingMatcher.AddOutcome.READY && r.getId().equals(BrewRecipeCache.recipeId(last.matchedRecipeId)),
+                    "Recipe " + r.getId() + " did not match itself");
+        }
+
+        Item probe = firstItem(recipes.get(0).expandToSlots().get(0));
+        Int2IntMap empty = Int2IntMaps.EMPTY_MAP;
+        for (int i = 0; i < MATCHER_WARMUP; i++) {
+            BrewingMatcher.tryAddIngredient(level, BrewingMatcher.WATER_LIQUID, empty, probe);
+        }
+
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < MATCHER_CALLS; i++) {
+            long t0 = System.nanoTime();
+            BrewingMatcher.tryAddIngredient(level, BrewingMatcher.WATER_LIQUID, empty, probe);
+            h.record(System.nanoTime() - t0);
+        }
+        helper.assertTrue(h.percentile(99) <= BUDGET_MATCHER_P99_NANOS,
+                String.format(Locale.ROOT, "Matcher p99 %.1fus over budget %.1fus",
+                        h.percentile(99) / 1000.0, BUDGET_MATCHER_P99_NANOS / 1000.0));
+
+        helper.succeed();
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    private static void placeWater(GameTestHelper helper, BlockPos rel, int level) {
+        place(helper, rel, ModBrewingBlocks.BREW_WATER_CAULDRON.get().defaultBlockState()
+                .setValue(LayeredCauldronBlock.LEVEL, level));
+    }
+
+    /** Place a vessel and track it, as a player placement would (setBlock fires no place event). */
+    private static void place(GameTestHelper helper, BlockPos rel, BlockState state) {
+        helper.setBlock(rel, state);
+        BrewingVesselData.get(helper.getLevel()).ensureTracked(helper.absolutePos(rel).asLong());
+    }
+
+    private static BrewingVesselData.VesselState state(GameTestHelper helper, BlockPos rel) {
+        BrewingVesselData.VesselState v = BrewingVesselData.get(helper.getLevel()).getStateIfTracked(helper.absolutePos(rel).asLong());
+        helper.assertTrue(v != null, "Vessel " + rel + " is not tracked");
+        helper.assertTrue(!Float.isNaN(v.tempC), "Vessel " + rel + " has not ticked");
+        return v;
+    }
+
+    /** ticks steps of the core model for a full water vessel; unheated water starts at (and stays at) ambient. */
+    private static float replay(float tempC, HeatSourceManager.HeatProfile heat, int ticks) {
+        float t = tempC;
+        for (int i = 0; i < ticks; i++) t = ThermalStep.step(t, ThermalStep.KIND_WATER, 3, false, heat, tempC);
+        return t;
+    }
+
+    private static Item firstItem(Ingredient ingredient) {
+        ItemStack[] items = ingredient.getItems();
+        return items.length == 0 ? null : items[0].getItem();
+    }
+
+    private static void assertTickBudget(GameTestHelper helper, BrewingProfiler.Session s) {
+        LatencyHistogram tick = s.stage(BrewingProfiler.Stage.LEVEL_TICK);
+        long perVessel = tick.sum() / Math.max(1, s.vesselsIterated());
+
+        helper.assertTrue(perVessel <= BUDGET_NANOS_PER_VESSEL,
+                String.format(Locale.ROOT, "Brewing tick costs %.1fus per vessel, budget %.1fus",
+                        perVessel / 1000.0, BUDGET_NANOS_PER_VESSEL / 1000.0));
+        helper.assertTrue(tick.percentile(99) <= BUDGET_LEVEL_TICK_P99_NANOS,
+                String.format(Locale.ROOT, "Brewing level tick p99 %.2fms, budget %.2fms",
+                        tick.percentile(99) / 1.0e6, BUDGET_LEVEL_TICK_P99_NANOS / 1.0e6));
+    }
+}
@@ -0,0 +1,40 @@
+package com.tellik.crookedcraft.brewing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One BrewingMatcher.tryAddIngredients call (single items and automation batches alike). */
+@Name("crookedcraft.BrewMatcher")
+@Label("Brewing Matcher")
+@Description("Ingredient added to a vessel and matched against the recipes for its liquid")
+@Category({"CrookedCraft", "Brewing"})
+@Enabled(false)
+@StackTrace(false)
+public final class BrewMatcherEvent extends Event {
+
+    @Label("Liquid")
+    public String liquid;
+
+    @Label("Item")
+    public String item;
+
+    @Label("Units Offered")
+    public int offered;
+
+    @Label("Units Accepted")
+    public int accepted;
+
+    @Label("Candidates Before")
+    public int candidatesBefore;
+
+    @Label("Candidates After")
+    public int candidatesAfter;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,40 @@
+package com.tellik.crookedcraft.brewing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One phase of a brewing reload (datapack parse, table compile, recipe index build). */
+@Name("crookedcraft.BrewReload")
+@Label("Brewing Reload Phase")
+@Description("A phase of a brewing data reload")
+@Category({"CrookedCraft", "Brewing"})
+@Enabled(false)
+@StackTrace(false)
+public final class BrewReloadEvent extends Event {
+
+    @Label("Listener")
+    public String listener;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Entries")
+    @Description("Files read, or entries compiled, depending on the phase")
+    public int entries;
+
+    /** end() + commit, filling the fields only when the event is actually recorded. */
+    public void finish(String listener, String phase, int entries) {
+        end();
+        if (shouldCommit()) {
+            this.listener = listener;
+            this.phase = phase;
+            this.entries = entries;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.tellik.crookedcraft.brewing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** BrewingVesselData saved: changed region files serialised and written (the index file write is vanilla's). */
+@Name("crookedcraft.BrewSave")
+@Label("Brewing Vessel Data Save")
+@Description("Vessel data written to region files for a level save")
+@Category({"CrookedCraft", "Brewing"})
+@Enabled(false)
+@StackTrace(false)
+public final class BrewSaveEvent extends Event {
+
+    @Label("Vessels")
+    public int vessels;
+
+    @Label("Regions Written")
+    public int regionsWritten;
+}
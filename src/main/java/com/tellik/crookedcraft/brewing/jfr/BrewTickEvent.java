@@ -0,0 +1,33 @@
+package com.tellik.crookedcraft.brewing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One level's vessel tick (BrewingForgeEvents.onLevelTick), deferred vat work and conduction included. */
+@Name("crookedcraft.BrewTick")
+@Label("Brewing Level Tick")
+@Description("One level's brewing vessel tick batch")
+@Category({"CrookedCraft", "Brewing"})
+@Enabled(false)
+@StackTrace(false)
+public final class BrewTickEvent extends Event {
+
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("Vessels")
+    @Description("Tracked vessels iterated this tick")
+    public int vessels;
+
+    @Label("Unloaded")
+    @Description("Vessels skipped because their chunk isn't loaded")
+    public int unloaded;
+
+    @Label("Transforms")
+    public int transforms;
+}
@@ -0,0 +1,37 @@
+package com.tellik.crookedcraft.brewing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A thermal transform applied to one vessel (ThermalTransformManager.tryApplyTransforms). */
+@Name("crookedcraft.BrewTransform")
+@Label("Brewing Thermal Transform")
+@Description("A thermal transform replaced a vessel block")
+@Category({"CrookedCraft", "Brewing"})
+@Enabled(false)
+@StackTrace(false)
+public final class BrewTransformEvent extends Event {
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+
+    @Label("From Block")
+    public String fromBlock;
+
+    @Label("To Block")
+    public String toBlock;
+
+    @Label("Temperature (C)")
+    public float tempC;
+}
@@ -0,0 +1,27 @@
+package com.tellik.crookedcraft.brewing.jfr;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Java Flight Recorder events for the brewing hot paths (category "CrookedCraft").
+ *
+ * Every event is @Enabled(false): a recording only carries them when asked to, e.g. in JMC's template editor, or
+ *
+ *     -XX:StartFlightRecording:crookedcraft.BrewTick#enabled=true,crookedcraft.BrewMatcher#enabled=true
+ *
+ * Call sites follow the usual JFR shape: construct, begin(), do the work, and fill fields only inside
+ * shouldCommit(). While disabled the event object never escapes and is scalar-replaced by the JIT, so a hook
+ * costs a branch.
+ */
+public final class BrewingJfr {
+    private BrewingJfr() {}
+
+    /** Register the event types up front so they're listed in JMC before the first one fires. */
+    public static void register() {
+        FlightRecorder.register(BrewTickEvent.class);
+        FlightRecorder.register(BrewTransformEvent.class);
+        FlightRecorder.register(BrewMatcherEvent.class);
+        FlightRecorder.register(BrewSaveEvent.class);
+        FlightRecorder.register(BrewReloadEvent.class);
+    }
+}
@@ -0,0 +1,305 @@
+package com.tellik.crookedcraft.brewing.profile;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sampling-window profiler for the brewing hot paths (/crookedcraft profile).
+ *
+ * Off by default. While no window is open every hook is a single volatile read:
+ *
+ *     long t0 = BrewingProfiler.start();
+ *     ... work ...
+ *     BrewingProfiler.end(Stage.THERMAL_STEP, t0);
+ *
+ * start() returns 0 when off and end() ignores a 0 start, so a window opening mid-measurement is harmless.
+ *
+ * Threading: everything is recorded on the server thread except PARTICLES, which runs on the client thread
+ * (singleplayer only; a dedicated server never emits brew particles), so that one stage is recorded under a lock.
+ */
+@Mod.EventBusSubscriber(modid = "crookedcraft", bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class BrewingProfiler {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public enum Stage {
+        LEVEL_TICK("level_tick"),   // the whole vessel tick for one level; the stages below are parts of it
+        HEAT_LOOKUP("heat_lookup"),
+        THERMAL_STEP("thermal_step"),
+        TRANSFORMS("transforms"),
+        TINT_SYNC("tint_sync"),
+        PARTICLES("particles"),
+        MATCHER("matcher"),
+        SAVE("save");
+
+        public final String id;
+
+        Stage(String id) {
+            this.id = id;
+        }
+    }
+
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static volatile Session active;
+    private static Session last;
+
+    private BrewingProfiler() {}
+
+    // -------------------------------------------------------------------------
+    // Hooks
+    // -------------------------------------------------------------------------
+
+    public static boolean isActive() {
+        return active != null;
+    }
+
+    public static long start() {
+        return active != null ? System.nanoTime() : 0L;
+    }
+
+    public static void end(Stage stage, long t0) {
+        if (t0 == 0L) return;
+        Session s = active;
+        if (s != null) s.record(stage, System.nanoTime() - t0);
+    }
+
+    public static void vesselIterated() {
+        Session s = active;
+        if (s != null) s.vesselsIterated++;
+    }
+
+    public static void vesselUnloaded() {
+        Session s = active;
+        if (s != null) s.vesselsUnloaded++;
+    }
+
+    public static void setDirtyCalled() {
+        Session s = active;
+        if (s != null) s.setDirtyCalls++;
+    }
+
+    public static void saveBytes(long bytes) {
+        Session s = active;
+        if (s != null) s.saveBytes += bytes;
+    }
+
+    /** Uncompressed NBT size of tag (what the profiler reports as save bytes; the file on disk is gzipped). */
+    public static long nbtSize(CompoundTag tag) {
+        CountingStream counter = new CountingStream();
+        try (DataOutputStream out = new DataOutputStream(counter)) {
+            NbtIo.write(tag, out);
+        } catch (IOException e) {
+            LOGGER.warn("[crookedcraft] Could not measure brewing save size", e);
+        }
+        return counter.count;
+    }
+
+    private static final class CountingStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        Session s = active;
+        if (s == null) return;
+
+        s.ticks++;
+        if (s.tickLimit > 0 && s.ticks >= s.tickLimit) {
+            stop();
+            if (s.owner != null) sendReport(s.owner, s);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Control (server thread)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Open a new window, discarding any running one.
+     * @param tickLimit stop on its own after this many server ticks (0 = until stopped)
+     * @param owner     who gets the report on auto-stop (nullable)
+     */
+    public static void begin(int tickLimit, CommandSourceStack owner) {
+        active = new Session(tickLimit, owner);
+    }
+
+    /** @return the closed window, or null if none was running */
+    public static Session stop() {
+        Session s = active;
+        if (s == null) return null;
+        active = null;
+        s.endNanos = System.nanoTime();
+        last = s;
+        return s;
+    }
+
+    /** Server stopped: close and forget any window, so nothing (or its owner) carries into the next world. */
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        active = null;
+        last = null;
+    }
+
+    /** The running window, else the last finished one, else null. */
+    public static Session current() {
+        Session s = active;
+        return s != null ? s : last;
+    }
+
+    public static void sendReport(CommandSourceStack source, Session s) {
+        for (String line : s.reportLines()) {
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+    }
+
+    /** Write s as JSON under dir. @return the file written */
+    public static Path dump(Session s, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve("brewing-profile-" + LocalDateTime.now().format(FILE_STAMP) + ".json");
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(s.toJson(), w);
+        }
+        LOGGER.info("[crookedcraft] Brewing profile written to {}", file);
+        return file;
+    }
+
+    // -------------------------------------------------------------------------
+    // Session
+    // -------------------------------------------------------------------------
+
+    public static final class Session {
+        private final long startNanos = System.nanoTime();
+        private long endNanos;
+        private final int tickLimit;
+        private final CommandSourceStack owner;
+
+        private long ticks;
+        private long vesselsIterated;
+        private long vesselsUnloaded;
+        private long setDirtyCalls;
+        private long saveBytes;
+
+        private final EnumMap<Stage, LatencyHistogram> stages = new EnumMap<>(Stage.class);
+        private final Object particleLock = new Object();
+
+        private Session(int tickLimit, CommandSourceStack owner) {
+            this.tickLimit = tickLimit;
+            this.owner = owner;
+            for (Stage s : Stage.values()) stages.put(s, new LatencyHistogram());
+        }
+
+        private void record(Stage stage, long nanos) {
+            if (stage == Stage.PARTICLES) {
+                synchronized (particleLock) {
+                    stages.get(stage).record(nanos);
+                }
+            } else {
+                stages.get(stage).record(nanos);
+            }
+        }
+
+        public boolean isRunning() {
+            return endNanos == 0L;
+        }
+
+        private double seconds() {
+            long end = isRunning() ? System.nanoTime() : endNanos;
+            return (end - startNanos) / 1.0e9;
+        }
+
+        public long ticks() {
+            return ticks;
+        }
+
+        public long vesselsIterated() {
+            return vesselsIterated;
+        }
+
+        /** A stage's latencies (a snapshot for PARTICLES, the live histogram otherwise). */
+        public LatencyHistogram stage(Stage stage) {
+            if (stage != Stage.PARTICLES) return stages.get(stage);
+            // Snapshot so reporting never races the client thread.
+            synchronized (particleLock) {
+                return stages.get(stage).copy();
+            }
+        }
+
+        public List<String> reportLines() {
+            List<String> out = new ArrayList<>();
+            long t = Math.max(1, ticks);
+
+            out.add(String.format(Locale.ROOT, "Brewing profile (%s): %d ticks over %.1fs",
+                    isRunning() ? "running" : "finished", ticks, seconds()));
+            out.add(String.format(Locale.ROOT, "  vessels: %d iterated (%.1f/tick), %d skipped unloaded",
+                    vesselsIterated, (double) vesselsIterated / t, vesselsUnloaded));
+
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram h = stage(stage);
+                if (h.count() == 0) continue;
+                out.add(String.format(Locale.ROOT, "  %-12s %8.3f ms/tick  %7d calls  p50 %s  p99 %s  max %s",
+                        stage.id, h.sum() / 1.0e6 / t, h.count(),
+                        micros(h.percentile(50)), micros(h.percentile(99)), micros(h.max())));
+            }
+
+            LatencyHistogram save = stages.get(Stage.SAVE);
+            out.add(String.format(Locale.ROOT, "  setDirty: %d calls; saves: %d (%.1f ms total, %d bytes uncompressed)",
+                    setDirtyCalls, save.count(), save.sum() / 1.0e6, saveBytes));
+            return out;
+        }
+
+        public JsonObject toJson() {
+            JsonObject o = new JsonObject();
+            o.addProperty("running", isRunning());
+            o.addProperty("seconds", seconds());
+            o.addProperty("ticks", ticks);
+            o.addProperty("vessels_iterated", vesselsIterated);
+            o.addProperty("vessels_unloaded", vesselsUnloaded);
+            o.addProperty("set_dirty_calls", setDirtyCalls);
+            o.addProperty("save_bytes", saveBytes);
+
+            JsonObject st = new JsonObject();
+            for (Stage stage : Stage.values()) st.add(stage.id, stage(stage).toJson());
+            o.add("stages", st);
+            return o;
+        }
+
+        private static String micros(long nanos) {
+            return String.format(Locale.ROOT, "%.1fus", nanos / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.tellik.crookedcraft.brewing.profile;
+
+import com.google.gson.JsonObject;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear latency histogram (the HdrHistogram bucket layout, minus the library).
+ *
+ * Values below 64 are exact; above that each power of two is split into 32 sub-buckets, so any recorded value
+ * is reported within ~3% (the top of its bucket). Recording is an index computation and an increment: no
+ * allocation, no resizing. Values above 2^MAX_EXP ns (~18 minutes) are clamped.
+ *
+ * Not thread-safe; BrewingProfiler decides who may write.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXP = 40;
+    private static final long MAX_VALUE = (1L << MAX_EXP) - 1;
+
+    private final long[] counts = new long[(MAX_EXP - SUB_BITS + 2) * SUB_COUNT];
+
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        if (value > MAX_VALUE) value = MAX_VALUE;
+
+        counts[indexOf(value)]++;
+        count++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram c = new LatencyHistogram();
+        System.arraycopy(counts, 0, c.counts, 0, counts.length);
+        c.count = count;
+        c.sum = sum;
+        c.min = min;
+        c.max = max;
+        return c;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /** Value at the given percentile (0..100), as the top of its bucket; exact max for 100. */
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        if (p >= 100.0) return max;
+
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestEquivalent(i), max);
+        }
+        return max;
+    }
+
+    public JsonObject toJson() {
+        JsonObject o = new JsonObject();
+        o.addProperty("count", count);
+        o.addProperty("total_ns", sum);
+        o.addProperty("min_ns", min());
+        o.addProperty("mean_ns", Math.round(mean()));
+        o.addProperty("p50_ns", percentile(50));
+        o.addProperty("p90_ns", percentile(90));
+        o.addProperty("p99_ns", percentile(99));
+        o.addProperty("p999_ns", percentile(99.9));
+        o.addProperty("max_ns", max);
+        return o;
+    }
+
+    // -------------------------------------------------------------------------
+    // Bucket math
+    // -------------------------------------------------------------------------
+
+    private static int indexOf(long value) {
+        int exp = 63 - Long.numberOfLeadingZeros(value | 1);
+        int shift = Math.max(0, exp - SUB_BITS);
+        return shift * SUB_COUNT + (int) (value >>> shift);
+    }
+
+    private static long highestEquivalent(int index) {
+        int shift = Math.max(0, index / SUB_COUNT - 1);
+        long sub = index - (long) shift * SUB_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+}